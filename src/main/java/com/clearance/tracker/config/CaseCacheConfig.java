@@ -0,0 +1,57 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.service.CaseDataCache;
+import com.clearance.tracker.service.UpstreamValidatorCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-process cache for upstream case data (hit ratios are published as cache.gets{result=hit|miss} per cache name)
+ * and the validator store used to revalidate upstream responses with conditional GETs
+ */
+@Configuration
+public class CaseCacheConfig {
+
+    @Value("${external.api.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${external.api.cache.cases-list.ttl-seconds:30}")
+    private long casesListTtlSeconds;
+
+    @Value("${external.api.cache.case-details.ttl-seconds:120}")
+    private long caseDetailsTtlSeconds;
+
+    @Value("${external.api.cache.case-history.ttl-seconds:120}")
+    private long caseHistoryTtlSeconds;
+
+    @Value("${external.api.cache.max-weight:10000}")
+    private long maxWeight;
+
+    @Value("${external.api.conditional-get.enabled:true}")
+    private boolean conditionalGetEnabled;
+
+    @Value("${external.api.conditional-get.expire-after-access-minutes:30}")
+    private long conditionalGetExpireAfterAccessMinutes;
+
+    @Bean
+    public CaseDataCache caseDataCache(MeterRegistry meterRegistry) {
+        return new CaseDataCache(enabled,
+            Duration.ofSeconds(casesListTtlSeconds),
+            Duration.ofSeconds(caseDetailsTtlSeconds),
+            Duration.ofSeconds(caseHistoryTtlSeconds),
+            maxWeight,
+            meterRegistry);
+    }
+
+    @Bean
+    public UpstreamValidatorCache upstreamValidatorCache(MeterRegistry meterRegistry) {
+        return new UpstreamValidatorCache(conditionalGetEnabled,
+            maxWeight,
+            Duration.ofMinutes(conditionalGetExpireAfterAccessMinutes),
+            meterRegistry);
+    }
+}
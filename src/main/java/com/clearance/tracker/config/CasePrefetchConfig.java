@@ -0,0 +1,38 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.service.CasePrefetcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Optional speculative prefetch of the In Progress cases following the one selected for a subject
+ * (hit rate published as external.api.prefetch.lookups{result=hit|miss})
+ */
+@Configuration
+public class CasePrefetchConfig {
+
+    @Value("${external.api.prefetch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${external.api.prefetch.max-candidates:2}")
+    private int maxCandidates;
+
+    @Value("${external.api.prefetch.max-in-flight:4}")
+    private int maxInFlight;
+
+    @Value("${external.api.prefetch.budget-ms:3000}")
+    private long budgetMillis;
+
+    // Prefetched cases not looked up within this window count as unused; matches the case details cache TTL by default
+    @Value("${external.api.prefetch.track-seconds:${external.api.cache.case-details.ttl-seconds:120}}")
+    private long trackSeconds;
+
+    @Bean
+    public CasePrefetcher casePrefetcher(MeterRegistry meterRegistry) {
+        return new CasePrefetcher(enabled, maxCandidates, maxInFlight, budgetMillis, Duration.ofSeconds(trackSeconds), meterRegistry);
+    }
+}
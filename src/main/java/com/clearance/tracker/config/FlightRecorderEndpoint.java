@@ -0,0 +1,146 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.service.FlightRecorderEvents;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Admin endpoint for on-demand Java Flight Recorder recordings, at /actuator/flightrecorder:
+ * <ul>
+ *   <li>POST {"durationSeconds": 60, "maxSizeMb": 50} starts a recording with the JDK "profile" settings plus the
+ *       FlightRecorderEvents; it stops by itself after the duration and never holds more than maxSizeMb, both
+ *       capped by external.api.jfr.max-duration-seconds and max-size-mb</li>
+ *   <li>GET dumps the recording, running or stopped, as a .jfr file for JDK Mission Control or the jfr tool</li>
+ *   <li>DELETE discards the recording and its dump</li>
+ * </ul>
+ * Only one recording is kept at a time; starting another while one is running is rejected with 409. The endpoint is
+ * unauthenticated and not in the default web exposure; expose it on an internal management.server.port only.
+ */
+@Component
+@WebEndpoint(id = "flightrecorder")
+public class FlightRecorderEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderEndpoint.class);
+
+    private static final String RECORDING_NAME = "clearance-tracker";
+
+    @Value("${external.api.jfr.default-duration-seconds:60}")
+    private long defaultDurationSeconds;
+
+    @Value("${external.api.jfr.max-duration-seconds:600}")
+    private long maxDurationSeconds;
+
+    @Value("${external.api.jfr.max-size-mb:100}")
+    private long maxSizeMb;
+
+    private Recording recording;
+    private Path dumpFile;
+
+    /**
+     * Starts a bounded recording
+     * @param durationSeconds How long to record; defaults to external.api.jfr.default-duration-seconds
+     * @param maxSizeMb Upper bound on the recorded data kept; defaults to external.api.jfr.max-size-mb
+     * @return The recording's status, or 409 with the running recording's status if one is already running
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Long durationSeconds, @Nullable Long maxSizeMb)
+            throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), HttpStatus.CONFLICT.value());
+        }
+        discard();
+
+        Duration duration = Duration.ofSeconds(bounded(durationSeconds, defaultDurationSeconds, maxDurationSeconds));
+        long maxBytes = bounded(maxSizeMb, this.maxSizeMb, this.maxSizeMb) * 1024 * 1024;
+
+        Recording started = new Recording(Configuration.getConfiguration("profile"));
+        started.setName(RECORDING_NAME);
+        started.enable(FlightRecorderEvents.UpstreamExchange.class);
+        started.enable(FlightRecorderEvents.FanOutJoin.class);
+        started.enable(FlightRecorderEvents.PdfRender.class);
+        started.setDuration(duration);
+        started.setMaxSize(maxBytes);
+        started.setToDisk(true);
+        started.start();
+        recording = started;
+
+        logger.info("Started flight recording for {}s (max {} MB)", duration.toSeconds(), maxBytes / (1024 * 1024));
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    /**
+     * Dumps everything recorded so far; the recording keeps running if it has not finished
+     * @return The .jfr file, or 404 when no recording has been started
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        deleteDumpFile();
+        dumpFile = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        // Recording.dump refuses to overwrite an existing file
+        Files.delete(dumpFile);
+        recording.dump(dumpFile);
+        logger.info("Dumped flight recording ({} bytes) to {}", Files.size(dumpFile), dumpFile);
+        return new WebEndpointResponse<>(new FileSystemResource(dumpFile), WebEndpointResponse.STATUS_OK);
+    }
+
+    /**
+     * Stops and discards the recording and its last dump
+     */
+    @DeleteOperation
+    @PreDestroy
+    public synchronized void discard() throws IOException {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        deleteDumpFile();
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("durationSeconds", recording.getDuration().toSeconds());
+        status.put("maxSizeBytes", recording.getMaxSize());
+        return status;
+    }
+
+    private void deleteDumpFile() throws IOException {
+        if (dumpFile != null) {
+            Files.deleteIfExists(dumpFile);
+            dumpFile = null;
+        }
+    }
+
+    private static long bounded(Long requested, long defaultValue, long max) {
+        long value = requested != null && requested > 0 ? requested : defaultValue;
+        return Math.min(value, max);
+    }
+}
@@ -0,0 +1,152 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.service.UpstreamMetrics;
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Aborts the upstream exchange when a streamed response is closed before its body was read to the end. Closing an
+ * HttpComponents response otherwise reads the rest of the body so the connection can go back to the pool, which for
+ * a PDF relayed to a client that asked for one range, or went away, means downloading the whole file on the request
+ * thread while it still holds the endpoint's bulkhead permit. Aborting discards the connection instead.
+ * Only applies to the given endpoints, whose bodies are relayed rather than parsed; a JSON body that the converter
+ * stops reading just before EOF is cheaper to finish than to reconnect. Must be the last interceptor, so it sees
+ * the HttpComponents response body rather than another interceptor's wrapper.
+ */
+public class PartialBodyAbortInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartialBodyAbortInterceptor.class);
+
+    private final Set<String> streamedEndpoints;
+
+    public PartialBodyAbortInterceptor(Set<String> streamedEndpoints) {
+        this.streamedEndpoints = streamedEndpoints;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        String endpoint = UpstreamMetrics.endpointOf(request.getURI().getPath());
+        return streamedEndpoints.contains(endpoint) ? new AbortOnPartialCloseResponse(response, endpoint) : response;
+    }
+
+    private static final class AbortOnPartialCloseResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final String endpoint;
+        private ProgressInputStream body;
+
+        private AbortOnPartialCloseResponse(ClientHttpResponse delegate, String endpoint) {
+            this.delegate = delegate;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new ProgressInputStream(delegate.getBody(), getHeaders().getContentLength(), endpoint);
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (body != null) {
+                body.abortIfPartial();
+            }
+            // After an abort the delegate finds the connection closed and has nothing left to drain
+            delegate.close();
+        }
+    }
+
+    /**
+     * Tracks how much of the body was read; closing it early aborts instead of letting HttpComponents drain the rest
+     */
+    private static final class ProgressInputStream extends FilterInputStream {
+
+        private final long contentLength;
+        private final String endpoint;
+        private long bytesRead;
+        private boolean eof;
+
+        private ProgressInputStream(InputStream in, long contentLength, String endpoint) {
+            super(in);
+            this.contentLength = contentLength;
+            this.endpoint = endpoint;
+        }
+
+        void abortIfPartial() {
+            boolean fullyRead = eof || (contentLength >= 0 && bytesRead >= contentLength);
+            if (!fullyRead && in instanceof EofSensorInputStream sensor) {
+                try {
+                    sensor.abort();
+                    logger.debug("Aborted partially read {} response after {} bytes", endpoint, bytesRead);
+                } catch (IOException e) {
+                    logger.debug("Failed to abort {} response: {}", endpoint, e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            abortIfPartial();
+            super.close();
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                bytesRead++;
+            } else {
+                eof = true;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                bytesRead += read;
+            } else if (read == -1) {
+                eof = true;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            bytesRead += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.service.PdfByteRanges;
+import com.clearance.tracker.service.UpstreamPdfStream;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes a PdfByteRanges (206 Partial Content) response body, then closes the underlying PDF
+ */
+@Component
+public class PdfByteRangesHttpMessageConverter extends AbstractHttpMessageConverter<PdfByteRanges> {
+
+    public PdfByteRangesHttpMessageConverter() {
+        super(MediaType.APPLICATION_PDF, new MediaType("multipart", "byteranges"));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PdfByteRanges.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PdfByteRanges readInternal(Class<? extends PdfByteRanges> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("PdfByteRanges is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(PdfByteRanges ranges, MediaType contentType) {
+        return ranges.getContentLength();
+    }
+
+    @Override
+    protected void writeInternal(PdfByteRanges ranges, HttpOutputMessage outputMessage) throws IOException {
+        try (UpstreamPdfStream pdf = ranges.getPdf()) {
+            ranges.writeTo(outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.service.PdfDiskCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Disk cache for latest-case PDFs (metrics: external.api.pdf-cache.requests{result=hit|miss|bypass},
+ * external.api.pdf-cache.bytes.served{source=disk|upstream}, external.api.pdf-cache.size)
+ */
+@Configuration
+public class PdfCacheConfig {
+
+    @Value("${external.api.pdf-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${external.api.pdf-cache.directory:${java.io.tmpdir}/security-clearance-pdf-cache}")
+    private String directory;
+
+    @Value("${external.api.pdf-cache.max-bytes:1073741824}")
+    private long maxBytes;
+
+    @Value("${external.api.pdf-cache.max-entry-bytes:104857600}")
+    private long maxEntryBytes;
+
+    @Value("${external.api.pdf.stream-buffer-bytes:16384}")
+    private int streamBufferBytes;
+
+    @Bean
+    public PdfDiskCache pdfDiskCache(MeterRegistry meterRegistry) {
+        return new PdfDiskCache(enabled, Path.of(directory), maxBytes, maxEntryBytes, streamBufferBytes, meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.clearance.tracker.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded worker pool for batch PDF rendering. Rendering is CPU-bound, so the pool is sized to the available
+ * processors by default and stays on platform threads even when virtual threads are enabled.
+ */
+@Configuration
+public class PdfRenderConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfRenderConfig.class);
+    public static final String PDF_RENDER_EXECUTOR = "pdfRenderExecutor";
+
+    // 0 = one thread per available processor
+    @Value("${pdf.render.threads:0}")
+    private int threads;
+
+    @Value("${pdf.render.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Bean(name = PDF_RENDER_EXECUTOR)
+    public ThreadPoolTaskExecutor pdfRenderExecutor() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        logger.info("Creating PDF render executor: threads={}, queueCapacity={}", poolSize, queueCapacity);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("pdf-render-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        // When several batches fill the queue, the submitting batch renders the document itself, which slows it down
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -1,14 +1,171 @@
 package com.clearance.tracker.config;
 
+import com.clearance.tracker.service.RequestDeadline;
+import com.clearance.tracker.service.UpstreamMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Pooled HttpComponents client and RestTemplate for the upstream case API. Active in every profile: the reactive
+ * profile's ReactiveExternalApiService still streams latest PDFs through this client.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(RestTemplateConfig.class);
+
+    @Value("${external.api.pool.max-total:100}")
+    private int maxTotalConnections;
+
+    @Value("${external.api.pool.max-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${external.api.pool.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    @Value("${external.api.pool.idle-eviction-ms:60000}")
+    private long idleEvictionMs;
+
+    @Value("${external.api.pool.validate-after-inactivity-ms:2000}")
+    private long validateAfterInactivityMs;
+
+    @Value("${external.api.pool.acquire-timeout-ms:2000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${external.api.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${external.api.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager upstreamConnectionManager() {
+        logger.info("Creating pooled upstream connection manager: maxTotal={}, maxPerRoute={}, connectTimeout={}ms, readTimeout={}ms",
+                   maxTotalConnections, maxConnectionsPerRoute, connectTimeoutMs, readTimeoutMs);
+
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+            .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+            .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+            .build();
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxTotalConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .setConnPoolPolicy(PoolReusePolicy.LIFO)
+            .setDefaultConnectionConfig(connectionConfig)
+            .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient upstreamHttpClient(PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+            .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+            .build();
+
+        return HttpClients.custom()
+            .setConnectionManager(upstreamConnectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .setKeepAliveStrategy(upstreamKeepAliveStrategy())
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMs))
+            .build();
+    }
+
+    /**
+     * Honours a shorter Keep-Alive timeout advertised by upstream and caps longer (or unspecified) ones at
+     * external.api.pool.keep-alive-ms, so idle sockets are recycled before upstream LBs drop them
+     */
+    public ConnectionKeepAliveStrategy upstreamKeepAliveStrategy() {
+        TimeValue cap = TimeValue.ofMilliseconds(keepAliveMs);
+        return (response, context) -> {
+            TimeValue advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return TimeValue.isNonNegative(advertised) ? advertised.min(cap) : cap;
+        };
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient upstreamHttpClient, UpstreamMetrics upstreamMetrics,
+                                     ObjectProvider<Tracer> tracer, ObjectProvider<Propagator> propagator) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(upstreamHttpClient);
+        requestFactory.setHttpContextFactory((httpMethod, uri) -> deadlineBoundContext());
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        // Interceptors also apply to requests created from getRequestFactory(), i.e. the streamed PDF download
+        restTemplate.getInterceptors().add(new UpstreamTracingInterceptor(
+            tracer.getIfAvailable(() -> Tracer.NOOP), propagator.getIfAvailable(() -> Propagator.NOOP)));
+        restTemplate.getInterceptors().add(new UpstreamMetricsInterceptor(upstreamMetrics));
+        // Innermost, so a PDF closed after a range or a client abort drops the connection instead of draining it
+        restTemplate.getInterceptors().add(new PartialBodyAbortInterceptor(Set.of(UpstreamMetrics.LATEST_PDF)));
+        return restTemplate;
+    }
+
+    /**
+     * Caps pool-acquire and response timeouts at the remaining request budget when a deadline is bound to the
+     * calling thread; returns null so the client defaults apply otherwise
+     */
+    private HttpClientContext deadlineBoundContext() {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return null;
+        }
+        long remainingMs = Math.max(1, deadline.remainingMillis());
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.ofMilliseconds(Math.min(remainingMs, poolAcquireTimeoutMs)))
+            .setResponseTimeout(Timeout.ofMilliseconds(Math.min(remainingMs, readTimeoutMs)))
+            .build());
+        return context;
+    }
+
+    /**
+     * Publishes connection pool occupancy as external.api.pool.* gauges so the pool can be sized from real traffic
+     */
+    @Bean
+    public MeterBinder upstreamConnectionPoolMetrics(PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        return registry -> {
+            registerPoolGauge(registry, "external.api.pool.leased", "Connections currently leased to requests",
+                upstreamConnectionManager, cm -> cm.getTotalStats().getLeased());
+            registerPoolGauge(registry, "external.api.pool.available", "Idle connections kept alive in the pool",
+                upstreamConnectionManager, cm -> cm.getTotalStats().getAvailable());
+            registerPoolGauge(registry, "external.api.pool.pending", "Requests waiting to acquire a connection",
+                upstreamConnectionManager, cm -> cm.getTotalStats().getPending());
+            registerPoolGauge(registry, "external.api.pool.max", "Maximum total connections",
+                upstreamConnectionManager, cm -> cm.getTotalStats().getMax());
+        };
+    }
+
+    private static void registerPoolGauge(MeterRegistry registry, String name, String description,
+                                          PoolingHttpClientConnectionManager connectionManager,
+                                          ToDoubleFunction<PoolingHttpClientConnectionManager> value) {
+        Gauge.builder(name, connectionManager, value)
+            .description(description)
+            .register(registry);
     }
-}
\ No newline at end of file
+}
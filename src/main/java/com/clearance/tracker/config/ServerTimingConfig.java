@@ -0,0 +1,40 @@
+package com.clearance.tracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Opt-in Server-Timing header on /clearance responses, breaking each request down into pipeline stages, upstream
+ * calls, cache hits/misses and JSON serialization. Off by default because it exposes internal timings to clients.
+ */
+@Configuration
+public class ServerTimingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingConfig.class);
+
+    @Value("${external.api.server-timing.enabled:false}")
+    private boolean enabled;
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        logger.info("Server-Timing header {}", enabled ? "enabled for /clearance/*" : "disabled");
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.addUrlPatterns("/clearance/*");
+        registration.setEnabled(enabled);
+        return registration;
+    }
+
+    /**
+     * Replaces Spring Boot's default JSON converter; behaves identically unless a Server-Timing is being collected
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new ServerTimingJacksonHttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,25 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.service.ServerTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Collects a ServerTiming for each request it covers, bound to the request thread for the whole dispatch so the
+ * header can be written just before the response body (see ServerTimingResponseBodyAdvice)
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (ServerTiming.Scope ignored = ServerTiming.bind(ServerTiming.start())) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
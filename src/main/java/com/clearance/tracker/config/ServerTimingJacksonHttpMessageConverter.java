@@ -0,0 +1,54 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.service.ServerTiming;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter that, while a ServerTiming is being collected, serializes into a buffer first so the time spent
+ * serializing can be reported in the Server-Timing header before the body is sent. Without a collector it writes
+ * straight to the response like the default converter.
+ */
+public class ServerTimingJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public ServerTimingJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ServerTiming timing = ServerTiming.current();
+        if (timing == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        timing.add("serialize", System.nanoTime() - startNanos, null);
+
+        outputMessage.getHeaders().set(ServerTiming.HEADER, timing.headerValue());
+        outputMessage.getHeaders().setContentLength(buffer.size());
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,124 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.service.ServerTiming;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.tracing.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dedicated bounded executor for blocking upstream I/O so fan-out calls never run on ForkJoinPool.commonPool().
+ * With spring.threads.virtual.enabled=true on Java 21+ the fan-out runs on virtual threads instead of a platform pool.
+ */
+@Configuration
+public class UpstreamExecutorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamExecutorConfig.class);
+    public static final String UPSTREAM_EXECUTOR = "upstreamExecutor";
+
+    @Value("${external.api.executor.core-size:16}")
+    private int coreSize;
+
+    @Value("${external.api.executor.max-size:64}")
+    private int maxSize;
+
+    @Value("${external.api.executor.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${external.api.executor.keep-alive-seconds:60}")
+    private int keepAliveSeconds;
+
+    @Value("${external.api.executor.await-termination-seconds:10}")
+    private int awaitTerminationSeconds;
+
+    @Value("${external.api.executor.virtual-concurrency-limit:1000}")
+    private int virtualConcurrencyLimit;
+
+    @Autowired
+    private ObjectProvider<Tracer> tracer;
+
+    private final AtomicLong rejectedTasks = new AtomicLong();
+
+    @Bean(name = UPSTREAM_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor upstreamExecutor() {
+        logger.info("Creating upstream I/O executor: coreSize={}, maxSize={}, queueCapacity={}", coreSize, maxSize, queueCapacity);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("upstream-io-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(keepAliveSeconds);
+        executor.setRejectedExecutionHandler(countingAbortPolicy());
+        executor.setTaskDecorator(requestContextPropagation());
+        // Let in-flight upstream calls finish on shutdown instead of interrupting them mid-response
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        return executor;
+    }
+
+    @Bean(name = UPSTREAM_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualUpstreamExecutor() {
+        logger.info("Creating virtual-thread upstream I/O executor: concurrencyLimit={}", virtualConcurrencyLimit);
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("upstream-vt-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(requestContextPropagation());
+        // Virtual threads are cheap, so excess callers are throttled rather than rejected; the connection pool stays the hard cap
+        executor.setConcurrencyLimit(virtualConcurrencyLimit);
+        executor.setTaskTerminationTimeout(awaitTerminationSeconds * 1000L);
+        return executor;
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public MeterBinder upstreamExecutorMetrics(@Qualifier(UPSTREAM_EXECUTOR) ThreadPoolTaskExecutor upstreamExecutor) {
+        return registry -> {
+            new ExecutorServiceMetrics(upstreamExecutor.getThreadPoolExecutor(), UPSTREAM_EXECUTOR, Tags.empty())
+                .bindTo(registry);
+            FunctionCounter.builder("executor.rejected", rejectedTasks, AtomicLong::get)
+                .description("Upstream tasks rejected because the executor queue was full")
+                .tag("name", UPSTREAM_EXECUTOR)
+                .register(registry);
+        };
+    }
+
+    /**
+     * Carries the submitting thread's trace context and Server-Timing collector onto the executor thread, so fan-out
+     * calls are traced as children of the request (or stage) that started them
+     */
+    private TaskDecorator requestContextPropagation() {
+        Tracer currentTracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+        return task -> ServerTiming.propagate(currentTracer.currentTraceContext().wrap(task));
+    }
+
+    private RejectedExecutionHandler countingAbortPolicy() {
+        return (Runnable task, ThreadPoolExecutor executor) -> {
+            rejectedTasks.incrementAndGet();
+            logger.warn("Upstream executor saturated: active={}, queued={}, rejected so far={}",
+                       executor.getActiveCount(), executor.getQueue().size(), rejectedTasks.get());
+            throw new RejectedExecutionException("Upstream executor saturated (queue capacity " + queueCapacity + ")");
+        };
+    }
+}
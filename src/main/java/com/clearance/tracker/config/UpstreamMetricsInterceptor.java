@@ -0,0 +1,154 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.service.FlightRecorderEvents;
+import com.clearance.tracker.service.UpstreamMetrics;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Times every RestTemplate exchange with the upstream case API per endpoint, and measures the response body size
+ * as it is read; the size is recorded when the response is closed, so streamed PDFs are counted once fully relayed.
+ * Each exchange is also emitted as a FlightRecorderEvents.UpstreamExchange event spanning request to body close.
+ */
+public class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private final UpstreamMetrics upstreamMetrics;
+
+    public UpstreamMetricsInterceptor(UpstreamMetrics upstreamMetrics) {
+        this.upstreamMetrics = upstreamMetrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String endpoint = UpstreamMetrics.endpointOf(request.getURI().getPath());
+        FlightRecorderEvents.UpstreamExchange event = new FlightRecorderEvents.UpstreamExchange();
+        event.begin();
+        long startNanos = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            upstreamMetrics.recordExchangeFailure(endpoint, startNanos);
+            commit(event, request, endpoint, 0, "IO_ERROR", 0);
+            throw e;
+        }
+        int status = response.getStatusCode().value();
+        upstreamMetrics.recordExchange(endpoint, startNanos, status);
+        return new SizeRecordingResponse(response, request, endpoint, status, event);
+    }
+
+    private static void commit(FlightRecorderEvents.UpstreamExchange event, HttpRequest request, String endpoint,
+                               int status, String outcome, long bytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = endpoint;
+            event.caseIdHash = FlightRecorderEvents.hashId(UpstreamMetrics.caseIdOf(request.getURI()));
+            event.status = status;
+            event.outcome = outcome;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    /**
+     * Counts body bytes read through getBody() and records them, and the exchange's JFR event, on close
+     */
+    private final class SizeRecordingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final HttpRequest request;
+        private final String endpoint;
+        private final int status;
+        private final FlightRecorderEvents.UpstreamExchange event;
+        private CountingInputStream body;
+        private boolean closed;
+
+        private SizeRecordingResponse(ClientHttpResponse delegate, HttpRequest request, String endpoint, int status,
+                                      FlightRecorderEvents.UpstreamExchange event) {
+            this.delegate = delegate;
+            this.request = request;
+            this.endpoint = endpoint;
+            this.status = status;
+            this.event = event;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingInputStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                long bytes = body != null ? body.count : 0;
+                if (bytes > 0) {
+                    upstreamMetrics.recordResponseSize(endpoint, bytes);
+                }
+                commit(event, request, endpoint, status, Outcome.forStatus(status).name(), bytes);
+            }
+            delegate.close();
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.service.UpstreamPdfStream;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes an UpstreamPdfStream response body by piping it to the servlet output stream through its fixed-size
+ * buffer, then closing it so the upstream connection goes back to the pool. Spring Boot registers converter beans
+ * with the MVC converters automatically.
+ */
+@Component
+public class UpstreamPdfStreamHttpMessageConverter extends AbstractHttpMessageConverter<UpstreamPdfStream> {
+
+    public UpstreamPdfStreamHttpMessageConverter() {
+        super(MediaType.APPLICATION_PDF, MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UpstreamPdfStream.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected UpstreamPdfStream readInternal(Class<? extends UpstreamPdfStream> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("UpstreamPdfStream is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(UpstreamPdfStream pdf, MediaType contentType) {
+        return pdf.getContentLength() >= 0 ? pdf.getContentLength() : null;
+    }
+
+    @Override
+    protected void writeInternal(UpstreamPdfStream pdf, HttpOutputMessage outputMessage) throws IOException {
+        try (pdf) {
+            pdf.transferTo(outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.exception.ApplicationException;
+import com.clearance.tracker.service.UpstreamGuard;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Circuit breakers and bulkheads per upstream endpoint. State and call metrics are published as
+ * resilience4j.circuitbreaker.* and resilience4j.bulkhead.* tagged with the endpoint name.
+ */
+@Configuration
+public class UpstreamResilienceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamResilienceConfig.class);
+
+    public static final String CASES_LIST = "cases-list";
+    public static final String CASE_DETAILS = "case-details";
+    public static final String CASE_HISTORY = "case-history";
+    public static final String LATEST_PDF = "latest-pdf";
+
+    @Value("${external.api.resilience.enabled:true}")
+    private boolean enabled;
+
+    @Value("${external.api.resilience.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${external.api.resilience.slow-call-duration-ms:5000}")
+    private long slowCallDurationMs;
+
+    @Value("${external.api.resilience.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${external.api.resilience.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${external.api.resilience.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${external.api.resilience.open-state-seconds:30}")
+    private long openStateSeconds;
+
+    @Value("${external.api.resilience.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    @Value("${external.api.bulkhead.cases-list.max-concurrent:32}")
+    private int casesListMaxConcurrent;
+
+    @Value("${external.api.bulkhead.case-details.max-concurrent:20}")
+    private int caseDetailsMaxConcurrent;
+
+    @Value("${external.api.bulkhead.case-history.max-concurrent:20}")
+    private int caseHistoryMaxConcurrent;
+
+    @Value("${external.api.bulkhead.latest-pdf.max-concurrent:8}")
+    private int latestPdfMaxConcurrent;
+
+    @Value("${external.api.batch.max-concurrency:8}")
+    private int batchMaxConcurrency;
+
+    @Value("${external.api.cases-list.max-parallel-pages:4}")
+    private int maxParallelPages;
+
+    @Bean
+    public CircuitBreakerRegistry upstreamCircuitBreakerRegistry() {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+            .failureRateThreshold(failureRateThreshold)
+            .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+            .slowCallRateThreshold(slowCallRateThreshold)
+            .slidingWindowSize(slidingWindowSize)
+            .minimumNumberOfCalls(minimumCalls)
+            .waitDurationInOpenState(Duration.ofSeconds(openStateSeconds))
+            .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+            // 4xx means upstream answered correctly; the caller's own deadline running out, or a full bulkhead on the
+            // reactive path, says nothing about upstream health
+            .recordException(e -> !(isClientError(e) || isClientError(e.getCause())))
+            .ignoreException(e -> e instanceof BulkheadFullException || e instanceof ApplicationException applicationException
+                && applicationException.getErrorCode() == ApplicationException.DEADLINE_EXCEEDED)
+            .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        for (String endpoint : new String[]{CASES_LIST, CASE_DETAILS, CASE_HISTORY, LATEST_PDF}) {
+            registry.circuitBreaker(endpoint).getEventPublisher()
+                .onStateTransition(event -> logger.warn("Upstream {} circuit breaker: {}", event.getCircuitBreakerName(),
+                    event.getStateTransition()));
+        }
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry upstreamBulkheadRegistry() {
+        checkBatchFitsBulkheads();
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        Map.of(CASES_LIST, casesListMaxConcurrent,
+               CASE_DETAILS, caseDetailsMaxConcurrent,
+               CASE_HISTORY, caseHistoryMaxConcurrent,
+               LATEST_PDF, latestPdfMaxConcurrent)
+            .forEach((endpoint, maxConcurrent) -> registry.bulkhead(endpoint, BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrent)
+                .maxWaitDuration(Duration.ZERO)
+                .build()));
+        logger.info("Upstream bulkheads: cases-list={}, case-details={}, case-history={}, latest-pdf={}",
+                   casesListMaxConcurrent, caseDetailsMaxConcurrent, caseHistoryMaxConcurrent, latestPdfMaxConcurrent);
+        return registry;
+    }
+
+    private static boolean isClientError(Throwable e) {
+        return e instanceof HttpClientErrorException
+            || e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError();
+    }
+
+    /**
+     * Bulkheads fail fast, so a single batch must not need more permits than an endpoint has; otherwise a full-size
+     * batch rejects its own calls with 9001. A subject batch keeps max-concurrency subjects in flight, each reading
+     * up to max-parallel-pages case list pages at a time, and a case batch one details and one history call per case.
+     */
+    private void checkBatchFitsBulkheads() {
+        if (batchMaxConcurrency * maxParallelPages > casesListMaxConcurrent) {
+            throw new IllegalStateException(String.format(
+                "external.api.batch.max-concurrency (%d) x external.api.cases-list.max-parallel-pages (%d) exceeds "
+                    + "external.api.bulkhead.cases-list.max-concurrent (%d)",
+                batchMaxConcurrency, maxParallelPages, casesListMaxConcurrent));
+        }
+        if (batchMaxConcurrency > Math.min(caseDetailsMaxConcurrent, caseHistoryMaxConcurrent)) {
+            throw new IllegalStateException(String.format(
+                "external.api.batch.max-concurrency (%d) exceeds the case-details (%d) or case-history (%d) bulkhead",
+                batchMaxConcurrency, caseDetailsMaxConcurrent, caseHistoryMaxConcurrent));
+        }
+    }
+
+    @Bean
+    public UpstreamGuard upstreamGuard(CircuitBreakerRegistry upstreamCircuitBreakerRegistry, BulkheadRegistry upstreamBulkheadRegistry) {
+        return new UpstreamGuard(enabled, upstreamCircuitBreakerRegistry, upstreamBulkheadRegistry);
+    }
+
+    @Bean
+    public MeterBinder upstreamResilienceMetrics(CircuitBreakerRegistry upstreamCircuitBreakerRegistry, BulkheadRegistry upstreamBulkheadRegistry) {
+        return registry -> {
+            TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(upstreamCircuitBreakerRegistry).bindTo(registry);
+            TaggedBulkheadMetrics.ofBulkheadRegistry(upstreamBulkheadRegistry).bindTo(registry);
+        };
+    }
+}
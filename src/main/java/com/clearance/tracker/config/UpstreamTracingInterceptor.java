@@ -0,0 +1,54 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.service.UpstreamMetrics;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Traces every RestTemplate exchange with the upstream case API as a client span, child of whatever span is current
+ * on the calling thread (a pipeline stage, or the inbound request), and injects the trace headers (W3C traceparent)
+ * so upstream spans join the same trace. Like the metrics interceptor it also covers the streamed PDF download, and
+ * the span ends when the response headers arrive.
+ */
+public class UpstreamTracingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    public UpstreamTracingInterceptor(Tracer tracer, Propagator propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String endpoint = UpstreamMetrics.endpointOf(request.getURI().getPath());
+        Span span = tracer.spanBuilder()
+            .name("upstream " + endpoint)
+            .kind(Span.Kind.CLIENT)
+            .remoteServiceName("case-api")
+            .tag("upstream.endpoint", endpoint)
+            .tag("http.method", request.getMethod().name())
+            // Path only: the query string carries subject identifiers
+            .tag("http.url", request.getURI().getPath())
+            .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            propagator.inject(span.context(), request.getHeaders(), (headers, name, value) -> headers.set(name, value));
+            ClientHttpResponse response = execution.execute(request, body);
+            span.tag("http.status_code", String.valueOf(response.getStatusCode().value()));
+            return response;
+        } catch (IOException | RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.clearance.tracker.config;
+
+import com.clearance.tracker.service.FlightRecorderEvents;
+import com.clearance.tracker.service.UpstreamMetrics;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import io.micrometer.observation.ObservationRegistry;
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Non-blocking upstream client for the reactive profile; shares the external.api.* pool and timeout settings
+ */
+@Configuration
+@Profile("reactive")
+public class WebClientConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebClientConfig.class);
+
+    @Value("${external.api.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    @Value("${external.api.pool.max-total:100}")
+    private int maxConnections;
+
+    @Value("${external.api.pool.acquire-timeout-ms:2000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${external.api.pool.idle-eviction-ms:60000}")
+    private long idleEvictionMs;
+
+    @Value("${external.api.connect-timeout-ms:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${external.api.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Value("${external.api.reactive.max-in-memory-size:52428800}")
+    private int maxInMemorySize;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider() {
+        logger.info("Creating reactive upstream connection provider: maxConnections={}, acquireTimeout={}ms", maxConnections, poolAcquireTimeoutMs);
+        return ConnectionProvider.builder("upstream")
+            .maxConnections(maxConnections)
+            .pendingAcquireTimeout(Duration.ofMillis(poolAcquireTimeoutMs))
+            .maxIdleTime(Duration.ofMillis(idleEvictionMs))
+            .evictInBackground(Duration.ofMillis(idleEvictionMs))
+            .metrics(true)
+            .build();
+    }
+
+    @Bean
+    public WebClient upstreamWebClient(ConnectionProvider upstreamConnectionProvider, UpstreamMetrics upstreamMetrics,
+                                       ObjectProvider<ObservationRegistry> observationRegistry) {
+        HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+            .responseTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return WebClient.builder()
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            // PDFs are aggregated into byte[] by getLatestPdf, so lift the 256KB codec default
+            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxInMemorySize))
+            .filter(upstreamMetricsFilter(upstreamMetrics))
+            // Client spans and trace header injection for the reactive upstream calls
+            .observationRegistry(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
+            .build();
+    }
+
+    /**
+     * Same external.api.upstream.* metrics and UpstreamExchange JFR events as the RestTemplate client; the body is
+     * not intercepted here, so events end when the headers arrive and the response size is taken from
+     * Content-Length when upstream sends one
+     */
+    private static ExchangeFilterFunction upstreamMetricsFilter(UpstreamMetrics upstreamMetrics) {
+        return (request, next) -> {
+            String endpoint = UpstreamMetrics.endpointOf(request.url().getPath());
+            FlightRecorderEvents.UpstreamExchange event = new FlightRecorderEvents.UpstreamExchange();
+            event.begin();
+            long startNanos = System.nanoTime();
+            return next.exchange(request)
+                .doOnNext(response -> {
+                    int status = response.statusCode().value();
+                    upstreamMetrics.recordExchange(endpoint, startNanos, status);
+                    response.headers().contentLength().ifPresent(bytes -> upstreamMetrics.recordResponseSize(endpoint, bytes));
+                    commit(event, request.url(), endpoint, status, Outcome.forStatus(status).name(),
+                           response.headers().contentLength().orElse(0));
+                })
+                .doOnError(e -> {
+                    upstreamMetrics.recordExchangeFailure(endpoint, startNanos);
+                    commit(event, request.url(), endpoint, 0, "IO_ERROR", 0);
+                });
+        };
+    }
+
+    private static void commit(FlightRecorderEvents.UpstreamExchange event, URI uri, String endpoint, int status,
+                               String outcome, long bytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = endpoint;
+            event.caseIdHash = FlightRecorderEvents.hashId(UpstreamMetrics.caseIdOf(uri));
+            event.status = status;
+            event.outcome = outcome;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+}
@@ -1,43 +1,83 @@
 package com.clearance.tracker.controller;
 
 import com.clearance.tracker.dto.CaseDetailsAndHistoryResponse;
+import com.clearance.tracker.dto.CaseDetailsHistoryBatchRequest;
+import com.clearance.tracker.dto.CaseDto;
+import com.clearance.tracker.dto.CaseDetailsHistoryBatchResponse;
+import com.clearance.tracker.dto.CaseHistoryBatchRequest;
+import com.clearance.tracker.dto.CaseHistoryBatchResponse;
+import com.clearance.tracker.dto.CaseListResponseDto;
 import com.clearance.tracker.dto.CombinedCaseResponse;
 import com.clearance.tracker.dto.ErrorResponse;
 import com.clearance.tracker.exception.ApplicationException;
+import com.clearance.tracker.service.CasePageIterator;
+import com.clearance.tracker.service.CaseResponseETags;
+import com.clearance.tracker.service.DeadlinePolicy;
 import com.clearance.tracker.service.ExternalApiService;
+import com.clearance.tracker.service.PdfByteRanges;
+import com.clearance.tracker.service.RequestDeadline;
+import com.clearance.tracker.service.UpstreamPdfStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.servlet.http.HttpServletRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
 @RestController
 @RequestMapping("/clearance")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
 public class SecurityClearanceController {
 
     private static final Logger logger = LoggerFactory.getLogger(SecurityClearanceController.class);
+    // Case data is per-user: browsers may keep it but must revalidate with the ETag before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
 
     @Autowired
     private ExternalApiService externalApiService;
 
+    @Autowired
+    private DeadlinePolicy deadlinePolicy;
+
+    @Autowired
+    private CaseResponseETags caseResponseETags;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping("/case-history")
-    public ResponseEntity<?> getCaseHistory(@RequestParam String subjectPersonaObjectId, HttpServletRequest request) {
+    public ResponseEntity<?> getCaseHistory(@RequestParam String subjectPersonaObjectId,
+                                            @RequestHeader(value = DeadlinePolicy.DEADLINE_HEADER, required = false) String requestTimeoutMs,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                            HttpServletRequest request) {
         logger.info("Received request to get combined case history for Subject Persona Object ID: {} from client: {}", subjectPersonaObjectId, request.getRemoteAddr());
         
-        try {
+        try (RequestDeadline.Scope deadlineScope = RequestDeadline.bind(deadlinePolicy.resolve(requestTimeoutMs))) {
             CombinedCaseResponse combinedResponse = externalApiService.getCaseHistory(subjectPersonaObjectId);
+            String eTag = caseResponseETags.forCaseHistory(combinedResponse);
+            if (caseResponseETags.matches(ifNoneMatch, eTag)) {
+                logger.info("Combined case history for Subject Persona Object ID {} not modified (ETag {})", subjectPersonaObjectId, eTag);
+                return notModified(eTag);
+            }
             logger.info("Successfully processed combined case history request for Subject Persona Object ID: {}. Selected case: {}, Total cases: {}, History items: {}", 
                        subjectPersonaObjectId,
                        combinedResponse.getSelectedCaseId(),
                        combinedResponse.getCasesList() != null && combinedResponse.getCasesList().getCases() != null ? combinedResponse.getCasesList().getCases().size() : 0,
                        combinedResponse.getCaseHistory() != null && combinedResponse.getCaseHistory().getHistory() != null ? combinedResponse.getCaseHistory().getHistory().size() : 0);
-            return ResponseEntity.ok(combinedResponse);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(combinedResponse);
             
         } catch (ApplicationException e) {
             logger.error("Application error processing combined case history request: {}", e.getMessage(), e);
@@ -48,7 +88,7 @@ public class SecurityClearanceController {
                 request.getRequestURI()
             );
             
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ResponseEntity.status(resolveHttpStatus(e)).body(errorResponse);
         } catch (Exception e) {
             logger.error("Unexpected error in combined case history controller: {}", e.getMessage(), e);
             
@@ -63,15 +103,88 @@ public class SecurityClearanceController {
     }
 
 
+    /**
+     * Streams a subject's case list as application/x-ndjson, one CaseDto per line, reading upstream pages one at a
+     * time and flushing after each, so the client receives the first page's cases without waiting for the rest and the
+     * full list is never held in memory. Page 1 is read before responding so that an upstream failure is reported with
+     * a proper status; a later page failure ends the stream with an ErrorResponse line.
+     */
+    @GetMapping("/cases")
+    public ResponseEntity<StreamingResponseBody> streamCases(@RequestParam String subjectPersonaObjectId,
+                                                             @RequestHeader(value = DeadlinePolicy.DEADLINE_HEADER, required = false) String requestTimeoutMs,
+                                                             HttpServletRequest request) {
+        logger.info("Received request to stream case list for Subject Persona Object ID: {} from client: {}", subjectPersonaObjectId, request.getRemoteAddr());
+        
+        RequestDeadline deadline = deadlinePolicy.resolve(requestTimeoutMs);
+        String path = request.getRequestURI();
+        try (RequestDeadline.Scope deadlineScope = RequestDeadline.bind(deadline)) {
+            CasePageIterator pages = externalApiService.openCasePages(subjectPersonaObjectId);
+            CaseListResponseDto firstPage = pages.next();
+            logger.info("Streaming case list for Subject Persona Object ID {} as NDJSON ({} pages)", subjectPersonaObjectId, pages.getTotalPages());
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> streamCasePages(subjectPersonaObjectId, firstPage, pages, deadline, path, out));
+            
+        } catch (ApplicationException e) {
+            logger.error("Application error processing case list stream request: {}", e.getMessage(), e);
+            ErrorResponse errorResponse = new ErrorResponse(e.getErrorCode(), "External service failed: " + e.getMessage(), path);
+            return ResponseEntity.status(resolveHttpStatus(e))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, errorResponse));
+        }
+    }
+
+    private void streamCasePages(String subjectPersonaObjectId, CaseListResponseDto firstPage, CasePageIterator pages,
+                                 RequestDeadline deadline, String path, OutputStream out) throws IOException {
+        int written = 0;
+        try (RequestDeadline.Scope deadlineScope = RequestDeadline.bind(deadline);
+             NdjsonWriter ndjson = new NdjsonWriter(objectMapper, out)) {
+            CaseListResponseDto page = firstPage;
+            while (page != null) {
+                if (page.getCases() != null) {
+                    for (CaseDto caseItem : page.getCases()) {
+                        ndjson.write(caseItem);
+                        written++;
+                    }
+                }
+                ndjson.flush();
+                if (!pages.hasNext()) {
+                    break;
+                }
+                try {
+                    page = pages.next();
+                } catch (ApplicationException e) {
+                    logger.error("Case list stream for Subject Persona Object ID {} aborted after {} cases: {}", subjectPersonaObjectId, written, e.getMessage(), e);
+                    ndjson.write(new ErrorResponse(e.getErrorCode(), "External service failed: " + e.getMessage(), path));
+                    break;
+                }
+                if (page == null) {
+                    // The client must not mistake a list cut short by upstream for a complete one
+                    logger.error("Case list stream for Subject Persona Object ID {} ended after {} cases: upstream returned no page {} of {}",
+                                subjectPersonaObjectId, written, pages.getPagesRead(), pages.getTotalPages());
+                    ndjson.write(new ErrorResponse(ApplicationException.DEFAULT_ERROR_CODE,
+                        "External service returned no page " + pages.getPagesRead() + " of " + pages.getTotalPages(), path));
+                }
+            }
+        }
+        logger.info("Streamed {} cases in {} pages for Subject Persona Object ID {}", written, pages.getPagesRead(), subjectPersonaObjectId);
+    }
+
     @GetMapping("/pdf-download/{caseId}")
-    public ResponseEntity<?> downloadPdf(@PathVariable String caseId, HttpServletRequest request) {
+    public ResponseEntity<?> downloadPdf(@PathVariable String caseId,
+                                         @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                         @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+                                         HttpServletRequest request) {
         logger.info("Received request to download latest PDF for case {} from client: {}", caseId, request.getRemoteAddr());
         
+        UpstreamPdfStream pdf = null;
+        // Set once the PDF is returned as the body; from then on the message converter closes it
+        boolean handedOff = false;
         try {
-            // Get latest PDF bytes directly from external API
-            byte[] pdfBytes = externalApiService.getLatestPdf(caseId);
+            // Open the latest PDF upstream; UpstreamPdfStreamHttpMessageConverter pipes it to the client instead of buffering it
+            pdf = externalApiService.openLatestPdf(caseId);
             
-            if (pdfBytes == null || pdfBytes.length == 0) {
+            if (pdf == null) {
                 logger.warn("No PDF found for case {}", caseId);
                 ErrorResponse errorResponse = new ErrorResponse(
                     404,
@@ -85,14 +198,56 @@ public class SecurityClearanceController {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("attachment", caseId + ".pdf");
-            headers.setContentLength(pdfBytes.length);
+            // Ranges need the total size; a chunked upstream body can only be sent whole
+            headers.set(HttpHeaders.ACCEPT_RANGES, pdf.getContentLength() >= 0 ? "bytes" : "none");
+            if (pdf.getETag() != null) {
+                headers.setETag(pdf.getETag());
+            }
+            
+            List<PdfByteRanges.Slice> slices = range != null && pdf.getContentLength() >= 0 && ifRangeMatches(ifRange, pdf.getETag())
+                ? PdfByteRanges.parse(range, pdf.getContentLength())
+                : null;
+            if (slices != null && !PdfByteRanges.isDisjoint(slices)) {
+                // Serving overlapping ranges would multiply the response; the whole PDF is never larger
+                logger.info("Ignoring overlapping ranges {} for latest PDF of case {}, sending it whole", range, caseId);
+                slices = null;
+            }
+            if (slices != null && slices.isEmpty()) {
+                logger.info("Unsatisfiable range {} for latest PDF of case {} ({} bytes)", range, caseId, pdf.getContentLength());
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                headers.remove(HttpHeaders.CONTENT_DISPOSITION);
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + pdf.getContentLength());
+                ErrorResponse errorResponse = new ErrorResponse(
+                    416,
+                    "Requested range not satisfiable for case: " + caseId,
+                    request.getRequestURI()
+                );
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).body(errorResponse);
+            }
+            if (slices != null && (pdf.isSeekable() || PdfByteRanges.isForwardOnly(slices))) {
+                PdfByteRanges ranges = new PdfByteRanges(pdf, slices);
+                headers.setContentType(ranges.getContentType());
+                if (!ranges.isMultipart()) {
+                    headers.set(HttpHeaders.CONTENT_RANGE, ranges.getContentRange());
+                }
+                logger.info("Streaming {} range(s) {} of latest PDF for case {}", slices.size(), range, caseId);
+                handedOff = true;
+                return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .headers(headers)
+                    .body(ranges);
+            }
             
-            logger.info("Successfully retrieved latest PDF for case {}. Size: {} bytes", 
-                       caseId, pdfBytes.length);
+            if (pdf.getContentLength() >= 0) {
+                headers.setContentLength(pdf.getContentLength());
+            }
             
+            logger.info("Streaming latest PDF for case {}. Size: {}", 
+                       caseId, pdf.getContentLength() >= 0 ? pdf.getContentLength() + " bytes" : "unknown");
+            
+            handedOff = true;
             return ResponseEntity.ok()
                 .headers(headers)
-                .body(pdfBytes);
+                .body(pdf);
             
         } catch (ApplicationException e) {
             logger.error("Application error processing latest PDF download for case {}: {}", caseId, e.getMessage(), e);
@@ -103,7 +258,7 @@ public class SecurityClearanceController {
                 request.getRequestURI()
             );
             
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ResponseEntity.status(resolveHttpStatus(e)).body(errorResponse);
         } catch (Exception e) {
             logger.error("Unexpected error in latest PDF download controller for case {}: {}", caseId, e.getMessage(), e);
             
@@ -114,19 +269,32 @@ public class SecurityClearanceController {
             );
             
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        } finally {
+            if (pdf != null && !handedOff) {
+                // Releases the upstream connection and latest-pdf bulkhead permit
+                closeQuietly(pdf, caseId);
+            }
         }
     }
 
     @GetMapping("/case-details-history/{caseId}")
-    public ResponseEntity<?> getCaseDetailsAndHistory(@PathVariable String caseId, HttpServletRequest request) {
+    public ResponseEntity<?> getCaseDetailsAndHistory(@PathVariable String caseId,
+                                                      @RequestHeader(value = DeadlinePolicy.DEADLINE_HEADER, required = false) String requestTimeoutMs,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                      HttpServletRequest request) {
         logger.info("Received request to get case details and history for case {} from client: {}", caseId, request.getRemoteAddr());
         
-        try {
+        try (RequestDeadline.Scope deadlineScope = RequestDeadline.bind(deadlinePolicy.resolve(requestTimeoutMs))) {
             CaseDetailsAndHistoryResponse response = externalApiService.getCaseDetailsAndHistory(caseId);
+            String eTag = caseResponseETags.forCaseDetailsAndHistory(response);
+            if (caseResponseETags.matches(ifNoneMatch, eTag)) {
+                logger.info("Case details and history for case {} not modified (ETag {})", caseId, eTag);
+                return notModified(eTag);
+            }
             logger.info("Successfully processed case details and history request for case {}. History items: {}", 
                        caseId, 
                        response.getCaseHistory() != null && response.getCaseHistory().getHistory() != null ? response.getCaseHistory().getHistory().size() : 0);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(response);
             
         } catch (ApplicationException e) {
             logger.error("Application error processing case details and history request for case {}: {}", caseId, e.getMessage(), e);
@@ -137,7 +305,7 @@ public class SecurityClearanceController {
                 request.getRequestURI()
             );
             
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ResponseEntity.status(resolveHttpStatus(e)).body(errorResponse);
         } catch (Exception e) {
             logger.error("Unexpected error in case details and history controller for case {}: {}", caseId, e.getMessage(), e);
             
@@ -150,4 +318,207 @@ public class SecurityClearanceController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Details and history for many cases in one round trip; all results are returned together once the batch finishes.
+     * Per-case failures are reported in the results, so the response is 200 unless the request itself is invalid.
+     */
+    @PostMapping("/case-details-history:batch")
+    public ResponseEntity<?> getCaseDetailsAndHistoryBatch(@RequestBody CaseDetailsHistoryBatchRequest batchRequest,
+                                                           @RequestHeader(value = DeadlinePolicy.DEADLINE_HEADER, required = false) String requestTimeoutMs,
+                                                           HttpServletRequest request) {
+        logger.info("Received request to get case details and history for {} cases from client: {}", 
+                   batchRequest.getCaseIds() != null ? batchRequest.getCaseIds().size() : 0, request.getRemoteAddr());
+        
+        try (RequestDeadline.Scope deadlineScope = RequestDeadline.bind(deadlinePolicy.resolveBatch(requestTimeoutMs))) {
+            CaseDetailsHistoryBatchResponse response = externalApiService.getCaseDetailsAndHistoryBatch(batchRequest.getCaseIds());
+            logger.info("Successfully processed case details and history batch. Requested: {}, Succeeded: {}, Failed: {}", 
+                       response.getRequested(), response.getSucceeded(), response.getFailed());
+            return ResponseEntity.ok(response);
+            
+        } catch (ApplicationException e) {
+            logger.error("Application error processing case details and history batch request: {}", e.getMessage(), e);
+            return ResponseEntity.status(resolveHttpStatus(e)).body(batchErrorResponse(e, request));
+        } catch (Exception e) {
+            logger.error("Unexpected error in case details and history batch controller: {}", e.getMessage(), e);
+            
+            ErrorResponse errorResponse = new ErrorResponse(
+                9999,
+                "System error occurred",
+                request.getRequestURI()
+            );
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    /**
+     * Streamed variant of the batch endpoint, selected with Accept: application/x-ndjson: each case is written as one
+     * JSON line as soon as it completes. An invalid request is still answered with a JSON ErrorResponse.
+     */
+    @PostMapping(value = "/case-details-history:batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCaseDetailsAndHistoryBatch(@RequestBody CaseDetailsHistoryBatchRequest batchRequest,
+                                                                                  @RequestHeader(value = DeadlinePolicy.DEADLINE_HEADER, required = false) String requestTimeoutMs,
+                                                                                  HttpServletRequest request) {
+        logger.info("Received request to stream case details and history for {} cases from client: {}", 
+                   batchRequest.getCaseIds() != null ? batchRequest.getCaseIds().size() : 0, request.getRemoteAddr());
+        
+        try {
+            List<String> caseIds = externalApiService.normalizeBatchCaseIds(batchRequest.getCaseIds());
+            RequestDeadline deadline = deadlinePolicy.resolveBatch(requestTimeoutMs);
+            logger.info("Streaming case details and history batch of {} cases as NDJSON", caseIds.size());
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> streamBatch("case details and history batch", deadline, request.getRequestURI(), out,
+                    onItem -> externalApiService.streamCaseDetailsAndHistoryBatch(caseIds, onItem)));
+            
+        } catch (ApplicationException e) {
+            logger.error("Application error processing streamed case details and history batch request: {}", e.getMessage(), e);
+            ErrorResponse errorResponse = batchErrorResponse(e, request);
+            return ResponseEntity.status(resolveHttpStatus(e))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, errorResponse));
+        }
+    }
+
+    private static ErrorResponse batchErrorResponse(ApplicationException e, HttpServletRequest request) {
+        return new ErrorResponse(
+            e.getErrorCode(),
+            e.getErrorCode() == ApplicationException.INVALID_REQUEST ? e.getMessage() : "External service failed: " + e.getMessage(),
+            request.getRequestURI()
+        );
+    }
+
+    /**
+     * Case history for many subjects in one round trip; all results are returned together once the batch finishes.
+     * Per-subject failures (e.g. no In Progress case) are reported in the results, so the response is 200 unless the
+     * request itself is invalid.
+     */
+    @PostMapping("/case-history:batch")
+    public ResponseEntity<?> getCaseHistoryBatch(@RequestBody CaseHistoryBatchRequest batchRequest,
+                                                 @RequestHeader(value = DeadlinePolicy.DEADLINE_HEADER, required = false) String requestTimeoutMs,
+                                                 HttpServletRequest request) {
+        logger.info("Received request to get combined case history for {} subjects from client: {}", 
+                   batchRequest.getSubjectPersonaObjectIds() != null ? batchRequest.getSubjectPersonaObjectIds().size() : 0, request.getRemoteAddr());
+        
+        try (RequestDeadline.Scope deadlineScope = RequestDeadline.bind(deadlinePolicy.resolveBatch(requestTimeoutMs))) {
+            CaseHistoryBatchResponse response = externalApiService.getCaseHistoryBatch(batchRequest.getSubjectPersonaObjectIds());
+            logger.info("Successfully processed case history batch. Requested: {}, Succeeded: {}, Failed: {}", 
+                       response.getRequested(), response.getSucceeded(), response.getFailed());
+            return ResponseEntity.ok(response);
+            
+        } catch (ApplicationException e) {
+            logger.error("Application error processing case history batch request: {}", e.getMessage(), e);
+            return ResponseEntity.status(resolveHttpStatus(e)).body(batchErrorResponse(e, request));
+        } catch (Exception e) {
+            logger.error("Unexpected error in case history batch controller: {}", e.getMessage(), e);
+            
+            ErrorResponse errorResponse = new ErrorResponse(
+                9999,
+                "System error occurred",
+                request.getRequestURI()
+            );
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    /**
+     * Streamed variant of the case history batch endpoint, selected with Accept: application/x-ndjson: each subject is
+     * written as one JSON line as soon as its pipeline completes
+     */
+    @PostMapping(value = "/case-history:batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCaseHistoryBatch(@RequestBody CaseHistoryBatchRequest batchRequest,
+                                                                        @RequestHeader(value = DeadlinePolicy.DEADLINE_HEADER, required = false) String requestTimeoutMs,
+                                                                        HttpServletRequest request) {
+        logger.info("Received request to stream combined case history for {} subjects from client: {}", 
+                   batchRequest.getSubjectPersonaObjectIds() != null ? batchRequest.getSubjectPersonaObjectIds().size() : 0, request.getRemoteAddr());
+        
+        try {
+            List<String> subjectIds = externalApiService.normalizeBatchSubjectIds(batchRequest.getSubjectPersonaObjectIds());
+            RequestDeadline deadline = deadlinePolicy.resolveBatch(requestTimeoutMs);
+            logger.info("Streaming case history batch of {} subjects as NDJSON", subjectIds.size());
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> streamBatch("case history batch", deadline, request.getRequestURI(), out,
+                    onItem -> externalApiService.streamCaseHistoryBatch(subjectIds, onItem)));
+            
+        } catch (ApplicationException e) {
+            logger.error("Application error processing streamed case history batch request: {}", e.getMessage(), e);
+            ErrorResponse errorResponse = batchErrorResponse(e, request);
+            return ResponseEntity.status(resolveHttpStatus(e))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, errorResponse));
+        }
+    }
+
+    @FunctionalInterface
+    private interface BatchRun {
+        void run(Consumer<Object> onItem) throws ApplicationException;
+    }
+
+    /**
+     * Writes each batch result as one NDJSON line and flushes it, so the client sees every item as it completes.
+     * Runs on the MVC async executor, hence the deadline is bound here rather than on the request thread. If the
+     * batch fails after the headers were sent, an ErrorResponse is written as the last line.
+     */
+    private void streamBatch(String description, RequestDeadline deadline, String path, OutputStream out, BatchRun batch) throws IOException {
+        try (RequestDeadline.Scope deadlineScope = RequestDeadline.bind(deadline);
+             NdjsonWriter ndjson = new NdjsonWriter(objectMapper, out)) {
+            try {
+                batch.run(item -> {
+                    try {
+                        ndjson.write(item);
+                        ndjson.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (ApplicationException e) {
+                logger.error("Streamed {} aborted: {}", description, e.getMessage(), e);
+                ndjson.write(new ErrorResponse(e.getErrorCode(), "External service failed: " + e.getMessage(), path));
+            }
+        } catch (UncheckedIOException e) {
+            logger.warn("Client went away while streaming {}: {}", description, e.getMessage());
+            throw e.getCause();
+        }
+    }
+
+    private static void closeQuietly(UpstreamPdfStream pdf, String caseId) {
+        try {
+            pdf.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close latest PDF for case {}: {}", caseId, e.getMessage());
+        }
+    }
+
+    /**
+     * If-Range requires a strong match; an HTTP-date cannot be validated because no Last-Modified is sent, so it
+     * falls back to the full response as RFC 9110 prescribes
+     */
+    private static boolean ifRangeMatches(String ifRange, String eTag) {
+        if (ifRange == null) {
+            return true;
+        }
+        return eTag != null && !ifRange.startsWith("W/") && ifRange.trim().equals(eTag);
+    }
+
+    private ResponseEntity<?> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+    }
+
+    /**
+     * Maps ApplicationException error codes to the HTTP status returned to the client
+     * @param e The application exception raised by the service layer
+     * @return 400 for an invalid request, 503 when upstream capacity is exhausted or its circuit is open, 504 when the
+     *         request deadline passed, otherwise 500
+     */
+    private HttpStatus resolveHttpStatus(ApplicationException e) {
+        return switch (e.getErrorCode()) {
+            case ApplicationException.INVALID_REQUEST -> HttpStatus.BAD_REQUEST;
+            case ApplicationException.UPSTREAM_SATURATED, ApplicationException.UPSTREAM_CIRCUIT_OPEN -> HttpStatus.SERVICE_UNAVAILABLE;
+            case ApplicationException.DEADLINE_EXCEEDED -> HttpStatus.GATEWAY_TIMEOUT;
+            default -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.clearance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one case of a details/history batch: either the combined response or the error that case failed with
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseDetailsHistoryBatchItem {
+    private int index;
+    private String caseId;
+    private CaseDetailsAndHistoryResponse result;
+    private Integer errorCode;
+    private String errorMessage;
+    private long elapsedMs;
+
+    public static CaseDetailsHistoryBatchItem success(int index, CaseDetailsAndHistoryResponse result, long elapsedMs) {
+        return new CaseDetailsHistoryBatchItem(index, result.getCaseId(), result, null, null, elapsedMs);
+    }
+
+    public static CaseDetailsHistoryBatchItem failure(int index, String caseId, int errorCode, String errorMessage, long elapsedMs) {
+        return new CaseDetailsHistoryBatchItem(index, caseId, null, errorCode, errorMessage, elapsedMs);
+    }
+
+    public boolean isSuccess() {
+        return errorCode == null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.clearance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseDetailsHistoryBatchResponse {
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<CaseDetailsHistoryBatchItem> results;
+}
@@ -0,0 +1,32 @@
+package com.clearance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one subject of a case history batch: either the combined response or the error that subject failed with
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseHistoryBatchItem {
+    private int index;
+    private String subjectPersonaObjectId;
+    private CombinedCaseResponse result;
+    private Integer errorCode;
+    private String errorMessage;
+    private long elapsedMs;
+
+    public static CaseHistoryBatchItem success(int index, String subjectPersonaObjectId, CombinedCaseResponse result, long elapsedMs) {
+        return new CaseHistoryBatchItem(index, subjectPersonaObjectId, result, null, null, elapsedMs);
+    }
+
+    public static CaseHistoryBatchItem failure(int index, String subjectPersonaObjectId, int errorCode, String errorMessage, long elapsedMs) {
+        return new CaseHistoryBatchItem(index, subjectPersonaObjectId, null, errorCode, errorMessage, elapsedMs);
+    }
+
+    public boolean isSuccess() {
+        return errorCode == null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.clearance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseHistoryBatchRequest {
+    private List<String> subjectPersonaObjectIds;
+}
@@ -4,9 +4,20 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Case list metadata. The page fields describe the upstream pagination of /api/v1/cases and are null when the
+ * upstream did not report them; a list assembled from several pages has no page number.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class MetadataDto {
     private int totalCases;
-}
\ No newline at end of file
+    private Integer page;
+    private Integer pageSize;
+    private Integer totalPages;
+
+    public MetadataDto(int totalCases) {
+        this.totalCases = totalCases;
+    }
+}
@@ -0,0 +1,35 @@
+package com.clearance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of rendering one document of a PDF batch: either the PDF bytes or the error that document failed with
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfRenderResult {
+    private int index;
+    private String caseId;
+    private String documentName;
+    private byte[] pdf;
+    private String errorMessage;
+    private long renderTimeMs;
+
+    public static PdfRenderResult success(int index, PdfContent pdfContent, byte[] pdf, long renderTimeMs) {
+        return new PdfRenderResult(index, pdfContent.getCaseId(), pdfContent.getDocumentName(), pdf, null, renderTimeMs);
+    }
+
+    public static PdfRenderResult failure(int index, PdfContent pdfContent, String errorMessage, long renderTimeMs) {
+        return new PdfRenderResult(index,
+            pdfContent != null ? pdfContent.getCaseId() : null,
+            pdfContent != null ? pdfContent.getDocumentName() : null,
+            null, errorMessage, renderTimeMs);
+    }
+
+    public boolean isSuccess() {
+        return errorMessage == null;
+    }
+}
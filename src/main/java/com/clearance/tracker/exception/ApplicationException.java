@@ -1,17 +1,23 @@
 package com.clearance.tracker.exception;
 
 public class ApplicationException extends Exception {
-    
+
+    public static final int DEFAULT_ERROR_CODE = 9999;
+    public static final int UPSTREAM_SATURATED = 9001; // Upstream executor queue full, surfaced as 503
+    public static final int DEADLINE_EXCEEDED = 9002; // Request deadline budget spent, surfaced as 504
+    public static final int UPSTREAM_CIRCUIT_OPEN = 9003; // Upstream endpoint circuit breaker open, surfaced as 503
+    public static final int INVALID_REQUEST = 9004; // Request rejected before any upstream call, surfaced as 400
+
     private final int errorCode;
 
     public ApplicationException(String message) {
         super(message);
-        this.errorCode = 9999; // Default error code for external service failures
+        this.errorCode = DEFAULT_ERROR_CODE; // Default error code for external service failures
     }
 
     public ApplicationException(String message, Throwable cause) {
         super(message, cause);
-        this.errorCode = 9999; // Default error code for external service failures
+        this.errorCode = DEFAULT_ERROR_CODE; // Default error code for external service failures
     }
 
     public ApplicationException(int errorCode, String message) {
@@ -27,4 +33,4 @@ public class ApplicationException extends Exception {
     public int getErrorCode() {
         return errorCode;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,167 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.exception.ApplicationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one asynchronous lookup per ID with at most maxConcurrency lookups in flight and delivers each outcome on the
+ * calling thread as soon as it completes. A failed lookup is delivered as an error outcome instead of aborting the
+ * batch. When the request deadline passes, pending lookups are cancelled and every ID without an outcome is
+ * delivered as DEADLINE_EXCEEDED.
+ */
+final class BoundedBatch {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedBatch.class);
+
+    interface Lookup<R> {
+        /**
+         * Starts the lookup for one ID without blocking
+         * @param id The ID to look up
+         * @param cancellables Receives the upstream futures to cancel if the batch gives up on this lookup
+         * @return Future completing with the result, or exceptionally with the failure
+         */
+        CompletableFuture<R> start(String id, List<CompletableFuture<?>> cancellables);
+    }
+
+    interface Outcome<R> {
+        /**
+         * Receives the outcome of one lookup; exactly one of result and error is non-null
+         */
+        void accept(int index, String id, R result, ApplicationException error, long elapsedMs);
+    }
+
+    private record Completion<R>(int index, R result, ApplicationException error, long elapsedMs) {
+    }
+
+    private BoundedBatch() {
+    }
+
+    /**
+     * @param description Batch name used in log and error messages
+     * @param ids Unique IDs to look up
+     * @param maxConcurrency Maximum number of lookups in flight
+     * @param deadline The request deadline, or null to wait without a time limit
+     * @param lookup Starts one lookup
+     * @param onOutcome Receives exactly one outcome per ID, in completion order
+     * @throws ApplicationException if the calling thread is interrupted
+     */
+    static <R> void run(String description, List<String> ids, int maxConcurrency, RequestDeadline deadline,
+                        Lookup<R> lookup, Outcome<R> onOutcome) throws ApplicationException {
+        BlockingQueue<Completion<R>> completed = new LinkedBlockingQueue<>();
+        Map<Integer, List<CompletableFuture<?>>> inFlight = new HashMap<>();
+        int submitted = 0;
+        int delivered = 0;
+        int failures = 0;
+        long batchStart = System.nanoTime();
+        
+        logger.info("Starting {} of {} lookups with max concurrency {}", description, ids.size(), maxConcurrency);
+        
+        try {
+            while (true) {
+                while (inFlight.size() < maxConcurrency && submitted < ids.size()) {
+                    int index = submitted++;
+                    inFlight.put(index, start(description, index, ids.get(index), lookup, completed));
+                }
+                if (delivered == submitted) {
+                    break;
+                }
+                
+                Completion<R> completion = deadline == null
+                    ? completed.take()
+                    : completed.poll(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+                if (completion == null) {
+                    // Deadline passed: every lookup still pending or not yet started gets a timeout outcome
+                    logger.warn("Deadline of {}ms exceeded during {}; {} of {} lookups completed", 
+                               deadline.getBudgetMillis(), description, delivered, ids.size());
+                    inFlight.values().forEach(BoundedBatch::cancelAll);
+                    ApplicationException exceeded = deadline.exceeded(description);
+                    for (int index = 0; index < ids.size(); index++) {
+                        if (index >= submitted || inFlight.containsKey(index)) {
+                            onOutcome.accept(index, ids.get(index), null, exceeded, deadline.elapsedMillis());
+                            failures++;
+                            delivered++;
+                        }
+                    }
+                    break;
+                }
+                inFlight.remove(completion.index());
+                failures += completion.error() == null ? 0 : 1;
+                delivered++;
+                onOutcome.accept(completion.index(), ids.get(completion.index()), completion.result(), completion.error(), completion.elapsedMs());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inFlight.values().forEach(BoundedBatch::cancelAll);
+            throw new ApplicationException("Interrupted after " + delivered + " of " + ids.size() + " lookups of " + description, e);
+        } catch (RuntimeException e) {
+            // e.g. the client of a streamed batch went away: stop issuing upstream calls for it
+            inFlight.values().forEach(BoundedBatch::cancelAll);
+            throw e;
+        }
+        
+        logger.info("Completed {} of {} lookups ({} failed) in {} ms", 
+                   description, delivered, failures, (System.nanoTime() - batchStart) / 1_000_000);
+    }
+
+    private static <R> List<CompletableFuture<?>> start(String description, int index, String id, Lookup<R> lookup,
+                                                        BlockingQueue<Completion<R>> completed) {
+        long start = System.nanoTime();
+        // Lookups may register further futures from executor threads as later stages start
+        List<CompletableFuture<?>> cancellables = new CopyOnWriteArrayList<>();
+        CompletableFuture<R> future;
+        try {
+            future = lookup.start(id, cancellables);
+        } catch (RejectedExecutionException e) {
+            cancelAll(cancellables);
+            completed.add(new Completion<>(index, null, classify(description, id, e), (System.nanoTime() - start) / 1_000_000));
+            return List.of();
+        }
+        cancellables.add(future);
+        
+        future.whenComplete((result, error) -> {
+            if (error instanceof CancellationException || (error != null && error.getCause() instanceof CancellationException)) {
+                // Cancelled by the batch loop, which has already delivered an outcome for this ID
+                return;
+            }
+            completed.add(new Completion<>(index, error == null ? result : null,
+                error == null ? null : classify(description, id, error), (System.nanoTime() - start) / 1_000_000));
+        });
+        return cancellables;
+    }
+
+    /**
+     * Maps a lookup failure to the ApplicationException reported for its ID, keeping specific error codes
+     */
+    private static ApplicationException classify(String description, String id, Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof ApplicationException applicationException) {
+                return applicationException;
+            }
+            if (current instanceof RejectedExecutionException) {
+                logger.warn("Upstream executor rejected {} lookup for {}: {}", description, id, current.getMessage());
+                return new ApplicationException(ApplicationException.UPSTREAM_SATURATED,
+                    "Upstream capacity exhausted, retry later: " + current.getMessage(), current);
+            }
+        }
+        logger.error("Unexpected error in {} lookup for {}: {}", description, id, error.getMessage(), error);
+        return new ApplicationException("Unexpected error during " + description + ": " + error.getMessage(), error);
+    }
+
+    private static void cancelAll(List<CompletableFuture<?>> futures) {
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.dto.CaseDetailsDto;
+import com.clearance.tracker.dto.CaseDto;
+import com.clearance.tracker.dto.CaseHistoryResponseDto;
+import com.clearance.tracker.dto.CaseListResponseDto;
+import com.clearance.tracker.exception.ApplicationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * In-process cache for the case list, case details and case history lookups. Entries expire after a per-resource
+ * TTL and are evicted by weight (roughly one unit per case or history item). A case's details and history are
+ * invalidated as soon as a newer pxUpdateDateTime is observed for it in a case list or case details response, and a
+ * load that started before that observation is returned to its caller but not cached.
+ */
+public class CaseDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CaseDataCache.class);
+
+    private final boolean enabled;
+    private final Cache<String, CaseListResponseDto> casesList;
+    private final Cache<String, CaseDetailsDto> caseDetails;
+    private final Cache<String, CaseHistoryResponseDto> caseHistory;
+    // Latest pxUpdateDateTime seen per NBIS case ID; kept at least as long as any details/history entry
+    private final Cache<String, String> caseVersions;
+
+    public CaseDataCache(boolean enabled, Duration casesListTtl, Duration caseDetailsTtl, Duration caseHistoryTtl,
+                         long maxWeight, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.casesList = build(casesListTtl, maxWeight, (String subjectId, CaseListResponseDto list) -> weightOf(list));
+        this.caseDetails = build(caseDetailsTtl, maxWeight, (String nbisId, CaseDetailsDto details) -> weightOf(details));
+        this.caseHistory = build(caseHistoryTtl, maxWeight, (String nbisId, CaseHistoryResponseDto history) -> weightOf(history));
+        Duration longestTtl = caseDetailsTtl.compareTo(caseHistoryTtl) >= 0 ? caseDetailsTtl : caseHistoryTtl;
+        this.caseVersions = Caffeine.newBuilder()
+            .expireAfterWrite(longestTtl)
+            .maximumSize(maxWeight)
+            .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, casesList, "external.api.cases-list");
+            CaffeineCacheMetrics.monitor(meterRegistry, caseDetails, "external.api.case-details");
+            CaffeineCacheMetrics.monitor(meterRegistry, caseHistory, "external.api.case-history");
+        }
+        logger.info("Case data cache {}: casesListTtl={}, caseDetailsTtl={}, caseHistoryTtl={}, maxWeight={}",
+                   enabled ? "enabled" : "disabled", casesListTtl, caseDetailsTtl, caseHistoryTtl, maxWeight);
+    }
+
+    public CaseListResponseDto getAllCases(String subjectPersonaObjectId, Loader<CaseListResponseDto> loader) throws ApplicationException {
+        if (!enabled) {
+            return loader.load();
+        }
+        CaseListResponseDto cached = casesList.getIfPresent(subjectPersonaObjectId);
+        ServerTiming.mark("cache.cases-list", cached != null ? "hit" : "miss");
+        if (cached != null) {
+            return cached;
+        }
+        CaseListResponseDto loaded = loader.load();
+        if (loaded != null) {
+            storeCases(subjectPersonaObjectId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Non-blocking counterpart of getAllCases for the WebClient pipeline; the loader is only subscribed on a miss
+     */
+    public Mono<CaseListResponseDto> getAllCasesReactive(String subjectPersonaObjectId, Mono<CaseListResponseDto> loader) {
+        if (!enabled) {
+            return loader;
+        }
+        return Mono.defer(() -> {
+            CaseListResponseDto cached = casesList.getIfPresent(subjectPersonaObjectId);
+            ServerTiming.mark("cache.cases-list", cached != null ? "hit" : "miss");
+            return cached != null ? Mono.just(cached) : loader.doOnNext(loaded -> storeCases(subjectPersonaObjectId, loaded));
+        });
+    }
+
+    /**
+     * Returns the subject's cached case list without loading it, or null on a miss or when the cache is disabled
+     */
+    public CaseListResponseDto getCachedCases(String subjectPersonaObjectId) {
+        return enabled ? casesList.getIfPresent(subjectPersonaObjectId) : null;
+    }
+
+    public CaseDetailsDto getCaseDetails(String nbisId, Loader<CaseDetailsDto> loader) throws ApplicationException {
+        if (!enabled) {
+            return loader.load();
+        }
+        CaseDetailsDto cached = caseDetails.getIfPresent(nbisId);
+        ServerTiming.mark("cache.case-details", cached != null ? "hit" : "miss");
+        if (cached != null) {
+            return cached;
+        }
+        String versionBefore = knownVersion(nbisId);
+        CaseDetailsDto loaded = loader.load();
+        if (loaded != null) {
+            storeCaseDetails(nbisId, loaded, versionBefore);
+        }
+        return loaded;
+    }
+
+    /**
+     * Non-blocking counterpart of getCaseDetails for the WebClient pipeline; the loader is only subscribed on a miss
+     */
+    public Mono<CaseDetailsDto> getCaseDetailsReactive(String nbisId, Mono<CaseDetailsDto> loader) {
+        if (!enabled) {
+            return loader;
+        }
+        return Mono.defer(() -> {
+            CaseDetailsDto cached = caseDetails.getIfPresent(nbisId);
+            ServerTiming.mark("cache.case-details", cached != null ? "hit" : "miss");
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            String versionBefore = knownVersion(nbisId);
+            return loader.doOnNext(loaded -> storeCaseDetails(nbisId, loaded, versionBefore));
+        });
+    }
+
+    public CaseHistoryResponseDto getCaseHistory(String nbisId, Loader<CaseHistoryResponseDto> loader) throws ApplicationException {
+        if (!enabled) {
+            return loader.load();
+        }
+        CaseHistoryResponseDto cached = caseHistory.getIfPresent(nbisId);
+        ServerTiming.mark("cache.case-history", cached != null ? "hit" : "miss");
+        if (cached != null) {
+            return cached;
+        }
+        String versionBefore = knownVersion(nbisId);
+        CaseHistoryResponseDto loaded = loader.load();
+        if (loaded != null) {
+            storeCaseHistory(nbisId, loaded, versionBefore);
+        }
+        return loaded;
+    }
+
+    /**
+     * Non-blocking counterpart of getCaseHistory for the WebClient pipeline; the loader is only subscribed on a miss
+     */
+    public Mono<CaseHistoryResponseDto> getCaseHistoryReactive(String nbisId, Mono<CaseHistoryResponseDto> loader) {
+        if (!enabled) {
+            return loader;
+        }
+        return Mono.defer(() -> {
+            CaseHistoryResponseDto cached = caseHistory.getIfPresent(nbisId);
+            ServerTiming.mark("cache.case-history", cached != null ? "hit" : "miss");
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            String versionBefore = knownVersion(nbisId);
+            return loader.doOnNext(loaded -> storeCaseHistory(nbisId, loaded, versionBefore));
+        });
+    }
+
+    /**
+     * Whether both the details and the history of a case are cached, checked without affecting hit statistics
+     */
+    public boolean containsCase(String nbisId) {
+        return enabled
+            && caseDetails.policy().getIfPresentQuietly(nbisId) != null
+            && caseHistory.policy().getIfPresentQuietly(nbisId) != null;
+    }
+
+    /**
+     * Drops the cached details and history of one case, e.g. after it was updated through another channel
+     */
+    public void invalidateCase(String nbisId) {
+        caseDetails.invalidate(nbisId);
+        caseHistory.invalidate(nbisId);
+    }
+
+    public void invalidateAll() {
+        casesList.invalidateAll();
+        caseDetails.invalidateAll();
+        caseHistory.invalidateAll();
+        caseVersions.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void storeCases(String subjectPersonaObjectId, CaseListResponseDto loaded) {
+        if (loaded.getCases() != null) {
+            for (CaseDto caseItem : loaded.getCases()) {
+                observeVersion(caseItem.getNBISCaseID(), caseItem.getPxUpdateDateTime());
+            }
+        }
+        casesList.put(subjectPersonaObjectId, loaded);
+    }
+
+    private void storeCaseDetails(String nbisId, CaseDetailsDto loaded, String versionBefore) {
+        String loadedVersion = versionOf(loaded);
+        observeVersion(nbisId, loadedVersion);
+        if (isStale(nbisId, loadedVersion, versionBefore)) {
+            logger.debug("Not caching details of case {}: a newer pxUpdateDateTime was seen during the load", nbisId);
+        } else {
+            caseDetails.put(nbisId, loaded);
+        }
+    }
+
+    private void storeCaseHistory(String nbisId, CaseHistoryResponseDto loaded, String versionBefore) {
+        if (isStale(nbisId, null, versionBefore)) {
+            logger.debug("Not caching history of case {}: a newer pxUpdateDateTime was seen during the load", nbisId);
+        } else {
+            caseHistory.put(nbisId, loaded);
+        }
+    }
+
+    /**
+     * Records the pxUpdateDateTime seen for a case and invalidates its details and history when it moved forward
+     */
+    private void observeVersion(String nbisId, String pxUpdateDateTime) {
+        if (nbisId == null || pxUpdateDateTime == null) {
+            return;
+        }
+        String known = knownVersion(nbisId);
+        if (known != null && isNewer(pxUpdateDateTime, known)) {
+            logger.debug("Case {} updated ({} -> {}), invalidating cached details and history", nbisId, known, pxUpdateDateTime);
+            invalidateCase(nbisId);
+        }
+        if (known == null || isNewer(pxUpdateDateTime, known)) {
+            caseVersions.put(nbisId, pxUpdateDateTime);
+        }
+    }
+
+    private String knownVersion(String nbisId) {
+        String known = caseVersions.getIfPresent(nbisId);
+        return known != null ? known : versionOf(caseDetails.policy().getIfPresentQuietly(nbisId));
+    }
+
+    /**
+     * Whether a newer pxUpdateDateTime than the loaded one was observed while the load ran; observeVersion has then
+     * already invalidated the entry, and caching the load would put the outdated value back
+     * @param loadedVersion pxUpdateDateTime of the loaded value, or null when the value does not carry one
+     * @param versionBefore Version known when the load started, compared instead when loadedVersion is null
+     */
+    private boolean isStale(String nbisId, String loadedVersion, String versionBefore) {
+        String known = caseVersions.getIfPresent(nbisId);
+        if (known == null) {
+            return false;
+        }
+        if (loadedVersion != null) {
+            return isNewer(known, loadedVersion);
+        }
+        return versionBefore != null && isNewer(known, versionBefore);
+    }
+
+    private static String versionOf(CaseDetailsDto details) {
+        return details != null && details.getPyWorkPage() != null ? details.getPyWorkPage().getPxUpdateDateTime() : null;
+    }
+
+    private static boolean isNewer(String candidate, String known) {
+        try {
+            return Instant.parse(candidate).isAfter(Instant.parse(known));
+        } catch (DateTimeParseException e) {
+            // Non ISO-8601 values: fall back to lexical order, which matches the upstream timestamp format
+            return candidate.compareTo(known) > 0;
+        }
+    }
+
+    /**
+     * Cache weight of an upstream response body: one unit, plus one per case or history item it carries
+     */
+    static int weightOf(Object body) {
+        if (body instanceof CaseListResponseDto list) {
+            return 1 + (list.getCases() != null ? list.getCases().size() : 0);
+        }
+        if (body instanceof CaseHistoryResponseDto history) {
+            return 1 + (history.getHistory() != null ? history.getHistory().size() : 0);
+        }
+        return 1;
+    }
+
+    private static <V> Cache<String, V> build(Duration ttl, long maxWeight, Weigher<String, V> weigher) {
+        return Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumWeight(maxWeight)
+            .weigher(weigher)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Loads a value from upstream on a cache miss
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws ApplicationException;
+    }
+}
@@ -0,0 +1,186 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.dto.CaseDto;
+import com.clearance.tracker.dto.CaseListResponseDto;
+import com.clearance.tracker.dto.MetadataDto;
+import com.clearance.tracker.exception.ApplicationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Pagination of the upstream /api/v1/cases endpoint: page 1 is requested with the upstream defaults (25 cases per
+ * page) and its metadata tells how many pages follow. Upstreams that report only totalCases are paged by the
+ * reported or default page size; a first page holding every case means the list is not paginated.
+ */
+public final class CaseListPages {
+
+    private static final Logger logger = LoggerFactory.getLogger(CaseListPages.class);
+
+    /** Page size the upstream applies when the request does not specify one */
+    public static final int DEFAULT_PAGE_SIZE = 25;
+
+    @FunctionalInterface
+    public interface PageLoader {
+        /**
+         * @param page 1-based page number
+         * @param pageSize Page size to request, or null for the upstream default (page 1 only)
+         */
+        CaseListResponseDto load(int page, Integer pageSize) throws ApplicationException;
+    }
+
+    private CaseListPages() {
+    }
+
+    /**
+     * Number of pages the list has according to the first page's metadata, at least 1
+     */
+    public static int totalPages(CaseListResponseDto firstPage) {
+        MetadataDto metadata = firstPage.getMetadata();
+        if (metadata == null) {
+            return 1;
+        }
+        if (metadata.getTotalPages() != null && metadata.getTotalPages() > 0) {
+            return metadata.getTotalPages();
+        }
+        int returned = firstPage.getCases() != null ? firstPage.getCases().size() : 0;
+        if (metadata.getTotalCases() <= returned) {
+            return 1;
+        }
+        int pageSize = pageSize(firstPage);
+        return (metadata.getTotalCases() + pageSize - 1) / pageSize;
+    }
+
+    /**
+     * Page size the upstream used for the first page, to request the same size for the following pages
+     */
+    public static int pageSize(CaseListResponseDto firstPage) {
+        MetadataDto metadata = firstPage.getMetadata();
+        if (metadata != null && metadata.getPageSize() != null && metadata.getPageSize() > 0) {
+            return metadata.getPageSize();
+        }
+        return DEFAULT_PAGE_SIZE;
+    }
+
+    /**
+     * Concatenates pages (in page order) into one list response
+     */
+    public static CaseListResponseDto merge(List<CaseListResponseDto> pages) {
+        CaseListResponseDto firstPage = pages.get(0);
+        List<CaseDto> cases = new ArrayList<>();
+        for (CaseListResponseDto page : pages) {
+            if (page != null && page.getCases() != null) {
+                cases.addAll(page.getCases());
+            }
+        }
+        int totalCases = firstPage.getMetadata() != null ? Math.max(firstPage.getMetadata().getTotalCases(), cases.size()) : cases.size();
+        return new CaseListResponseDto(cases, new MetadataDto(totalCases, null, pageSize(firstPage), pages.size()));
+    }
+
+    /**
+     * Loads pages 2..lastPage with at most maxParallel loads at a time: the calling thread plus helpers on the
+     * executor, all claiming page numbers from a shared counter. The caller therefore finishes the work itself when
+     * the executor is saturated, and only ever waits for pages another thread is actively loading.
+     * @return The loaded pages, in page order
+     * @throws ApplicationException the first page failure, or DEADLINE_EXCEEDED when the deadline passes
+     */
+    static List<CaseListResponseDto> loadRemainingPages(int lastPage, int pageSize, int maxParallel, Executor executor,
+                                                        RequestDeadline deadline, PageLoader loader) throws ApplicationException {
+        RemainingPages remaining = new RemainingPages(lastPage, pageSize, loader);
+        for (int helper = 1; helper < Math.min(maxParallel, lastPage - 1); helper++) {
+            try {
+                executor.execute(() -> {
+                    try (RequestDeadline.Scope ignored = RequestDeadline.bind(deadline)) {
+                        remaining.loadUntilDone();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                logger.debug("Upstream executor rejected case list page helper, loading remaining pages on fewer threads: {}", e.getMessage());
+                break;
+            }
+        }
+        remaining.loadUntilDone();
+        return remaining.await(deadline);
+    }
+
+    private static final class RemainingPages {
+        private final int lastPage;
+        private final int pageSize;
+        private final PageLoader loader;
+        private final CaseListResponseDto[] pages;
+        private int nextPage = 2;
+        private int loading;
+        private ApplicationException failure;
+
+        RemainingPages(int lastPage, int pageSize, PageLoader loader) {
+            this.lastPage = lastPage;
+            this.pageSize = pageSize;
+            this.loader = loader;
+            this.pages = new CaseListResponseDto[lastPage - 1];
+        }
+
+        void loadUntilDone() {
+            int page;
+            while ((page = claim()) > 0) {
+                CaseListResponseDto loaded = null;
+                ApplicationException error = null;
+                try {
+                    loaded = loader.load(page, pageSize);
+                } catch (ApplicationException e) {
+                    error = e;
+                } catch (RuntimeException e) {
+                    error = new ApplicationException("Unexpected error loading case list page " + page + ": " + e.getMessage(), e);
+                }
+                complete(page, loaded, error);
+            }
+        }
+
+        private synchronized int claim() {
+            if (failure != null || nextPage > lastPage) {
+                return -1;
+            }
+            loading++;
+            return nextPage++;
+        }
+
+        private synchronized void complete(int page, CaseListResponseDto loaded, ApplicationException error) {
+            loading--;
+            if (error != null) {
+                if (failure == null) {
+                    failure = error;
+                }
+            } else {
+                pages[page - 2] = loaded;
+            }
+            notifyAll();
+        }
+
+        synchronized List<CaseListResponseDto> await(RequestDeadline deadline) throws ApplicationException {
+            try {
+                while (loading > 0 && failure == null) {
+                    if (deadline == null) {
+                        wait();
+                    } else if (deadline.isExpired()) {
+                        failure = deadline.exceeded("case list pages");
+                    } else {
+                        wait(Math.max(1, deadline.remainingMillis()));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = new ApplicationException("Interrupted while loading case list pages", e);
+            }
+            if (failure != null) {
+                // Stops helpers from claiming further pages
+                nextPage = lastPage + 1;
+                throw failure;
+            }
+            return Arrays.asList(pages);
+        }
+    }
+}
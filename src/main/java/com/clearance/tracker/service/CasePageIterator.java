@@ -0,0 +1,71 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.dto.CaseListResponseDto;
+import com.clearance.tracker.exception.ApplicationException;
+
+
+/**
+ * Reads a subject's case list one upstream page at a time, only when the caller asks for the next page, so a caller
+ * can hand each page on (e.g. stream it to the client) before the next one is fetched
+ */
+public class CasePageIterator {
+
+    private final CaseListPages.PageLoader loader;
+    private final int maxPages;
+    private CaseListResponseDto firstPage;
+    private int pagesRead;
+    private int totalPages = -1;
+    private int pageSize;
+
+    CasePageIterator(CaseListPages.PageLoader loader, int maxPages) {
+        this.loader = loader;
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * Iterates an already complete case list, e.g. one served from cache, as a single page
+     */
+    static CasePageIterator of(CaseListResponseDto caseList) {
+        CasePageIterator iterator = new CasePageIterator((page, pageSize) -> caseList, 1);
+        iterator.firstPage = caseList;
+        iterator.totalPages = 1;
+        return iterator;
+    }
+
+    public boolean hasNext() {
+        return totalPages < 0 || pagesRead < totalPages;
+    }
+
+    /**
+     * Loads the next page from upstream
+     * @return The next page, or null when the list has no further pages
+     */
+    public CaseListResponseDto next() throws ApplicationException {
+        if (!hasNext()) {
+            return null;
+        }
+        if (pagesRead == 0) {
+            CaseListResponseDto page = firstPage != null ? firstPage : loader.load(1, null);
+            pagesRead = 1;
+            if (page == null) {
+                totalPages = 1;
+                return null;
+            }
+            totalPages = Math.min(CaseListPages.totalPages(page), maxPages);
+            pageSize = CaseListPages.pageSize(page);
+            return page;
+        }
+        return loader.load(++pagesRead, pageSize);
+    }
+
+    public int getPagesRead() {
+        return pagesRead;
+    }
+
+    /**
+     * @return Number of pages the list has (capped at max-pages), or -1 before the first page was read
+     */
+    public int getTotalPages() {
+        return totalPages;
+    }
+}
@@ -0,0 +1,185 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.exception.ApplicationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Speculative warm-up of the case data cache: after a subject's case list is served, the details and history of the
+ * next few In Progress cases are loaded in the background so the portal's follow-up clicks are cache hits.
+ * Prefetches are low priority: at most maxInFlight run at once (further candidates are skipped, never queued), each
+ * runs under its own small deadline rather than the user's, and failures are only counted and logged.
+ * Metrics: external.api.prefetch.tasks{result=completed|failed|skipped}, external.api.prefetch.lookups{result=hit|miss}
+ * for case lookups made while prefetch is enabled, and external.api.prefetch.outcomes{result=used|unused} per
+ * prefetched case, which is the ratio to watch when tuning the candidate count.
+ */
+public class CasePrefetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CasePrefetcher.class);
+
+    private final boolean enabled;
+    private final int maxCandidates;
+    private final long budgetMillis;
+    private final Semaphore inFlight;
+    // Prefetched case IDs not yet looked up by a user; an entry leaving the cache any other way counts as unused
+    private final Cache<String, Boolean> prefetched;
+
+    private final Counter completed;
+    private final Counter failed;
+    private final Counter skipped;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter used;
+    private final Counter unused;
+
+    public CasePrefetcher(boolean enabled, int maxCandidates, int maxInFlight, long budgetMillis, Duration trackFor,
+                          MeterRegistry meterRegistry) {
+        this.enabled = enabled && maxCandidates > 0 && maxInFlight > 0;
+        this.maxCandidates = maxCandidates;
+        this.budgetMillis = budgetMillis;
+        this.inFlight = new Semaphore(Math.max(0, maxInFlight));
+        this.completed = tasks(meterRegistry, "completed");
+        this.failed = tasks(meterRegistry, "failed");
+        this.skipped = tasks(meterRegistry, "skipped");
+        this.hits = lookups(meterRegistry, "hit");
+        this.misses = lookups(meterRegistry, "miss");
+        this.used = outcomes(meterRegistry, "used");
+        this.unused = outcomes(meterRegistry, "unused");
+
+        this.prefetched = Caffeine.newBuilder()
+            .expireAfterWrite(trackFor)
+            .maximumSize(10_000)
+            .executor(Runnable::run)
+            .removalListener((String caseId, Boolean value, RemovalCause cause) -> {
+                if (cause.wasEvicted()) {
+                    unused.increment();
+                }
+            })
+            .build();
+
+        if (this.enabled) {
+            logger.info("Case prefetch enabled: maxCandidates={}, maxInFlight={}, budgetMs={}, trackFor={}",
+                       maxCandidates, maxInFlight, budgetMillis, trackFor);
+        }
+    }
+
+    /**
+     * A prefetcher that never prefetches, used when none is configured
+     */
+    public static CasePrefetcher disabled() {
+        return new CasePrefetcher(false, 0, 0, 0, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    /**
+     * Starts background loads for up to maxCandidates of the given cases, skipping any that would exceed the in-flight
+     * budget or that the executor rejects
+     * @param caseIds Candidate NBIS case IDs in priority order, already excluding cached cases
+     * @param executor Executor to run the loads on
+     * @param warmer Loads one case's details and history into the cache
+     */
+    public void prefetch(List<String> caseIds, Executor executor, Warmer warmer) {
+        if (!enabled) {
+            return;
+        }
+        for (String caseId : caseIds.subList(0, Math.min(maxCandidates, caseIds.size()))) {
+            if (!inFlight.tryAcquire()) {
+                skipped.increment();
+                logger.debug("Skipping prefetch of case {}: {} prefetches already in flight", caseId, inFlight.availablePermits());
+                continue;
+            }
+            try {
+                executor.execute(() -> warm(caseId, warmer));
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                skipped.increment();
+                logger.debug("Skipping prefetch of case {}: upstream executor saturated", caseId);
+            }
+        }
+    }
+
+    /**
+     * Records a user lookup of a case for the hit-rate metrics; call before the lookup is served
+     * @param caseId The NBIS case ID being looked up
+     * @param cached Whether the case's details and history are currently cached
+     */
+    public void recordLookup(String caseId, boolean cached) {
+        if (!enabled) {
+            return;
+        }
+        boolean wasPrefetched = prefetched.asMap().remove(caseId) != null;
+        if (wasPrefetched && cached) {
+            hits.increment();
+            used.increment();
+        } else {
+            misses.increment();
+            if (wasPrefetched) {
+                unused.increment();
+            }
+        }
+    }
+
+    private void warm(String caseId, Warmer warmer) {
+        // Not part of the triggering request: own deadline, and no Server-Timing entries on its response
+        try (RequestDeadline.Scope ignored = RequestDeadline.bind(RequestDeadline.after(budgetMillis, 1.0));
+             ServerTiming.Scope noTiming = ServerTiming.bind(null)) {
+            warmer.warm(caseId);
+            prefetched.put(caseId, Boolean.TRUE);
+            completed.increment();
+            logger.debug("Prefetched details and history for case {}", caseId);
+        } catch (ApplicationException | RuntimeException e) {
+            failed.increment();
+            logger.warn("Prefetch of case {} failed: {}", caseId, e.getMessage());
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private static Counter tasks(MeterRegistry meterRegistry, String result) {
+        return counter(meterRegistry, "external.api.prefetch.tasks", result, "Speculative case prefetches by result");
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return counter(meterRegistry, "external.api.prefetch.lookups", result,
+            "Case lookups by whether an earlier speculative prefetch had already cached the case");
+    }
+
+    private static Counter outcomes(MeterRegistry meterRegistry, String result) {
+        return counter(meterRegistry, "external.api.prefetch.outcomes", result,
+            "Prefetched cases by whether they were looked up while still cached");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String result, String description) {
+        return Counter.builder(name)
+            .description(description)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Loads one case into the cache
+     */
+    @FunctionalInterface
+    public interface Warmer {
+        void warm(String caseId) throws ApplicationException;
+    }
+}
@@ -0,0 +1,100 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.dto.CaseDetailsAndHistoryResponse;
+import com.clearance.tracker.dto.CaseDetailsDto;
+import com.clearance.tracker.dto.CaseDto;
+import com.clearance.tracker.dto.CaseHistoryDto;
+import com.clearance.tracker.dto.CaseHistoryResponseDto;
+import com.clearance.tracker.dto.CombinedCaseResponse;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Strong ETags for the case responses, derived from the upstream version fields (pxUpdateDateTime, status,
+ * history size and latest entry) rather than the serialized body, so a matching If-None-Match can be answered
+ * with 304 without serializing the response.
+ */
+@Component
+public class CaseResponseETags {
+
+    private static final char SEPARATOR = '|';
+
+    public String forCaseHistory(CombinedCaseResponse response) {
+        StringBuilder fingerprint = new StringBuilder("case-history").append(SEPARATOR).append(response.getSelectedCaseId());
+        List<CaseDto> cases = response.getCasesList() != null ? response.getCasesList().getCases() : null;
+        if (cases != null) {
+            for (CaseDto caseItem : cases) {
+                fingerprint.append(SEPARATOR).append(caseItem.getNBISCaseID())
+                    .append(SEPARATOR).append(caseItem.getDISAStatus())
+                    .append(SEPARATOR).append(caseItem.getPxUpdateDateTime());
+            }
+        }
+        appendDetails(fingerprint, response.getSelectedCaseDetails());
+        appendHistory(fingerprint, response.getCaseHistory());
+        return quotedDigest(fingerprint);
+    }
+
+    public String forCaseDetailsAndHistory(CaseDetailsAndHistoryResponse response) {
+        StringBuilder fingerprint = new StringBuilder("case-details-history").append(SEPARATOR).append(response.getCaseId());
+        appendDetails(fingerprint, response.getCaseDetails());
+        appendHistory(fingerprint, response.getCaseHistory());
+        return quotedDigest(fingerprint);
+    }
+
+    /**
+     * @param ifNoneMatch The If-None-Match request header, may be null
+     * @param eTag The current quoted ETag
+     * @return true if the client already holds this representation (weak comparison, as RFC 9110 requires for If-None-Match)
+     */
+    public boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*")) {
+                return true;
+            }
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendDetails(StringBuilder fingerprint, CaseDetailsDto details) {
+        if (details != null && details.getPyWorkPage() != null) {
+            fingerprint.append(SEPARATOR).append(details.getPyWorkPage().getNBISCaseID())
+                .append(SEPARATOR).append(details.getPyWorkPage().getDISAStatus())
+                .append(SEPARATOR).append(details.getPyWorkPage().getPxUpdateDateTime());
+        }
+    }
+
+    private static void appendHistory(StringBuilder fingerprint, CaseHistoryResponseDto history) {
+        List<CaseHistoryDto> items = history != null ? history.getHistory() : null;
+        int size = items != null ? items.size() : 0;
+        fingerprint.append(SEPARATOR).append(size);
+        if (size > 0) {
+            CaseHistoryDto latest = items.get(size - 1);
+            fingerprint.append(SEPARATOR).append(latest.getTime())
+                .append(SEPARATOR).append(latest.getDescription());
+        }
+    }
+
+    private static String quotedDigest(CharSequence fingerprint) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.clearance.tracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the per-request deadline from the client-supplied budget header, falling back to configuration
+ */
+@Component
+public class DeadlinePolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadlinePolicy.class);
+    public static final String DEADLINE_HEADER = "X-Request-Timeout-Ms";
+
+    @Value("${external.api.deadline.default-ms:8000}")
+    private long defaultBudgetMs;
+
+    @Value("${external.api.deadline.max-ms:30000}")
+    private long maxBudgetMs;
+
+    @Value("${external.api.deadline.list-stage-share:0.4}")
+    private double listStageShare;
+
+    @Value("${external.api.batch.deadline.default-ms:60000}")
+    private long batchDefaultBudgetMs;
+
+    @Value("${external.api.batch.deadline.max-ms:120000}")
+    private long batchMaxBudgetMs;
+
+    /**
+     * @param headerValue Value of the X-Request-Timeout-Ms header, may be null
+     * @return Deadline starting now, using the client budget when valid and capped at the configured maximum
+     */
+    public RequestDeadline resolve(String headerValue) {
+        return resolve(headerValue, defaultBudgetMs, maxBudgetMs);
+    }
+
+    /**
+     * Like resolve, but with the batch budget: a batch runs many lookups back to back under one deadline, so the
+     * single-lookup budget would time out all but the first few
+     * @param headerValue Value of the X-Request-Timeout-Ms header, may be null
+     * @return Deadline starting now, using the client budget when valid and capped at the configured batch maximum
+     */
+    public RequestDeadline resolveBatch(String headerValue) {
+        return resolve(headerValue, batchDefaultBudgetMs, batchMaxBudgetMs);
+    }
+
+    private RequestDeadline resolve(String headerValue, long defaultMs, long maxMs) {
+        long budgetMs = defaultMs;
+        if (headerValue != null && !headerValue.isBlank()) {
+            try {
+                long requestedMs = Long.parseLong(headerValue.trim());
+                if (requestedMs > 0) {
+                    budgetMs = Math.min(requestedMs, maxMs);
+                }
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid {} header value '{}', using default budget {}ms", DEADLINE_HEADER, headerValue, defaultMs);
+            }
+        }
+        return RequestDeadline.after(budgetMs, listStageShare);
+    }
+}
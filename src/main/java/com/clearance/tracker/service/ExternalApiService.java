@@ -1,64 +1,155 @@
 package com.clearance.tracker.service;
 
+import com.clearance.tracker.config.UpstreamExecutorConfig;
 import com.clearance.tracker.dto.CaseDetailsAndHistoryResponse;
 import com.clearance.tracker.dto.CaseDto;
 import com.clearance.tracker.dto.CaseDetailsDto;
+import com.clearance.tracker.dto.CaseDetailsHistoryBatchItem;
+import com.clearance.tracker.dto.CaseDetailsHistoryBatchResponse;
 import com.clearance.tracker.dto.CaseHistoryDto;
+import com.clearance.tracker.dto.CaseHistoryBatchItem;
+import com.clearance.tracker.dto.CaseHistoryBatchResponse;
 import com.clearance.tracker.dto.CaseHistoryItem;
 import com.clearance.tracker.dto.CaseHistoryResponseDto;
 import com.clearance.tracker.dto.CaseListResponseDto;
 import com.clearance.tracker.dto.CombinedCaseResponse;
 import com.clearance.tracker.dto.CurrentStatus;
+import com.clearance.tracker.dto.PyWorkPageDto;
 import com.clearance.tracker.dto.StatusHistoryItem;
 import com.clearance.tracker.exception.ApplicationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.PushbackInputStream;
+import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 @Service
-@Profile("!mock")
+@Profile("!mock & !reactive")
 public class ExternalApiService {
 
     private static final Logger logger = LoggerFactory.getLogger(ExternalApiService.class);
     private static final String IN_PROGRESS_STATUS = "In Progress";
 
+    // Stage names of the case-history pipeline, published as external.api.stage{pipeline,stage}
+    protected static final String CASE_HISTORY_PIPELINE = "case-history";
+    protected static final String STAGE_LIST = "list";
+    protected static final String STAGE_SELECT = "select";
+    protected static final String STAGE_FAN_OUT = "fan-out";
+    protected static final String STAGE_COMBINE = "combine";
+
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    @Qualifier(UpstreamExecutorConfig.UPSTREAM_EXECUTOR)
+    protected Executor upstreamExecutor;
+
+    @Autowired
+    protected UpstreamCallCoalescer callCoalescer;
+
+    @Autowired
+    protected CaseDataCache caseDataCache;
+
+    @Autowired
+    private UpstreamValidatorCache upstreamValidatorCache;
+
+    @Autowired
+    protected UpstreamGuard upstreamGuard;
+
+    @Autowired
+    protected PdfDiskCache pdfDiskCache;
+
+    @Autowired
+    protected CasePrefetcher casePrefetcher;
+
+    @Autowired
+    protected UpstreamMetrics upstreamMetrics;
+
     @Value("${external.api.base-url:http://localhost:8080}")
     private String baseUrl;
 
+    @Value("${external.api.pdf.stream-buffer-bytes:16384}")
+    protected int pdfStreamBufferBytes = 16384;
+
+    @Value("${external.api.cases-list.max-parallel-pages:4}")
+    protected int casesListMaxParallelPages = 4;
+
+    @Value("${external.api.cases-list.max-pages:400}")
+    protected int casesListMaxPages = 400;
+
+    @Value("${external.api.batch.max-concurrency:8}")
+    protected int batchMaxConcurrency = 8;
+
+    @Value("${external.api.batch.max-cases:200}")
+    protected int batchMaxCases = 200;
+
+    @Value("${external.api.batch.max-subjects:500}")
+    protected int batchMaxSubjects = 500;
+
     public CombinedCaseResponse getCaseHistory(String subjectPersonaObjectId) throws ApplicationException {
         logger.info("Starting complex case history retrieval process using external v1 APIs asynchronously for Subject Persona Object ID: {} on thread: {}", 
                    subjectPersonaObjectId, Thread.currentThread().getName());
         
-        try {
-            // Step 1: Call external /api/v1/cases to get case list for the subject
-            CaseListResponseDto caseListResponse = getAllCases(subjectPersonaObjectId);
+        try (UpstreamMetrics.Stages stages = upstreamMetrics.stages(CASE_HISTORY_PIPELINE, STAGE_LIST)) {
+            // Step 1: Call external /api/v1/cases to get case list for the subject, within the list stage share of the deadline
+            RequestDeadline deadline = RequestDeadline.current();
+            CaseListResponseDto caseListResponse;
+            try (RequestDeadline.Scope ignored = RequestDeadline.bind(deadline != null ? deadline.listStage() : null)) {
+                caseListResponse = getAllCases(subjectPersonaObjectId);
+            }
             
             // Step 2: Filter cases with "In Progress" status and pick first one
+            stages.next(STAGE_SELECT);
             String selectedCaseId = filterAndSelectFirstInProgressCaseFromV1(caseListResponse.getCases());
             
             // Step 3 & 4: Execute case details and history calls asynchronously using shared method
+            stages.next(STAGE_FAN_OUT);
             Object[] results = getCaseDetailsAndHistoryAsync(selectedCaseId);
             CaseDetailsDto caseDetails = (CaseDetailsDto) results[0];
             CaseHistoryResponseDto caseHistoryResponse = (CaseHistoryResponseDto) results[1];
             
+            // Warm the cache for the cases the user is likely to open next
+            stages.next(STAGE_COMBINE);
+            prefetchFollowingInProgressCases(caseListResponse.getCases(), selectedCaseId);
+            
             // Step 5: Combine all data and return
             CombinedCaseResponse response = new CombinedCaseResponse(caseListResponse, caseDetails, caseHistoryResponse, selectedCaseId);
+            stages.finish();
             
             logger.info("Successfully completed complex case history retrieval using v1 APIs asynchronously for Subject Persona Object ID: {} on thread: {}. Selected case: {}, Total cases: {}, History items: {}", 
                        subjectPersonaObjectId, Thread.currentThread().getName(), selectedCaseId, 
@@ -74,6 +165,7 @@ public class ExternalApiService {
             logger.error("Unexpected runtime error during async complex case history retrieval for Subject Persona Object ID: {}. Error: {}", subjectPersonaObjectId, e.getMessage(), e);
             throw new ApplicationException("Unexpected error during async v1 case history retrieval: " + e.getMessage(), e);
         } catch (Exception e) {
+            rethrowIfClassified(e);
             // This catches RestClientException and other exceptions from getAllCases call
             logger.error("Unexpected error during complex case history retrieval with v1 APIs for Subject Persona Object ID: {}. Error: {}", subjectPersonaObjectId, e.getMessage(), e);
             throw new ApplicationException("Unexpected error during v1 case history retrieval: " + e.getMessage(), e);
@@ -186,9 +278,18 @@ public class ExternalApiService {
 
 
     public byte[] getLatestPdf(String caseId) throws ApplicationException {
+        return guardedUpstreamCall("latest-pdf", caseId, () -> fetchLatestPdf(caseId));
+    }
+
+    /**
+     * Issues the upstream call; concurrent identical lookups are coalesced by getLatestPdf
+     */
+    protected byte[] fetchLatestPdf(String caseId) throws ApplicationException {
         String url = baseUrl + "/api/latest-pdf?caseId=" + caseId;
         logger.info("Calling external API to get latest PDF bytes for case {} from URL: {}", caseId, url);
         
+        checkDeadline("latest PDF");
+        
         try {
             ResponseEntity<byte[]> response = restTemplate.exchange(
                 url,
@@ -204,6 +305,7 @@ public class ExternalApiService {
             return pdfBytes;
             
         } catch (RestClientException e) {
+            throwIfDeadlineExceeded("latest PDF");
             logger.error("Failed to call external API for latest PDF bytes. Case: {}, URL: {}, Error: {}", 
                         caseId, url, e.getMessage(), e);
             throw new ApplicationException("External service call failed for latest PDF: " + e.getMessage(), e);
@@ -214,25 +316,216 @@ public class ExternalApiService {
         }
     }
 
+    /**
+     * Opens the latest PDF for streaming instead of buffering it, from the disk cache when it holds the PDF for the
+     * case's current pxUpdateDateTime/SFArchivalPDFExist, otherwise from upstream while populating the cache. The
+     * upstream connection and the latest-pdf bulkhead permit stay held until the returned stream is closed, so
+     * callers must always close it; closing it before the end aborts the upstream exchange instead of draining it.
+     * @param caseId The case whose latest PDF is requested
+     * @return The open PDF body, or null when upstream has no PDF for the case (404 or empty body)
+     * @throws ApplicationException if upstream fails or the latest-pdf circuit/bulkhead rejects the call
+     */
+    public UpstreamPdfStream openLatestPdf(String caseId) throws ApplicationException {
+        if (!pdfDiskCache.isEnabled()) {
+            return openLatestPdfFromUpstream(caseId);
+        }
+        String cacheKey = pdfCacheKey(caseId);
+        if (cacheKey == null) {
+            UpstreamPdfStream upstream = openLatestPdfFromUpstream(caseId);
+            return upstream != null ? pdfDiskCache.bypass(upstream) : null;
+        }
+        // The cache key changes with the case metadata, so it doubles as a strong validator for If-Range
+        String eTag = PdfDiskCache.eTag(cacheKey);
+        UpstreamPdfStream cached = pdfDiskCache.open(cacheKey);
+        if (cached != null) {
+            logger.info("Serving latest PDF for case {} from disk cache", caseId);
+            return cached.withETag(eTag);
+        }
+        UpstreamPdfStream upstream = openLatestPdfFromUpstream(caseId);
+        // A partial download (e.g. a Range request) leaves the cache empty; the whole PDF is then fetched once in the
+        // background rather than by reading the rest of this response on the request thread
+        return upstream != null
+            ? pdfDiskCache.populateWhileStreaming(cacheKey, upstream.withETag(eTag), () -> openLatestPdfFromUpstream(caseId), upstreamExecutor)
+            : null;
+    }
+
+    /**
+     * @return Disk cache key from the (cached) case metadata, or null when the metadata cannot be used to validate
+     *         a cached file, in which case the download goes straight to upstream
+     */
+    private String pdfCacheKey(String caseId) {
+        try {
+            CaseDetailsDto caseDetails = getCaseDetails(caseId);
+            PyWorkPageDto workPage = caseDetails != null ? caseDetails.getPyWorkPage() : null;
+            if (workPage == null || workPage.getPxUpdateDateTime() == null) {
+                return null;
+            }
+            return PdfDiskCache.key(caseId, workPage.getPxUpdateDateTime(), workPage.getSFArchivalPDFExist());
+        } catch (ApplicationException e) {
+            logger.warn("Case metadata unavailable for {}, bypassing PDF disk cache: {}", caseId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Opens the upstream latest-pdf response; openLatestPdf serves cached copies and populates the cache
+     */
+    protected UpstreamPdfStream openLatestPdfFromUpstream(String caseId) throws ApplicationException {
+        String url = baseUrl + "/api/latest-pdf?caseId=" + caseId;
+        logger.info("Opening streamed latest PDF for case {} from URL: {}", caseId, url);
+        
+        checkDeadline("latest PDF");
+        
+        UpstreamGuard.Permit permit = upstreamGuard.acquire("latest-pdf");
+        ClientHttpResponse response = null;
+        try {
+            ClientHttpRequest request = restTemplate.getRequestFactory().createRequest(URI.create(url), HttpMethod.GET);
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_PDF, MediaType.APPLICATION_OCTET_STREAM));
+            response = request.execute();
+            
+            HttpStatusCode status = response.getStatusCode();
+            if (status.value() == HttpStatus.NOT_FOUND.value()) {
+                permit.onSuccess();
+                closeQuietly(response, permit);
+                logger.info("Upstream has no latest PDF for case {}", caseId);
+                return null;
+            }
+            if (status.is4xxClientError()) {
+                throw new HttpClientErrorException(status);
+            }
+            if (!status.is2xxSuccessful()) {
+                throw new HttpServerErrorException(status);
+            }
+            
+            // Peek one byte so an empty 200 keeps mapping to "no PDF" before any response header is committed
+            PushbackInputStream body = new PushbackInputStream(response.getBody(), 1);
+            int firstByte = body.read();
+            permit.onSuccess();
+            if (firstByte == -1) {
+                closeQuietly(response, permit);
+                logger.info("Upstream returned an empty latest PDF for case {}", caseId);
+                return null;
+            }
+            body.unread(firstByte);
+            
+            long contentLength = response.getHeaders().getContentLength();
+            logger.info("Streaming latest PDF for case {}: {} bytes", caseId, contentLength >= 0 ? contentLength : "unknown");
+            ClientHttpResponse openResponse = response;
+            String upstreamETag = response.getHeaders().getETag();
+            return new UpstreamPdfStream(body, contentLength, pdfStreamBufferBytes, () -> closeQuietly(openResponse, permit))
+                .withETag(upstreamETag != null && !upstreamETag.startsWith("W/") ? upstreamETag : null);
+            
+        } catch (IOException | RestClientException e) {
+            permit.onError(e);
+            closeQuietly(response, permit);
+            throwIfDeadlineExceeded("latest PDF");
+            logger.error("Failed to open streamed latest PDF. Case: {}, URL: {}, Error: {}", caseId, url, e.getMessage(), e);
+            throw new ApplicationException("External service call failed for latest PDF: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            permit.onError(e);
+            closeQuietly(response, permit);
+            logger.error("Unexpected error opening streamed latest PDF. Case: {}, URL: {}, Error: {}", caseId, url, e.getMessage(), e);
+            throw new ApplicationException("Unexpected error during latest PDF retrieval: " + e.getMessage(), e);
+        }
+    }
+
+    private static void closeQuietly(ClientHttpResponse response, UpstreamGuard.Permit permit) {
+        try {
+            if (response != null) {
+                response.close();
+            }
+        } finally {
+            permit.close();
+        }
+    }
+
     public CaseListResponseDto getAllCases(String subjectPersonaObjectId) throws ApplicationException {
-        String url = baseUrl + "/api/v1/cases?subjectPersonaObjectId=" + subjectPersonaObjectId;
-        logger.info("Calling external API to get all cases for Subject Persona Object ID {} from URL: {}", subjectPersonaObjectId, url);
+        return caseDataCache.getAllCases(subjectPersonaObjectId, () -> fetchAllCasePages(subjectPersonaObjectId));
+    }
+
+    /**
+     * Opens the subject's case list for page-by-page reading: each page is requested from upstream only when the
+     * caller asks for it, unless the whole list is already cached
+     * @param subjectPersonaObjectId The subject to look up
+     * @return Iterator over the list's pages; pages are not cached individually
+     */
+    public CasePageIterator openCasePages(String subjectPersonaObjectId) {
+        CaseListResponseDto cached = caseDataCache.getCachedCases(subjectPersonaObjectId);
+        if (cached != null) {
+            return CasePageIterator.of(cached);
+        }
+        return new CasePageIterator((page, pageSize) -> getCasesPage(subjectPersonaObjectId, page, pageSize), casesListMaxPages);
+    }
+
+    /**
+     * Reads page 1 of the case list, then the remaining pages with at most max-parallel-pages requests at a time
+     */
+    private CaseListResponseDto fetchAllCasePages(String subjectPersonaObjectId) throws ApplicationException {
+        CaseListResponseDto firstPage = getCasesPage(subjectPersonaObjectId, 1, null);
+        if (firstPage == null) {
+            return null;
+        }
+        int totalPages = CaseListPages.totalPages(firstPage);
+        if (totalPages <= 1) {
+            return firstPage;
+        }
+        if (totalPages > casesListMaxPages) {
+            logger.warn("Case list of Subject Persona Object ID {} has {} pages; reading only the first {}", 
+                       subjectPersonaObjectId, totalPages, casesListMaxPages);
+            totalPages = casesListMaxPages;
+        }
+        
+        long start = System.nanoTime();
+        List<CaseListResponseDto> pages = new ArrayList<>(totalPages);
+        pages.add(firstPage);
+        pages.addAll(CaseListPages.loadRemainingPages(totalPages, CaseListPages.pageSize(firstPage), casesListMaxParallelPages,
+            upstreamExecutor, RequestDeadline.current(),
+            (page, pageSize) -> getCasesPage(subjectPersonaObjectId, page, pageSize)));
+        CaseListResponseDto caseList = CaseListPages.merge(pages);
+        
+        logger.info("Retrieved {} cases in {} pages for Subject Persona Object ID {} in {} ms", 
+                   caseList.getCases().size(), totalPages, subjectPersonaObjectId, (System.nanoTime() - start) / 1_000_000);
+        return caseList;
+    }
+
+    /**
+     * One guarded upstream page request; concurrent requests for the same page share one call
+     */
+    private CaseListResponseDto getCasesPage(String subjectPersonaObjectId, int page, Integer pageSize) throws ApplicationException {
+        String coalescingKey = page == 1 ? subjectPersonaObjectId : subjectPersonaObjectId + "#page=" + page;
+        return guardedUpstreamCall("cases-list", coalescingKey, () -> fetchCasesPage(subjectPersonaObjectId, page, pageSize));
+    }
+
+    /**
+     * Issues the upstream call for one page of the case list; getAllCases assembles the pages, serves cached
+     * results and coalesces concurrent identical misses
+     * @param page 1-based page number
+     * @param pageSize Page size to request, or null for page 1 with the upstream defaults
+     */
+    protected CaseListResponseDto fetchCasesPage(String subjectPersonaObjectId, int page, Integer pageSize) throws ApplicationException {
+        String url = baseUrl + "/api/v1/cases?subjectPersonaObjectId=" + subjectPersonaObjectId
+            + (pageSize != null ? "&page=" + page + "&pageSize=" + pageSize : "");
+        logger.info("Calling external API to get cases page {} for Subject Persona Object ID {} from URL: {}", page, subjectPersonaObjectId, url);
+        
+        checkDeadline("cases list");
         
         try {
             ResponseEntity<CaseListResponseDto> response = restTemplate.exchange(
                 url,
                 HttpMethod.GET,
-                null,
+                upstreamValidatorCache.conditionalRequest(url),
                 CaseListResponseDto.class
             );
             
-            CaseListResponseDto caseListResponse = response.getBody();
+            CaseListResponseDto caseListResponse = upstreamValidatorCache.resolve("cases-list", url, response, CaseListResponseDto.class,
+                () -> restTemplate.exchange(url, HttpMethod.GET, null, CaseListResponseDto.class));
             logger.info("Successfully retrieved {} cases for Subject Persona Object ID {} from external API", 
                        caseListResponse != null && caseListResponse.getCases() != null ? caseListResponse.getCases().size() : 0, subjectPersonaObjectId);
             
             return caseListResponse;
             
         } catch (RestClientException e) {
+            throwIfDeadlineExceeded("cases list");
             logger.error("Failed to call external API for cases list. Subject Persona Object ID: {}, URL: {}, Error: {}", 
                         subjectPersonaObjectId, url, e.getMessage(), e);
             throw new ApplicationException("External service call failed for cases list: " + e.getMessage(), e);
@@ -244,23 +537,35 @@ public class ExternalApiService {
     }
 
     public CaseDetailsDto getCaseDetails(String nbisId) throws ApplicationException {
+        return caseDataCache.getCaseDetails(nbisId,
+            () -> guardedUpstreamCall("case-details", nbisId, () -> fetchCaseDetails(nbisId)));
+    }
+
+    /**
+     * Issues the upstream call; getCaseDetails serves cached results and coalesces concurrent identical misses
+     */
+    protected CaseDetailsDto fetchCaseDetails(String nbisId) throws ApplicationException {
         String url = baseUrl + "/api/v1/cases/" + nbisId;
         logger.info("Calling external API to get case details for NBIS ID {} from URL: {}", nbisId, url);
         
+        checkDeadline("case details");
+        
         try {
             ResponseEntity<CaseDetailsDto> response = restTemplate.exchange(
                 url,
                 HttpMethod.GET,
-                null,
+                upstreamValidatorCache.conditionalRequest(url),
                 CaseDetailsDto.class
             );
             
-            CaseDetailsDto caseDetails = response.getBody();
+            CaseDetailsDto caseDetails = upstreamValidatorCache.resolve("case-details", url, response, CaseDetailsDto.class,
+                () -> restTemplate.exchange(url, HttpMethod.GET, null, CaseDetailsDto.class));
             logger.info("Successfully retrieved case details for NBIS ID {}", nbisId);
             
             return caseDetails;
             
         } catch (RestClientException e) {
+            throwIfDeadlineExceeded("case details");
             logger.error("Failed to call external API for case details. NBIS ID: {}, URL: {}, Error: {}", 
                         nbisId, url, e.getMessage(), e);
             throw new ApplicationException("External service call failed for case details: " + e.getMessage(), e);
@@ -272,24 +577,36 @@ public class ExternalApiService {
     }
 
     public CaseHistoryResponseDto getCaseHistoryFromV1Api(String nbisId) throws ApplicationException {
+        return caseDataCache.getCaseHistory(nbisId,
+            () -> guardedUpstreamCall("case-history", nbisId, () -> fetchCaseHistoryFromV1Api(nbisId)));
+    }
+
+    /**
+     * Issues the upstream call; getCaseHistoryFromV1Api serves cached results and coalesces concurrent identical misses
+     */
+    protected CaseHistoryResponseDto fetchCaseHistoryFromV1Api(String nbisId) throws ApplicationException {
         String url = baseUrl + "/api/v1/cases/" + nbisId + "/history";
         logger.info("Calling external API to get case history for NBIS ID {} from URL: {}", nbisId, url);
         
+        checkDeadline("case history");
+        
         try {
             ResponseEntity<CaseHistoryResponseDto> response = restTemplate.exchange(
                 url,
                 HttpMethod.GET,
-                null,
+                upstreamValidatorCache.conditionalRequest(url),
                 CaseHistoryResponseDto.class
             );
             
-            CaseHistoryResponseDto caseHistoryResponse = response.getBody();
+            CaseHistoryResponseDto caseHistoryResponse = upstreamValidatorCache.resolve("case-history", url, response, CaseHistoryResponseDto.class,
+                () -> restTemplate.exchange(url, HttpMethod.GET, null, CaseHistoryResponseDto.class));
             logger.info("Successfully retrieved {} history items for NBIS ID {}", 
                        caseHistoryResponse != null && caseHistoryResponse.getHistory() != null ? caseHistoryResponse.getHistory().size() : 0, nbisId);
             
             return caseHistoryResponse;
             
         } catch (RestClientException e) {
+            throwIfDeadlineExceeded("case history");
             logger.error("Failed to call external API for case history. NBIS ID: {}, URL: {}, Error: {}", 
                         nbisId, url, e.getMessage(), e);
             throw new ApplicationException("External service call failed for case history: " + e.getMessage(), e);
@@ -304,6 +621,8 @@ public class ExternalApiService {
         logger.info("Getting case details and history asynchronously for case ID: {} on thread: {}", 
                    caseId, Thread.currentThread().getName());
         
+        recordPrefetchLookup(caseId);
+        
         try {
             // Execute both API calls asynchronously using shared method
             Object[] results = getCaseDetailsAndHistoryAsync(caseId);
@@ -326,11 +645,213 @@ public class ExternalApiService {
             logger.error("Unexpected runtime error during async case details and history retrieval. Case: {}, Error: {}", caseId, e.getMessage(), e);
             throw new ApplicationException("Unexpected error during async case details and history retrieval: " + e.getMessage(), e);
         } catch (Exception e) {
+            rethrowIfClassified(e);
             logger.error("Unexpected error during async case details and history retrieval. Case: {}, Error: {}", caseId, e.getMessage(), e);
             throw new ApplicationException("Unexpected error during async case details and history retrieval: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Starts speculative background loads of the details and history of the In Progress cases after the selected one,
+     * once the selected case has been served so the prefetches never compete with it. Cases already cached are skipped.
+     * @param cases The subject's case list, in upstream order
+     * @param selectedCaseId The case whose details and history were just loaded
+     */
+    protected void prefetchFollowingInProgressCases(List<CaseDto> cases, String selectedCaseId) {
+        if (!casePrefetcher.isEnabled() || !caseDataCache.isEnabled() || cases == null) {
+            return;
+        }
+        List<String> candidates = cases.stream()
+            .filter(caseItem -> IN_PROGRESS_STATUS.equalsIgnoreCase(caseItem.getDISAStatus()))
+            .map(CaseDto::getNBISCaseID)
+            .filter(caseId -> caseId != null && !caseId.equals(selectedCaseId) && !caseDataCache.containsCase(caseId))
+            .distinct()
+            .limit(casePrefetcher.getMaxCandidates())
+            .toList();
+        if (!candidates.isEmpty()) {
+            logger.debug("Prefetching details and history for {} In Progress cases after {}", candidates.size(), selectedCaseId);
+            casePrefetcher.prefetch(candidates, upstreamExecutor, this::warmCase);
+        }
+    }
+
+    /**
+     * Counts a user lookup of one case towards the prefetch hit rate
+     */
+    protected void recordPrefetchLookup(String caseId) {
+        casePrefetcher.recordLookup(caseId, caseDataCache.containsCase(caseId));
+    }
+
+    private void warmCase(String caseId) throws ApplicationException {
+        getCaseDetails(caseId);
+        getCaseHistoryFromV1Api(caseId);
+    }
+
+    /**
+     * Retrieves details and history for many cases in one call, with at most max-concurrency cases in flight
+     * (two upstream calls each). A failed case is reported in its result entry instead of failing the batch.
+     * @param caseIds NBIS case IDs; duplicates are looked up once
+     * @return Results in the order the (deduplicated) case IDs were given
+     * @throws ApplicationException with INVALID_REQUEST when the ID list is empty, has blank IDs or exceeds max-cases
+     */
+    public CaseDetailsHistoryBatchResponse getCaseDetailsAndHistoryBatch(List<String> caseIds) throws ApplicationException {
+        List<String> uniqueCaseIds = normalizeBatchCaseIds(caseIds);
+        CaseDetailsHistoryBatchItem[] results = new CaseDetailsHistoryBatchItem[uniqueCaseIds.size()];
+        streamCaseDetailsAndHistoryBatch(uniqueCaseIds, item -> results[item.getIndex()] = item);
+        
+        int failed = (int) Arrays.stream(results).filter(item -> !item.isSuccess()).count();
+        return new CaseDetailsHistoryBatchResponse(results.length, results.length - failed, failed, Arrays.asList(results));
+    }
+
+    /**
+     * Runs a details/history batch and hands each case's result to onResult, on the calling thread, as soon as it
+     * completes. Further cases are started only while fewer than max-concurrency are in flight. When the bound request
+     * deadline passes, pending lookups are cancelled and every case without a result is reported as DEADLINE_EXCEEDED.
+     * @param caseIds NBIS case IDs; duplicates are looked up once
+     * @param onResult Receives exactly one item per unique case ID, in completion order
+     * @throws ApplicationException with INVALID_REQUEST for an invalid ID list, or if the calling thread is interrupted
+     */
+    public void streamCaseDetailsAndHistoryBatch(List<String> caseIds, Consumer<? super CaseDetailsHistoryBatchItem> onResult) throws ApplicationException {
+        List<String> uniqueCaseIds = normalizeBatchCaseIds(caseIds);
+        RequestDeadline deadline = RequestDeadline.current();
+        
+        BoundedBatch.run("case details and history batch", uniqueCaseIds, batchMaxConcurrency, deadline,
+            (caseId, cancellables) -> startCaseDetailsAndHistoryLookup(caseId, deadline, cancellables),
+            (index, caseId, result, error, elapsedMs) -> onResult.accept(error == null
+                ? CaseDetailsHistoryBatchItem.success(index, result, elapsedMs)
+                : CaseDetailsHistoryBatchItem.failure(index, caseId, error.getErrorCode(), error.getMessage(), elapsedMs)));
+    }
+
+    /**
+     * Runs the case history pipeline (case list, first In Progress case, details and history) for many subjects, with
+     * at most max-concurrency subjects in flight, and hands each subject's result to onResult, on the calling thread,
+     * as soon as it completes. Subjects whose selected case is the same share one details and history lookup. A
+     * failed subject is reported in its result item instead of aborting the batch.
+     * @param subjectPersonaObjectIds Subject IDs; duplicates are processed once
+     * @param onResult Receives exactly one item per unique subject ID, in completion order
+     * @throws ApplicationException with INVALID_REQUEST for an invalid ID list, or if the calling thread is interrupted
+     */
+    public void streamCaseHistoryBatch(List<String> subjectPersonaObjectIds, Consumer<? super CaseHistoryBatchItem> onResult) throws ApplicationException {
+        List<String> uniqueSubjectIds = normalizeBatchSubjectIds(subjectPersonaObjectIds);
+        RequestDeadline deadline = RequestDeadline.current();
+        Map<String, CompletableFuture<CaseDetailsAndHistoryResponse>> detailsAndHistoryByCaseId = new ConcurrentHashMap<>();
+        
+        BoundedBatch.run("case history batch", uniqueSubjectIds, batchMaxConcurrency, deadline,
+            (subjectId, cancellables) -> startCaseHistoryLookup(subjectId, deadline, detailsAndHistoryByCaseId, cancellables),
+            (index, subjectId, result, error, elapsedMs) -> onResult.accept(error == null
+                ? CaseHistoryBatchItem.success(index, subjectId, result, elapsedMs)
+                : CaseHistoryBatchItem.failure(index, subjectId, error.getErrorCode(), error.getMessage(), elapsedMs)));
+        
+        logger.info("Case history batch of {} subjects needed {} distinct details and history lookups", 
+                   uniqueSubjectIds.size(), detailsAndHistoryByCaseId.size());
+    }
+
+    /**
+     * Results of streamCaseHistoryBatch collected in the order the (deduplicated) subject IDs were given
+     */
+    public CaseHistoryBatchResponse getCaseHistoryBatch(List<String> subjectPersonaObjectIds) throws ApplicationException {
+        List<String> uniqueSubjectIds = normalizeBatchSubjectIds(subjectPersonaObjectIds);
+        CaseHistoryBatchItem[] results = new CaseHistoryBatchItem[uniqueSubjectIds.size()];
+        streamCaseHistoryBatch(uniqueSubjectIds, item -> results[item.getIndex()] = item);
+        
+        int failed = (int) Arrays.stream(results).filter(item -> !item.isSuccess()).count();
+        return new CaseHistoryBatchResponse(results.length, results.length - failed, failed, Arrays.asList(results));
+    }
+
+    /**
+     * Validates a batch of case IDs before any upstream call is made
+     * @param caseIds NBIS case IDs as received from the client
+     * @return The trimmed IDs with duplicates removed, in first-seen order
+     * @throws ApplicationException with INVALID_REQUEST when the list is empty, has blank IDs or exceeds max-cases
+     */
+    public List<String> normalizeBatchCaseIds(List<String> caseIds) throws ApplicationException {
+        return normalizeBatchIds(caseIds, "case", batchMaxCases);
+    }
+
+    /**
+     * Validates a batch of subject IDs before any upstream call is made
+     * @param subjectPersonaObjectIds Subject IDs as received from the client
+     * @return The trimmed IDs with duplicates removed, in first-seen order
+     * @throws ApplicationException with INVALID_REQUEST when the list is empty, has blank IDs or exceeds max-subjects
+     */
+    public List<String> normalizeBatchSubjectIds(List<String> subjectPersonaObjectIds) throws ApplicationException {
+        return normalizeBatchIds(subjectPersonaObjectIds, "subject", batchMaxSubjects);
+    }
+
+    private static List<String> normalizeBatchIds(List<String> ids, String kind, int maxIds) throws ApplicationException {
+        if (ids == null || ids.isEmpty()) {
+            throw new ApplicationException(ApplicationException.INVALID_REQUEST, "At least one " + kind + " ID is required");
+        }
+        Set<String> uniqueIds = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (id == null || id.isBlank()) {
+                throw new ApplicationException(ApplicationException.INVALID_REQUEST, "Batch " + kind + " IDs must not be blank");
+            }
+            uniqueIds.add(id.trim());
+        }
+        if (uniqueIds.size() > maxIds) {
+            throw new ApplicationException(ApplicationException.INVALID_REQUEST,
+                "Batch of " + uniqueIds.size() + " " + kind + "s exceeds the limit of " + maxIds);
+        }
+        return List.copyOf(uniqueIds);
+    }
+
+    /**
+     * Starts the details and history calls for one case on the upstream executor without waiting for them
+     */
+    private CompletableFuture<CaseDetailsAndHistoryResponse> startCaseDetailsAndHistoryLookup(String caseId, RequestDeadline deadline,
+                                                                                             List<CompletableFuture<?>> cancellables) {
+        CompletableFuture<CaseDetailsDto> caseDetailsFuture = CompletableFuture.supplyAsync(() -> {
+            try (RequestDeadline.Scope ignored = RequestDeadline.bind(deadline)) {
+                return getCaseDetails(caseId);
+            } catch (ApplicationException e) {
+                throw new CompletionException(e);
+            }
+        }, upstreamExecutor);
+        cancellables.add(caseDetailsFuture);
+        
+        CompletableFuture<CaseHistoryResponseDto> caseHistoryFuture = CompletableFuture.supplyAsync(() -> {
+            try (RequestDeadline.Scope ignored = RequestDeadline.bind(deadline)) {
+                return getCaseHistoryFromV1Api(caseId);
+            } catch (ApplicationException e) {
+                throw new CompletionException(e);
+            }
+        }, upstreamExecutor);
+        cancellables.add(caseHistoryFuture);
+        
+        return caseDetailsFuture.thenCombine(caseHistoryFuture,
+            (caseDetails, caseHistory) -> new CaseDetailsAndHistoryResponse(caseId, caseDetails, caseHistory));
+    }
+
+    /**
+     * Starts the case history pipeline for one subject: the case list call, then (from the executor thread that
+     * completes it) the details and history lookup of the selected case, shared with other subjects of the batch
+     */
+    private CompletableFuture<CombinedCaseResponse> startCaseHistoryLookup(String subjectPersonaObjectId, RequestDeadline deadline,
+                                                                          Map<String, CompletableFuture<CaseDetailsAndHistoryResponse>> detailsAndHistoryByCaseId,
+                                                                          List<CompletableFuture<?>> cancellables) {
+        CompletableFuture<CaseListResponseDto> caseListFuture = CompletableFuture.supplyAsync(() -> {
+            try (RequestDeadline.Scope ignored = RequestDeadline.bind(deadline)) {
+                return getAllCases(subjectPersonaObjectId);
+            } catch (ApplicationException e) {
+                throw new CompletionException(e);
+            }
+        }, upstreamExecutor);
+        cancellables.add(caseListFuture);
+        
+        return caseListFuture.thenCompose(caseList -> {
+            String selectedCaseId;
+            try {
+                selectedCaseId = filterAndSelectFirstInProgressCaseFromV1(caseList.getCases() != null ? caseList.getCases() : List.of());
+            } catch (ApplicationException e) {
+                throw new CompletionException(e);
+            }
+            CompletableFuture<CaseDetailsAndHistoryResponse> detailsAndHistory = detailsAndHistoryByCaseId.computeIfAbsent(selectedCaseId,
+                caseId -> startCaseDetailsAndHistoryLookup(caseId, deadline, cancellables));
+            return detailsAndHistory.thenApply(response -> new CombinedCaseResponse(caseList, response.getCaseDetails(),
+                                                                                    response.getCaseHistory(), selectedCaseId));
+        });
+    }
+
     /**
      * Private method to asynchronously retrieve case details and history for a given case ID
      * @param caseId The case ID to retrieve data for
@@ -341,10 +862,15 @@ public class ExternalApiService {
         logger.debug("Starting async retrieval for case details and history: {} on thread: {} (ID: {})", 
                    caseId, Thread.currentThread().getName(), Thread.currentThread().getId());
         
+        // Executor threads do not inherit the caller's deadline binding, so carry it into each task explicitly
+        RequestDeadline deadline = RequestDeadline.current();
+        CompletableFuture<CaseDetailsDto> caseDetailsFuture = null;
+        CompletableFuture<CaseHistoryResponseDto> caseHistoryFuture = null;
+        
         try {
             // Execute both API calls asynchronously
-            CompletableFuture<CaseDetailsDto> caseDetailsFuture = CompletableFuture.supplyAsync(() -> {
-                try {
+            caseDetailsFuture = CompletableFuture.supplyAsync(() -> {
+                try (RequestDeadline.Scope ignored = RequestDeadline.bind(deadline)) {
                     logger.debug("Starting async call for case details: {} on thread: {} (ID: {})", 
                                caseId, Thread.currentThread().getName(), Thread.currentThread().getId());
                     return getCaseDetails(caseId);
@@ -353,10 +879,10 @@ public class ExternalApiService {
                                caseId, Thread.currentThread().getName(), e.getMessage());
                     throw new RuntimeException("Case details retrieval failed", e);
                 }
-            });
+            }, upstreamExecutor);
             
-            CompletableFuture<CaseHistoryResponseDto> caseHistoryFuture = CompletableFuture.supplyAsync(() -> {
-                try {
+            caseHistoryFuture = CompletableFuture.supplyAsync(() -> {
+                try (RequestDeadline.Scope ignored = RequestDeadline.bind(deadline)) {
                     logger.debug("Starting async call for case history: {} on thread: {} (ID: {})", 
                                caseId, Thread.currentThread().getName(), Thread.currentThread().getId());
                     return getCaseHistoryFromV1Api(caseId);
@@ -365,17 +891,25 @@ public class ExternalApiService {
                                caseId, Thread.currentThread().getName(), e.getMessage());
                     throw new RuntimeException("Case history retrieval failed", e);
                 }
-            });
+            }, upstreamExecutor);
             
-            // Wait for both futures to complete and get results
+            // Wait for both futures, failing fast on the first error or when the deadline passes
             logger.debug("Waiting for async calls to complete on main thread: {} (ID: {})", 
                        Thread.currentThread().getName(), Thread.currentThread().getId());
+            awaitFanOut(deadline, caseId, caseDetailsFuture, caseHistoryFuture);
             CaseDetailsDto caseDetails = caseDetailsFuture.join();
             CaseHistoryResponseDto caseHistory = caseHistoryFuture.join();
             
             return new Object[]{caseDetails, caseHistory};
             
+        } catch (RejectedExecutionException e) {
+            cancelAll(caseDetailsFuture, caseHistoryFuture);
+            throw upstreamSaturated(caseId, e);
         } catch (RuntimeException e) {
+            ApplicationException classified = findApplicationException(e);
+            if (classified != null && classified.getErrorCode() != ApplicationException.DEFAULT_ERROR_CODE) {
+                throw classified;
+            }
             if (e.getCause() instanceof ApplicationException) {
                 throw (ApplicationException) e.getCause();
             }
@@ -383,4 +917,131 @@ public class ExternalApiService {
             throw new ApplicationException("Unexpected error during async retrieval: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Issues an upstream fetch through the per-endpoint circuit breaker and bulkhead, sharing it with concurrent
+     * identical lookups so coalesced callers consume a single bulkhead permit
+     */
+    private <T> T guardedUpstreamCall(String endpoint, String id, UpstreamCallCoalescer.UpstreamCall<T> fetch) throws ApplicationException {
+        return callCoalescer.execute(endpoint, id, () -> upstreamGuard.execute(endpoint, fetch));
+    }
+
+    /**
+     * Waits until every future completes, one fails, or the deadline passes. On failure or timeout the
+     * remaining futures are cancelled so queued tasks never start and no result is waited on needlessly.
+     * @param deadline The request deadline, or null to wait without a time limit
+     * @param lookupId The case or subject ID, used for logging and error messages
+     * @param futures The fan-out futures
+     * @throws ApplicationException with DEADLINE_EXCEEDED when the deadline passes first
+     */
+    protected void awaitFanOut(RequestDeadline deadline, String lookupId, CompletableFuture<?>... futures) throws ApplicationException {
+        CompletableFuture<Object> firstFailure = new CompletableFuture<>();
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((result, error) -> {
+                if (error != null) {
+                    firstFailure.completeExceptionally(error);
+                }
+            });
+        }
+        CompletableFuture<Object> outcome = CompletableFuture.anyOf(CompletableFuture.allOf(futures), firstFailure);
+        
+        FlightRecorderEvents.FanOutJoin joinEvent = new FlightRecorderEvents.FanOutJoin();
+        joinEvent.begin();
+        String joinOutcome = "failed";
+        try {
+            if (deadline == null) {
+                outcome.join();
+            } else {
+                outcome.get(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+            }
+            joinOutcome = "completed";
+        } catch (TimeoutException e) {
+            joinOutcome = "deadline-exceeded";
+            cancelAll(futures);
+            logger.warn("Deadline of {}ms exceeded waiting for fan-out for {}; cancelled pending upstream calls", 
+                       deadline.getBudgetMillis(), lookupId);
+            throw deadline.exceeded("details/history fan-out for " + lookupId);
+        } catch (InterruptedException e) {
+            joinOutcome = "interrupted";
+            Thread.currentThread().interrupt();
+            cancelAll(futures);
+            throw new ApplicationException("Interrupted while waiting for fan-out for " + lookupId, e);
+        } catch (ExecutionException | CompletionException e) {
+            cancelAll(futures);
+            throw new CompletionException(e.getCause());
+        } finally {
+            joinEvent.end();
+            if (joinEvent.shouldCommit()) {
+                joinEvent.lookupIdHash = FlightRecorderEvents.hashId(lookupId);
+                joinEvent.tasks = futures.length;
+                joinEvent.outcome = joinOutcome;
+                joinEvent.commit();
+            }
+        }
+    }
+
+    private static void cancelAll(CompletableFuture<?>... futures) {
+        for (CompletableFuture<?> future : futures) {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Finds the first ApplicationException in a cause chain, e.g. inside CompletionException/RuntimeException wrappers
+     */
+    protected static ApplicationException findApplicationException(Throwable throwable) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof ApplicationException applicationException) {
+                return applicationException;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fails before issuing an upstream call when the bound deadline has already passed
+     */
+    private void checkDeadline(String resource) throws ApplicationException {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null && deadline.isExpired()) {
+            throw deadline.exceeded(resource + " call");
+        }
+    }
+
+    /**
+     * Reclassifies an upstream failure (typically a response timeout capped at the remaining budget) as a deadline miss
+     */
+    private void throwIfDeadlineExceeded(String resource) throws ApplicationException {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null && deadline.isExpired()) {
+            logger.warn("Upstream {} call failed after request deadline of {}ms passed", resource, deadline.getBudgetMillis());
+            throw deadline.exceeded(resource + " call");
+        }
+    }
+
+    /**
+     * Maps an executor rejection to the error code the controller reports as 503 Service Unavailable
+     * @param lookupId The case or subject ID whose fan-out could not be scheduled
+     * @param e The rejection raised by the upstream executor
+     * @return ApplicationException carrying UPSTREAM_SATURATED
+     */
+    protected ApplicationException upstreamSaturated(String lookupId, RejectedExecutionException e) {
+        logger.warn("Upstream executor rejected fan-out for {}: {}", lookupId, e.getMessage());
+        return new ApplicationException(ApplicationException.UPSTREAM_SATURATED,
+            "Upstream capacity exhausted, retry later: " + e.getMessage(), e);
+    }
+
+    /**
+     * Rethrows exceptions that already carry a specific error code so generic wrapping does not downgrade them to 9999
+     * @param e The exception caught by a pipeline method
+     * @throws ApplicationException if e is an ApplicationException with a non-default error code
+     */
+    protected static void rethrowIfClassified(Exception e) throws ApplicationException {
+        if (e instanceof ApplicationException applicationException
+                && applicationException.getErrorCode() != ApplicationException.DEFAULT_ERROR_CODE) {
+            throw applicationException;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.clearance.tracker.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Java Flight Recorder events for the service's own work, so GC pauses, lock contention and allocation in a
+ * recording can be lined up with the upstream exchanges, fan-out waits and PDF renders they overlap with.
+ * Events cost little more than a flag check unless a recording with them enabled is running; fields are only filled
+ * in once shouldCommit() confirms the event will be written. Case IDs are recorded as a truncated SHA-256 so
+ * recordings can be shared without exposing them, while the same case still correlates across events.
+ */
+public final class FlightRecorderEvents {
+
+    public static final String CATEGORY = "Clearance Tracker";
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * @return The first 8 bytes of the ID's SHA-256 as hex, or null for a null ID
+     */
+    public static String hashId(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(id.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Name("com.clearance.tracker.UpstreamExchange")
+    @Label("Upstream Exchange")
+    @Description("One exchange with the upstream case API, from sending the request until the response body is closed")
+    @Category({CATEGORY, "Upstream"})
+    @StackTrace(false)
+    public static class UpstreamExchange extends Event {
+
+        @Label("Endpoint")
+        public String endpoint;
+
+        @Label("Case ID Hash")
+        @Description("Truncated SHA-256 of the case ID, for endpoints addressing a single case")
+        public String caseIdHash;
+
+        @Label("Status")
+        @Description("HTTP status code, or 0 when no response arrived")
+        public int status;
+
+        @Label("Outcome")
+        public String outcome;
+
+        @Label("Response Bytes")
+        @DataAmount
+        public long bytes;
+    }
+
+    @Name("com.clearance.tracker.FanOutJoin")
+    @Label("Fan-out Join Wait")
+    @Description("Time the request thread waited for its parallel upstream lookups")
+    @Category({CATEGORY, "Upstream"})
+    @StackTrace(false)
+    public static class FanOutJoin extends Event {
+
+        @Label("Lookup ID Hash")
+        @Description("Truncated SHA-256 of the case or subject ID being looked up")
+        public String lookupIdHash;
+
+        @Label("Tasks")
+        public int tasks;
+
+        @Label("Outcome")
+        @Description("completed, failed, deadline-exceeded or interrupted")
+        public String outcome;
+    }
+
+    @Name("com.clearance.tracker.PdfRender")
+    @Label("PDF Render")
+    @Description("One MockPdfGeneratorService.generatePdf render")
+    @Category({CATEGORY, "PDF"})
+    public static class PdfRender extends Event {
+
+        @Label("Case ID Hash")
+        public String caseIdHash;
+
+        @Label("Pages")
+        public int pages;
+
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+
+        @Label("Succeeded")
+        public boolean succeeded;
+    }
+}
@@ -17,6 +17,7 @@ import com.clearance.tracker.dto.StatusHistoryItem;
 import com.clearance.tracker.exception.ApplicationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
@@ -25,6 +26,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 @Profile("mock")
@@ -33,36 +36,48 @@ public class MockExternalApiService extends ExternalApiService {
     private static final Logger logger = LoggerFactory.getLogger(MockExternalApiService.class);
     private static final String IN_PROGRESS_STATUS = "In Progress";
 
+    @Value("${mock.service.latency-ms:0}")
+    private long simulatedLatencyMs;
+
     @Override
     public CombinedCaseResponse getCaseHistory(String subjectPersonaObjectId) throws ApplicationException {
         logger.info("Using MOCK service - Starting complex case history retrieval process asynchronously for Subject Persona Object ID: {} on thread: {}", 
                    subjectPersonaObjectId, Thread.currentThread().getName());
         
-        try {
+        try (UpstreamMetrics.Stages stages = upstreamMetrics.stages(CASE_HISTORY_PIPELINE, STAGE_LIST)) {
             // Step 1: Mock case list data for subject
-            CaseListResponseDto casesList = createMockCasesList(subjectPersonaObjectId);
+            CaseListResponseDto casesList = getAllCases(subjectPersonaObjectId);
             logger.info("Step 1 completed: Retrieved {} mock cases for Subject Persona Object ID: {}", 
                        casesList.getCases().size(), subjectPersonaObjectId);
             
             // Step 2: Filter cases with "In Progress" status and pick first one
+            stages.next(STAGE_SELECT);
             String selectedCaseId = filterAndSelectFirstInProgressCaseFromV1(casesList.getCases());
             
             // Step 3 & 4: Execute case details and history calls asynchronously using shared method
+            stages.next(STAGE_FAN_OUT);
             Object[] results = getMockCaseDetailsAndHistoryAsync(selectedCaseId);
             CaseDetailsDto caseDetails = (CaseDetailsDto) results[0];
             CaseHistoryResponseDto caseHistory = (CaseHistoryResponseDto) results[1];
             logger.info("Step 4 completed: Retrieved {} mock case history items for case {}", 
                        caseHistory.getHistory().size(), selectedCaseId);
             
+            stages.next(STAGE_COMBINE);
+            prefetchFollowingInProgressCases(casesList.getCases(), selectedCaseId);
+            
             // Step 5: Combine all mock data and return
             CombinedCaseResponse response = new CombinedCaseResponse(casesList, caseDetails, caseHistory, selectedCaseId);
+            stages.finish();
             
             logger.info("Successfully completed MOCK case history retrieval asynchronously for Subject Persona Object ID: {} on thread: {}. Selected case: {}, Total cases: {}, History items: {}", 
                        subjectPersonaObjectId, Thread.currentThread().getName(), selectedCaseId, casesList.getCases().size(), caseHistory.getHistory().size());
             
             return response;
             
+        } catch (RejectedExecutionException e) {
+            throw upstreamSaturated(subjectPersonaObjectId, e);
         } catch (Exception e) {
+            rethrowIfClassified(e);
             logger.error("Error in MOCK service during async case history retrieval. Error: {}", e.getMessage(), e);
             throw new ApplicationException("Mock service error during async case history retrieval: " + e.getMessage(), e);
         }
@@ -70,6 +85,7 @@ public class MockExternalApiService extends ExternalApiService {
 
     private CaseListResponseDto createMockCasesList(String subjectPersonaObjectId) {
         logger.info("Creating mock case list data for Subject Persona Object ID: {}", subjectPersonaObjectId);
+        simulateUpstreamLatency();
         
         List<CaseDto> cases = Arrays.asList(
             new CaseDto("25092CASE1329752", "In Progress", "272ad768-ea92-4972-a8a5-2c270fdddd33", 
@@ -90,6 +106,7 @@ public class MockExternalApiService extends ExternalApiService {
 
     private CaseDetailsDto createMockCaseDetails(String nbisId) {
         logger.info("Creating mock case details for NBIS ID: {}", nbisId);
+        simulateUpstreamLatency();
         
         EAppAccountInfoDto eAppInfo = new EAppAccountInfoDto(
             "Initiated/Untouched by Applicant", 
@@ -128,6 +145,7 @@ public class MockExternalApiService extends ExternalApiService {
 
     private CaseHistoryResponseDto createMockCaseHistoryResponse(String nbisId) {
         logger.info("Creating mock case history response for NBIS ID: {}", nbisId);
+        simulateUpstreamLatency();
         
         List<CaseHistoryDto> history = Arrays.asList(
             new CaseHistoryDto("2025-06-06T10:00:00Z", 
@@ -141,6 +159,20 @@ public class MockExternalApiService extends ExternalApiService {
         return new CaseHistoryResponseDto(nbisId, history);
     }
 
+    /**
+     * Blocks for mock.service.latency-ms to emulate upstream round trips when benchmarking locally
+     */
+    private void simulateUpstreamLatency() {
+        if (simulatedLatencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(simulatedLatencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private List<StatusHistoryItem> createMockStatusHistory(String caseId) {
         logger.info("Creating mock status history data for case: {}", caseId);
         return Arrays.asList(
@@ -217,7 +249,7 @@ public class MockExternalApiService extends ExternalApiService {
 
 
     @Override
-    public byte[] getLatestPdf(String caseId) throws ApplicationException {
+    protected byte[] fetchLatestPdf(String caseId) throws ApplicationException {
         logger.info("Using MOCK service - Getting latest PDF bytes for case: {}", caseId);
         
         try {
@@ -286,19 +318,30 @@ public class MockExternalApiService extends ExternalApiService {
 
 
     @Override
-    public CaseListResponseDto getAllCases(String subjectPersonaObjectId) throws ApplicationException {
-        logger.info("Using MOCK service - Getting all cases for Subject Persona Object ID: {}", subjectPersonaObjectId);
-        return createMockCasesList(subjectPersonaObjectId);
+    protected UpstreamPdfStream openLatestPdfFromUpstream(String caseId) throws ApplicationException {
+        logger.info("Using MOCK service - Opening streamed latest PDF for case: {}", caseId);
+        return UpstreamPdfStream.of(fetchLatestPdf(caseId), pdfStreamBufferBytes);
+    }
+
+    @Override
+    protected CaseListResponseDto fetchCasesPage(String subjectPersonaObjectId, int page, Integer pageSize) throws ApplicationException {
+        logger.info("Using MOCK service - Getting cases page {} for Subject Persona Object ID: {}", page, subjectPersonaObjectId);
+        CaseListResponseDto allCases = createMockCasesList(subjectPersonaObjectId);
+        int size = pageSize != null ? pageSize : CaseListPages.DEFAULT_PAGE_SIZE;
+        List<CaseDto> cases = allCases.getCases();
+        int totalPages = Math.max(1, (cases.size() + size - 1) / size);
+        List<CaseDto> pageCases = cases.subList(Math.min((page - 1) * size, cases.size()), Math.min(page * size, cases.size()));
+        return new CaseListResponseDto(pageCases, new MetadataDto(cases.size(), page, size, totalPages));
     }
 
     @Override
-    public CaseDetailsDto getCaseDetails(String nbisId) throws ApplicationException {
+    protected CaseDetailsDto fetchCaseDetails(String nbisId) throws ApplicationException {
         logger.info("Using MOCK service - Getting case details for NBIS ID: {}", nbisId);
         return createMockCaseDetails(nbisId);
     }
 
     @Override
-    public CaseHistoryResponseDto getCaseHistoryFromV1Api(String nbisId) throws ApplicationException {
+    protected CaseHistoryResponseDto fetchCaseHistoryFromV1Api(String nbisId) throws ApplicationException {
         logger.info("Using MOCK service - Getting case history for NBIS ID: {}", nbisId);
         return createMockCaseHistoryResponse(nbisId);
     }
@@ -308,6 +351,8 @@ public class MockExternalApiService extends ExternalApiService {
         logger.info("Using MOCK service - Getting case details and history asynchronously for case ID: {} on thread: {}", 
                    caseId, Thread.currentThread().getName());
         
+        recordPrefetchLookup(caseId);
+        
         try {
             // Execute both mock calls asynchronously using shared method
             Object[] results = getMockCaseDetailsAndHistoryAsync(caseId);
@@ -323,7 +368,10 @@ public class MockExternalApiService extends ExternalApiService {
             
             return response;
             
+        } catch (RejectedExecutionException e) {
+            throw upstreamSaturated(caseId, e);
         } catch (Exception e) {
+            rethrowIfClassified(e);
             logger.error("Error in MOCK service during async case details and history retrieval for case {}. Error: {}", caseId, e.getMessage(), e);
             throw new ApplicationException("Mock service error during async case details and history retrieval: " + e.getMessage(), e);
         }
@@ -333,30 +381,52 @@ public class MockExternalApiService extends ExternalApiService {
      * Private method to asynchronously retrieve mock case details and history for a given case ID
      * @param caseId The case ID to retrieve data for
      * @return Array containing [CaseDetailsDto, CaseHistoryResponseDto]
+     * @throws ApplicationException if either mock lookup fails or the request deadline passes before both complete
      */
-    private Object[] getMockCaseDetailsAndHistoryAsync(String caseId) {
+    private Object[] getMockCaseDetailsAndHistoryAsync(String caseId) throws ApplicationException {
         logger.debug("Starting async MOCK retrieval for case details and history: {} on thread: {} (ID: {})", 
                    caseId, Thread.currentThread().getName(), Thread.currentThread().getId());
         
-        // Execute both mock calls asynchronously
+        RequestDeadline deadline = RequestDeadline.current();
+        
+        // Execute both mock calls asynchronously, through the same coalesced lookups as the real service
         CompletableFuture<CaseDetailsDto> caseDetailsFuture = CompletableFuture.supplyAsync(() -> {
-            logger.debug("Starting async MOCK call for case details: {} on thread: {} (ID: {})", 
-                       caseId, Thread.currentThread().getName(), Thread.currentThread().getId());
-            return createMockCaseDetails(caseId);
-        });
+            try (RequestDeadline.Scope ignored = RequestDeadline.bind(deadline)) {
+                logger.debug("Starting async MOCK call for case details: {} on thread: {} (ID: {})", 
+                           caseId, Thread.currentThread().getName(), Thread.currentThread().getId());
+                return getCaseDetails(caseId);
+            } catch (ApplicationException e) {
+                throw new CompletionException(e);
+            }
+        }, upstreamExecutor);
         
         CompletableFuture<CaseHistoryResponseDto> caseHistoryFuture = CompletableFuture.supplyAsync(() -> {
-            logger.debug("Starting async MOCK call for case history: {} on thread: {} (ID: {})", 
-                       caseId, Thread.currentThread().getName(), Thread.currentThread().getId());
-            return createMockCaseHistoryResponse(caseId);
-        });
+            try (RequestDeadline.Scope ignored = RequestDeadline.bind(deadline)) {
+                logger.debug("Starting async MOCK call for case history: {} on thread: {} (ID: {})", 
+                           caseId, Thread.currentThread().getName(), Thread.currentThread().getId());
+                return getCaseHistoryFromV1Api(caseId);
+            } catch (ApplicationException e) {
+                throw new CompletionException(e);
+            }
+        }, upstreamExecutor);
         
-        // Wait for both futures to complete and get results
+        // Wait for both futures, failing fast on the first error or when the deadline passes
         logger.debug("MOCK service - Waiting for async calls to complete on main thread: {} (ID: {})", 
                    Thread.currentThread().getName(), Thread.currentThread().getId());
-        CaseDetailsDto caseDetails = caseDetailsFuture.join();
-        CaseHistoryResponseDto caseHistory = caseHistoryFuture.join();
+        CaseDetailsDto caseDetails;
+        CaseHistoryResponseDto caseHistory;
+        try {
+            awaitFanOut(deadline, caseId, caseDetailsFuture, caseHistoryFuture);
+            caseDetails = caseDetailsFuture.join();
+            caseHistory = caseHistoryFuture.join();
+        } catch (CompletionException e) {
+            ApplicationException cause = findApplicationException(e);
+            if (cause != null) {
+                throw cause;
+            }
+            throw e;
+        }
         
         return new Object[]{caseDetails, caseHistory};
     }
-}
\ No newline at end of file
+}
@@ -1,97 +1,192 @@
 package com.clearance.tracker.service;
 
+import com.clearance.tracker.config.PdfRenderConfig;
 import com.clearance.tracker.dto.PdfContent;
+import com.clearance.tracker.dto.PdfRenderResult;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.properties.TextAlignment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
-import java.time.format.DateTimeFormatter;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class MockPdfGeneratorService {
 
     private static final Logger logger = LoggerFactory.getLogger(MockPdfGeneratorService.class);
 
+    @Autowired
+    @Qualifier(PdfRenderConfig.PDF_RENDER_EXECUTOR)
+    private Executor pdfRenderExecutor;
+
+    // Documents submitted to the pool but not yet handed to the caller; bounds memory and how far ahead the input is read
+    @Value("${pdf.render.max-in-flight:32}")
+    private int maxInFlight;
+
+    /**
+     * Order in which batch results are handed to the caller
+     */
+    public enum BatchOrder {
+        /** Same order as the input; a slow document holds back the ones after it (up to max-in-flight) */
+        SUBMISSION,
+        /** As soon as each document finishes */
+        COMPLETION
+    }
+
+    /**
+     * Renders a batch on the PDF render pool
+     * @param documents The documents to render
+     * @return One result per document, in input order; a failed document does not fail the batch
+     */
+    public List<PdfRenderResult> generatePdfs(Collection<PdfContent> documents) {
+        List<PdfRenderResult> results = new ArrayList<>(documents.size());
+        generatePdfs(documents.stream(), BatchOrder.SUBMISSION, results::add);
+        return results;
+    }
+
+    /**
+     * Renders a batch on the PDF render pool, pulling documents from the stream only while fewer than max-in-flight
+     * are rendering or waiting to be delivered, so arbitrarily large (or lazily produced) batches run in bounded memory.
+     * Results are delivered on the calling thread.
+     * @param documents The documents to render; consumed lazily
+     * @param order Whether results are delivered in input order or as they finish
+     * @param onResult Receives one result per document; a failed document is reported here instead of thrown
+     */
+    public void generatePdfs(Stream<PdfContent> documents, BatchOrder order, Consumer<PdfRenderResult> onResult) {
+        Iterator<PdfContent> input = documents.iterator();
+        BlockingQueue<PdfRenderResult> completed = new LinkedBlockingQueue<>();
+        Map<Integer, PdfRenderResult> waitingForEarlier = new HashMap<>();
+        int submitted = 0;
+        int delivered = 0;
+        long batchStart = System.nanoTime();
+        int failures = 0;
+
+        while (true) {
+            while (submitted - delivered < maxInFlight && input.hasNext()) {
+                PdfContent pdfContent = input.next();
+                int index = submitted++;
+                pdfRenderExecutor.execute(() -> {
+                    // Even an Error in the worker must produce a result, or this loop would wait for it forever
+                    PdfRenderResult result = PdfRenderResult.failure(index, pdfContent, "Rendering aborted", 0);
+                    try {
+                        result = renderIsolated(index, pdfContent);
+                    } finally {
+                        completed.add(result);
+                    }
+                });
+            }
+            if (delivered == submitted) {
+                break;
+            }
+
+            PdfRenderResult result;
+            try {
+                result = completed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("PDF batch interrupted after " + delivered + " of " + submitted + " documents", e);
+            }
+            if (order == BatchOrder.COMPLETION) {
+                failures += result.isSuccess() ? 0 : 1;
+                onResult.accept(result);
+                delivered++;
+                continue;
+            }
+            waitingForEarlier.put(result.getIndex(), result);
+            PdfRenderResult next;
+            while ((next = waitingForEarlier.remove(delivered)) != null) {
+                failures += next.isSuccess() ? 0 : 1;
+                onResult.accept(next);
+                delivered++;
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - batchStart) / 1_000_000;
+        logger.info("Rendered PDF batch of {} documents ({} failed) in {} ms", delivered, failures, elapsedMs);
+    }
+
+    private PdfRenderResult renderIsolated(int index, PdfContent pdfContent) {
+        long start = System.nanoTime();
+        try {
+            byte[] pdf = generatePdf(pdfContent);
+            return PdfRenderResult.success(index, pdfContent, pdf, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            return PdfRenderResult.failure(index, pdfContent, e.getMessage() != null ? e.getMessage() : e.toString(),
+                                           (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
     public byte[] generatePdf(PdfContent pdfContent) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        generatePdf(pdfContent, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Renders the document straight into the given stream, e.g. an HTTP response or a file, without holding the whole
+     * PDF on the heap: iText flushes each page to the stream as soon as it is laid out. The stream is flushed but not
+     * closed. If rendering fails part way, the bytes already written are left in the stream.
+     * @param pdfContent The document to render
+     * @param out Destination of the PDF bytes
+     * @return Number of bytes written
+     */
+    public long generatePdf(PdfContent pdfContent, OutputStream out) {
         logger.info("Generating PDF for document: {} (Case: {})", pdfContent.getDocumentName(), pdfContent.getCaseId());
         
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(baos);
+        FlightRecorderEvents.PdfRender renderEvent = new FlightRecorderEvents.PdfRender();
+        renderEvent.begin();
+        PdfWriter writer = null;
+        int pages = 0;
+        boolean succeeded = false;
+        try {
+            writer = new PdfWriter(out);
+            writer.setCloseStream(false);
             PdfDocument pdfDoc = new PdfDocument(writer);
             Document document = new Document(pdfDoc);
 
-            // Add document header
-            document.add(new Paragraph(pdfContent.getDocumentName())
-                .setFontSize(18)
-                .setBold()
-                .setTextAlignment(TextAlignment.CENTER));
-
-            document.add(new Paragraph("\n"));
-
-            // Add document metadata
-            document.add(new Paragraph("Document Type: " + pdfContent.getDocumentType())
-                .setFontSize(12));
-            document.add(new Paragraph("Case ID: " + pdfContent.getCaseId())
-                .setFontSize(12));
-            document.add(new Paragraph("File Name: " + pdfContent.getFileName())
-                .setFontSize(12));
-            
-            if (pdfContent.getUploadDate() != null) {
-                document.add(new Paragraph("Upload Date: " + 
-                    pdfContent.getUploadDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                    .setFontSize(12));
-            }
-            
-            if (pdfContent.getUploadedBy() != null) {
-                document.add(new Paragraph("Uploaded By: " + pdfContent.getUploadedBy())
-                    .setFontSize(12));
-            }
-            
-            document.add(new Paragraph("Status: " + pdfContent.getStatus())
-                .setFontSize(12));
-
-            document.add(new Paragraph("\n" + "─".repeat(80) + "\n")
-                .setFontSize(10));
-
-            // Add document content
-            String[] lines = pdfContent.getContent().split("\n");
-            for (String line : lines) {
-                if (line.trim().isEmpty()) {
-                    document.add(new Paragraph(" ").setFontSize(8));
-                } else if (line.trim().matches("^[A-Z\\s]+:?$")) {
-                    // Headers in all caps
-                    document.add(new Paragraph(line)
-                        .setFontSize(14)
-                        .setBold());
-                } else if (line.startsWith("SECTION ") || line.startsWith("CONCLUSION") || 
-                          line.startsWith("FINDINGS") || line.startsWith("RECOMMENDATA")) {
-                    // Section headers
-                    document.add(new Paragraph(line)
-                        .setFontSize(12)
-                        .setBold());
-                } else {
-                    // Regular content
-                    document.add(new Paragraph(line)
-                        .setFontSize(10));
-                }
-            }
+            PdfContentTemplate.render(pdfContent, document);
 
+            // Layout has placed every page by now; the count is unavailable once the document is closed
+            pages = pdfDoc.getNumberOfPages();
             document.close();
+            out.flush();
+            long written = writer.getCurrentPos();
             logger.info("Successfully generated PDF for document: {} ({} bytes)", 
-                       pdfContent.getDocumentName(), baos.size());
+                       pdfContent.getDocumentName(), written);
             
-            return baos.toByteArray();
+            succeeded = true;
+            return written;
             
         } catch (Exception e) {
             logger.error("Error generating PDF for document: {} (Case: {}). Error: {}", 
                         pdfContent.getDocumentName(), pdfContent.getCaseId(), e.getMessage(), e);
             throw new RuntimeException("Failed to generate PDF: " + e.getMessage(), e);
+        } finally {
+            renderEvent.end();
+            if (renderEvent.shouldCommit()) {
+                renderEvent.caseIdHash = FlightRecorderEvents.hashId(pdfContent.getCaseId());
+                renderEvent.pages = pages;
+                renderEvent.bytes = writer != null ? writer.getCurrentPos() : 0;
+                renderEvent.succeeded = succeeded;
+                renderEvent.commit();
+            }
         }
     }
 }
\ No newline at end of file
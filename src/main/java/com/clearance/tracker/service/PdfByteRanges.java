@@ -0,0 +1,152 @@
+package com.clearance.tracker.service;
+
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A 206 Partial Content body: the requested byte ranges of an open PDF, written as the bare slice for a single range
+ * or as multipart/byteranges for several. Only the requested bytes are copied; a cached PDF is read at each range's
+ * offset, a streamed one is skipped forward to it.
+ */
+public class PdfByteRanges {
+
+    private final UpstreamPdfStream pdf;
+    private final List<Slice> slices;
+    private final String boundary;
+
+    public PdfByteRanges(UpstreamPdfStream pdf, List<Slice> slices) {
+        this.pdf = pdf;
+        this.slices = List.copyOf(slices);
+        this.boundary = slices.size() > 1 ? MimeTypeUtils.generateMultipartBoundaryString() : null;
+    }
+
+    /**
+     * Resolves a Range header against the PDF size
+     * @param rangeHeader The Range request header
+     * @param length Total PDF size in bytes
+     * @return The satisfiable ranges in request order (empty when none is satisfiable, which calls for 416), or null
+     *         when the header is malformed or not a byte range and should be ignored
+     */
+    public static List<Slice> parse(String rangeHeader, long length) {
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        List<Slice> slices = new ArrayList<>(ranges.size());
+        for (HttpRange range : ranges) {
+            long start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+            if (start < length && start <= end) {
+                slices.add(new Slice(start, end));
+            }
+        }
+        return slices;
+    }
+
+    /**
+     * @return true if the slices can be served from a forward-only stream: ascending and non-overlapping
+     */
+    public static boolean isForwardOnly(List<Slice> slices) {
+        for (int i = 1; i < slices.size(); i++) {
+            if (slices.get(i).start() <= slices.get(i - 1).end()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if no two slices overlap in any order, which also bounds the bytes sent by the PDF size;
+     *         overlapping ranges such as bytes=0-,0-,0- would otherwise send a seekable PDF once per range
+     */
+    public static boolean isDisjoint(List<Slice> slices) {
+        return isForwardOnly(slices.stream().sorted(Comparator.comparingLong(Slice::start)).toList());
+    }
+
+    public UpstreamPdfStream getPdf() {
+        return pdf;
+    }
+
+    public boolean isMultipart() {
+        return boundary != null;
+    }
+
+    public MediaType getContentType() {
+        return isMultipart() ? new MediaType("multipart", "byteranges", Map.of("boundary", boundary))
+                             : MediaType.APPLICATION_PDF;
+    }
+
+    /**
+     * @return Content-Range value for a single range, e.g. "bytes 0-1023/4096"
+     */
+    public String getContentRange() {
+        return contentRange(slices.get(0));
+    }
+
+    /**
+     * @return Exact response size, including part headers and boundaries for multipart/byteranges
+     */
+    public long getContentLength() {
+        if (!isMultipart()) {
+            return slices.get(0).length();
+        }
+        long total = 0;
+        for (Slice slice : slices) {
+            total += partHeader(slice).length + slice.length();
+        }
+        return total + closingDelimiter().length;
+    }
+
+    /**
+     * Writes the ranges; nothing after the last range is read, so closing the PDF afterwards abandons the rest
+     * @return Number of PDF bytes written, excluding multipart framing
+     */
+    public long writeTo(OutputStream out) throws IOException {
+        long written = 0;
+        for (Slice slice : slices) {
+            if (isMultipart()) {
+                out.write(partHeader(slice));
+            }
+            written += pdf.transferRange(out, slice.start(), slice.length());
+        }
+        if (isMultipart()) {
+            out.write(closingDelimiter());
+        }
+        out.flush();
+        return written;
+    }
+
+    private byte[] partHeader(Slice slice) {
+        return ("\r\n--" + boundary + "\r\n"
+            + "Content-Type: " + MediaType.APPLICATION_PDF_VALUE + "\r\n"
+            + "Content-Range: " + contentRange(slice) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private byte[] closingDelimiter() {
+        return ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private String contentRange(Slice slice) {
+        return "bytes " + slice.start() + "-" + slice.end() + "/" + pdf.getContentLength();
+    }
+
+    /**
+     * An inclusive byte range, as in the Range and Content-Range headers
+     */
+    public record Slice(long start, long end) {
+        public long length() {
+            return end - start + 1;
+        }
+    }
+}
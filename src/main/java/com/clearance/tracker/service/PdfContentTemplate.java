@@ -0,0 +1,117 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.dto.PdfContent;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.properties.TextAlignment;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The PdfContent document layout, compiled once: paragraph styles and the date format are built at class load and
+ * shared by every render, and each content line is classified in a single pass without regular expressions. Styles
+ * are only read while rendering, so concurrent renders (e.g. batch rendering) can share them safely. Fonts are not
+ * shared because iText binds a PdfFont to one PdfDocument; the layout uses the standard font throughout.
+ */
+final class PdfContentTemplate {
+
+    private static final DateTimeFormatter UPLOAD_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final Style TITLE = new Style().setFontSize(18).setBold().setTextAlignment(TextAlignment.CENTER);
+    private static final Style METADATA = new Style().setFontSize(12);
+    private static final Style RULE = new Style().setFontSize(10);
+    private static final Style BLANK_LINE = new Style().setFontSize(8);
+    private static final Style HEADER_LINE = new Style().setFontSize(14).setBold();
+    private static final Style SECTION_LINE = new Style().setFontSize(12).setBold();
+    private static final Style BODY_LINE = new Style().setFontSize(10);
+
+    private static final String RULE_TEXT = "\n" + "─".repeat(80) + "\n";
+    private static final String[] SECTION_PREFIXES = {"SECTION ", "CONCLUSION", "FINDINGS", "RECOMMENDATA"};
+
+    enum LineKind {
+        BLANK,
+        /** All capitals and whitespace, optionally ending in a colon */
+        HEADER,
+        /** Starts with a section keyword, e.g. "SECTION 2: EMPLOYMENT HISTORY" */
+        SECTION,
+        BODY
+    }
+
+    private PdfContentTemplate() {
+    }
+
+    static void render(PdfContent pdfContent, Document document) {
+        // Add document header
+        document.add(new Paragraph(pdfContent.getDocumentName()).addStyle(TITLE));
+
+        document.add(new Paragraph("\n"));
+
+        // Add document metadata
+        document.add(new Paragraph("Document Type: " + pdfContent.getDocumentType()).addStyle(METADATA));
+        document.add(new Paragraph("Case ID: " + pdfContent.getCaseId()).addStyle(METADATA));
+        document.add(new Paragraph("File Name: " + pdfContent.getFileName()).addStyle(METADATA));
+        if (pdfContent.getUploadDate() != null) {
+            document.add(new Paragraph("Upload Date: " + pdfContent.getUploadDate().format(UPLOAD_DATE_FORMAT)).addStyle(METADATA));
+        }
+        if (pdfContent.getUploadedBy() != null) {
+            document.add(new Paragraph("Uploaded By: " + pdfContent.getUploadedBy()).addStyle(METADATA));
+        }
+        document.add(new Paragraph("Status: " + pdfContent.getStatus()).addStyle(METADATA));
+
+        document.add(new Paragraph(RULE_TEXT).addStyle(RULE));
+
+        // Add document content
+        for (String line : pdfContent.getContent().split("\n")) {
+            switch (classify(line)) {
+                case BLANK -> document.add(new Paragraph(" ").addStyle(BLANK_LINE));
+                case HEADER -> document.add(new Paragraph(line).addStyle(HEADER_LINE));
+                case SECTION -> document.add(new Paragraph(line).addStyle(SECTION_LINE));
+                default -> document.add(new Paragraph(line).addStyle(BODY_LINE));
+            }
+        }
+    }
+
+    /**
+     * Classifies a content line the way the original trim()/matches("^[A-Z\\s]+:?$")/startsWith chain did, scanning
+     * the line once and without allocating
+     */
+    static LineKind classify(String line) {
+        int start = 0;
+        int end = line.length();
+        // Same bounds as String.trim()
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return LineKind.BLANK;
+        }
+
+        int headerEnd = line.charAt(end - 1) == ':' ? end - 1 : end;
+        boolean header = headerEnd > start;
+        for (int i = start; header && i < headerEnd; i++) {
+            char c = line.charAt(i);
+            header = (c >= 'A' && c <= 'Z') || isRegexWhitespace(c);
+        }
+        if (header) {
+            return LineKind.HEADER;
+        }
+
+        for (String prefix : SECTION_PREFIXES) {
+            if (line.startsWith(prefix)) {
+                return LineKind.SECTION;
+            }
+        }
+        return LineKind.BODY;
+    }
+
+    /**
+     * The characters matched by \s in a java.util.regex pattern
+     */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,619 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.exception.ApplicationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Local disk cache for latest-case PDFs. Entries are keyed by the case ID together with the pxUpdateDateTime and
+ * SFArchivalPDFExist values from the case metadata, so an updated case never matches a stale file; superseded files
+ * simply age out. Files are written to a temp name while the first download streams to the client and are renamed
+ * into place only once upstream delivered the whole body. A download that stops early, e.g. a Range request, is not
+ * read to the end on the request thread; instead the whole PDF is fetched once per key in the background. Hits are
+ * read with positional FileChannel.transferTo calls, so ranges are served in any order without a shared file position;
+ * the target is the servlet output stream, so the bytes are still copied through its buffer (no sendfile or mapping).
+ * Total size is bounded by LRU eviction.
+ */
+public class PdfDiskCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfDiskCache.class);
+
+    private static final String ENTRY_SUFFIX = ".pdf";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final int bufferSize;
+
+    // Access-ordered, so iteration starts at the least recently served entry; guarded by "this"
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+    // Keys being fetched in the background after a partial download
+    private final Set<String> filling = ConcurrentHashMap.newKeySet();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+    private final Counter evictions;
+    private final Counter backgroundFills;
+    private final Counter bytesServedFromDisk;
+    private final Counter bytesServedFromUpstream;
+
+    public PdfDiskCache(boolean enabled, Path directory, long maxBytes, long maxEntryBytes, int bufferSize,
+                        MeterRegistry meterRegistry) {
+        this.enabled = enabled && prepareDirectory(directory);
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+        this.bufferSize = bufferSize;
+
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.bypasses = requests(meterRegistry, "bypass");
+        this.evictions = Counter.builder("external.api.pdf-cache.evictions")
+            .description("PDF files removed from the disk cache to stay within the size limit")
+            .register(meterRegistry);
+        this.backgroundFills = Counter.builder("external.api.pdf-cache.background-fills")
+            .description("PDFs fetched whole in the background after a partial download left them uncached")
+            .register(meterRegistry);
+        this.bytesServedFromDisk = bytesServed(meterRegistry, "disk");
+        this.bytesServedFromUpstream = bytesServed(meterRegistry, "upstream");
+        Gauge.builder("external.api.pdf-cache.size", this, PdfDiskCache::totalBytes)
+            .description("Bytes currently held in the PDF disk cache")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("external.api.pdf-cache.entries", this, PdfDiskCache::entryCount)
+            .description("PDF files currently held in the PDF disk cache")
+            .register(meterRegistry);
+
+        if (this.enabled) {
+            loadExistingEntries();
+        }
+        logger.info("PDF disk cache {}: directory={}, maxBytes={}, maxEntryBytes={}, entries={}",
+                   this.enabled ? "enabled" : "disabled", directory, maxBytes, this.maxEntryBytes, entryCount());
+    }
+
+    /**
+     * @param caseId The case whose PDF is cached
+     * @param pxUpdateDateTime The case's pxUpdateDateTime from the case metadata
+     * @param archivalPdfExist The case's SFArchivalPDFExist flag from the case metadata
+     * @return File-name-safe cache key that changes whenever either metadata value changes
+     */
+    public static String key(String caseId, String pxUpdateDateTime, String archivalPdfExist) {
+        String fingerprint = caseId + '|' + pxUpdateDateTime + '|' + archivalPdfExist;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @return Strong quoted entity tag for the PDF version identified by the cache key
+     */
+    public static String eTag(String key) {
+        return "\"" + key.substring(0, 32) + "\"";
+    }
+
+    /**
+     * @return The cached PDF for the key, or null on a miss
+     */
+    public UpstreamPdfStream open(String key) {
+        if (!enabled) {
+            return null;
+        }
+        Long size;
+        synchronized (this) {
+            size = entries.get(key);
+        }
+        if (size == null) {
+            misses.increment();
+            ServerTiming.mark("cache.pdf", "miss");
+            return null;
+        }
+        try {
+            // An open channel keeps the file readable even if it is evicted while still being sent
+            FileChannel channel = FileChannel.open(entryPath(key), StandardOpenOption.READ);
+            hits.increment();
+            ServerTiming.mark("cache.pdf", "hit");
+            return new CachedPdfStream(channel, bufferSize, bytesServedFromDisk);
+        } catch (NoSuchFileException e) {
+            logger.warn("PDF cache file {} disappeared, treating as a miss", key);
+            forget(key);
+            misses.increment();
+            ServerTiming.mark("cache.pdf", "miss");
+            return null;
+        } catch (IOException e) {
+            logger.warn("Failed to open PDF cache file {}: {}", key, e.getMessage());
+            misses.increment();
+            ServerTiming.mark("cache.pdf", "miss");
+            return null;
+        }
+    }
+
+    /**
+     * Returns a stream that serves the upstream PDF and writes it to the cache on the way through. The file becomes
+     * visible to open() only after the whole body was read; a partial, oversized or failed copy is discarded without
+     * affecting the client download.
+     */
+    public UpstreamPdfStream populateWhileStreaming(String key, UpstreamPdfStream upstream) {
+        return populateWhileStreaming(key, upstream, null, null);
+    }
+
+    /**
+     * Like populateWhileStreaming(key, upstream), but when the client stops before the end of the body (a Range
+     * request or an aborted download) the whole PDF is fetched once from the source on the executor instead, so the
+     * next requests for the key are disk hits without making this one read bytes it does not return
+     * @param source Reopens the upstream PDF for the background fill
+     * @param executor Runs the background fill; when it rejects the task the PDF is simply left uncached
+     */
+    public UpstreamPdfStream populateWhileStreaming(String key, UpstreamPdfStream upstream, PdfSource source, Executor executor) {
+        if (!enabled || upstream.getContentLength() > maxEntryBytes) {
+            return countingUpstream(upstream);
+        }
+        Path temp = tempPath(key);
+        OutputStream tempOut;
+        try {
+            tempOut = Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            logger.warn("Failed to create PDF cache temp file {}: {}", temp, e.getMessage());
+            return countingUpstream(upstream);
+        }
+        TeeInputStream tee = new TeeInputStream(upstream.getInputStream(), tempOut, temp);
+        return new UpstreamPdfStream(tee, upstream.getContentLength(), bufferSize, () -> {
+            try {
+                upstream.close();
+            } finally {
+                if (!tee.finish(key, upstream.getContentLength()) && !tee.tooLarge && source != null && executor != null) {
+                    fillInBackground(key, source, executor);
+                }
+            }
+        }) {
+            @Override
+            public long transferRange(OutputStream out, long start, long length) throws IOException {
+                if (start + length < getContentLength()) {
+                    // The body is not read to the end, so the copy could never be published: skip the prefix without
+                    // writing it to disk and leave the entry to the background fill
+                    tee.abandon();
+                }
+                return super.transferRange(out, start, length);
+            }
+        }.withETag(upstream.getETag());
+    }
+
+    /**
+     * Counts a download that could not use the cache, e.g. because the case metadata was unavailable
+     */
+    public UpstreamPdfStream bypass(UpstreamPdfStream upstream) {
+        bypasses.increment();
+        return countingUpstream(upstream);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private void fillInBackground(String key, PdfSource source, Executor executor) {
+        synchronized (this) {
+            if (entries.containsKey(key)) {
+                return;
+            }
+        }
+        if (!filling.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> fill(key, source));
+        } catch (RejectedExecutionException e) {
+            filling.remove(key);
+            logger.debug("Skipping background fill of PDF {}: executor saturated", key);
+        }
+    }
+
+    private void fill(String key, PdfSource source) {
+        Path temp = tempPath(key);
+        // Not part of the request whose partial download triggered it: no deadline, no Server-Timing entries
+        try (RequestDeadline.Scope noDeadline = RequestDeadline.bind(null);
+             ServerTiming.Scope noTiming = ServerTiming.bind(null)) {
+            UpstreamPdfStream upstream = source.open();
+            if (upstream == null) {
+                return;
+            }
+            long expectedLength = upstream.getContentLength();
+            long copied = 0;
+            try (upstream; OutputStream out = Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[bufferSize];
+                int read;
+                while ((read = upstream.getInputStream().read(buffer)) != -1) {
+                    copied += read;
+                    if (copied > maxEntryBytes) {
+                        logger.debug("PDF larger than {} bytes, not caching it", maxEntryBytes);
+                        return;
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (copied > 0 && (expectedLength < 0 || copied == expectedLength)) {
+                commit(key, temp, copied);
+                backgroundFills.increment();
+            }
+        } catch (ApplicationException | IOException | RuntimeException e) {
+            logger.warn("Background fill of PDF cache entry {} failed: {}", key, e.getMessage());
+        } finally {
+            deleteQuietly(temp);
+            filling.remove(key);
+        }
+    }
+
+    private Path tempPath(String key) {
+        return directory.resolve(key + "." + UUID.randomUUID() + TEMP_SUFFIX);
+    }
+
+    private UpstreamPdfStream countingUpstream(UpstreamPdfStream upstream) {
+        return new UpstreamPdfStream(upstream.getInputStream(), upstream.getContentLength(), bufferSize, upstream::close) {
+            @Override
+            public long transferTo(OutputStream out) throws IOException {
+                long written = super.transferTo(out);
+                bytesServedFromUpstream.increment(written);
+                return written;
+            }
+
+            @Override
+            public long transferRange(OutputStream out, long start, long length) throws IOException {
+                long written = super.transferRange(out, start, length);
+                bytesServedFromUpstream.increment(written);
+                return written;
+            }
+        }.withETag(upstream.getETag());
+    }
+
+    private void commit(String key, Path temp, long size) {
+        Path target = entryPath(key);
+        try {
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to publish PDF cache file {}: {}", target, e.getMessage());
+            deleteQuietly(temp);
+            return;
+        }
+        List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            Long previous = entries.put(key, size);
+            totalBytes += size - (previous != null ? previous : 0);
+            Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                totalBytes -= entry.getValue();
+                evicted.add(entry.getKey());
+                eldest.remove();
+            }
+        }
+        for (String evictedKey : evicted) {
+            deleteQuietly(entryPath(evictedKey));
+            evictions.increment();
+        }
+        logger.debug("Cached PDF {} ({} bytes), evicted {}", key, size, evicted.size());
+    }
+
+    private synchronized void forget(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    /**
+     * Indexes files left by a previous run, oldest first so they are evicted first, and removes unfinished temp files
+     */
+    private void loadExistingEntries() {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    deleteQuietly(file);
+                } else if (name.endsWith(ENTRY_SUFFIX)) {
+                    files.add(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to scan PDF cache directory {}: {}", directory, e.getMessage());
+            return;
+        }
+        files.sort(Comparator.comparingLong(PdfDiskCache::lastModified));
+        for (Path file : files) {
+            try {
+                String name = file.getFileName().toString();
+                long size = Files.size(file);
+                synchronized (this) {
+                    entries.put(name.substring(0, name.length() - ENTRY_SUFFIX.length()), size);
+                    totalBytes += size;
+                }
+            } catch (IOException e) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    private static boolean prepareDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            return Files.isWritable(directory);
+        } catch (IOException e) {
+            logger.warn("PDF cache directory {} is not usable, disk cache disabled: {}", directory, e.getMessage());
+            return false;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete PDF cache file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("external.api.pdf-cache.requests")
+            .description("PDF downloads by whether they were served from the disk cache")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static Counter bytesServed(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("external.api.pdf-cache.bytes.served")
+            .description("PDF bytes sent to clients, by whether they came from the disk cache or upstream")
+            .baseUnit("bytes")
+            .tag("source", source)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Opens the upstream PDF for a background fill
+     */
+    @FunctionalInterface
+    public interface PdfSource {
+        /**
+         * @return The open PDF, or null when upstream no longer has one
+         */
+        UpstreamPdfStream open() throws ApplicationException;
+    }
+
+    /**
+     * A cached PDF file, read at absolute positions with FileChannel.transferTo. The target wraps the servlet output
+     * stream rather than a socket channel, so the JDK copies through a temporary buffer instead of using sendfile.
+     */
+    private static final class CachedPdfStream extends UpstreamPdfStream {
+
+        private final FileChannel channel;
+        private final Counter bytesServed;
+
+        CachedPdfStream(FileChannel channel, int bufferSize, Counter bytesServed) throws IOException {
+            super(Channels.newInputStream(channel), channel.size(), bufferSize, channel);
+            this.channel = channel;
+            this.bytesServed = bytesServed;
+        }
+
+        @Override
+        public boolean isSeekable() {
+            return true;
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            long position = channel.position();
+            long written = transfer(out, position, channel.size() - position);
+            channel.position(position + written);
+            out.flush();
+            return written;
+        }
+
+        @Override
+        public long transferRange(OutputStream out, long start, long length) throws IOException {
+            long written = transfer(out, start, length);
+            if (written < length) {
+                throw new IOException("Cached PDF ended " + (length - written) + " bytes before the end of the requested range");
+            }
+            return written;
+        }
+
+        private long transfer(OutputStream out, long start, long length) throws IOException {
+            WritableByteChannel target = Channels.newChannel(out);
+            long written = 0;
+            while (written < length) {
+                long sent = channel.transferTo(start + written, length - written, target);
+                if (sent <= 0) {
+                    break;
+                }
+                written += sent;
+            }
+            bytesServed.increment(written);
+            return written;
+        }
+    }
+
+    /**
+     * Copies everything read from upstream into the temp file; finish() publishes it only if upstream reached EOF
+     */
+    private final class TeeInputStream extends FilterInputStream {
+
+        private final Path temp;
+        private OutputStream copy;
+        private long streamed;
+        private long copied;
+        private boolean complete;
+        private boolean tooLarge;
+
+        TeeInputStream(InputStream upstream, OutputStream copy, Path temp) {
+            super(upstream);
+            this.copy = copy;
+            this.temp = temp;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                complete = true;
+            } else {
+                streamed++;
+                if (copy != null) {
+                    copy(new byte[]{(byte) b}, 0, 1);
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read == -1) {
+                complete = true;
+            } else if (read > 0) {
+                streamed += read;
+                if (copy != null) {
+                    copy(b, off, read);
+                }
+            }
+            return read;
+        }
+
+        /**
+         * Skipped bytes are not sent to the client but still belong in the cached file, so they are read and copied
+         * unless the copy was abandoned, e.g. for a range that ends before EOF
+         */
+        @Override
+        public long skip(long n) throws IOException {
+            if (copy == null) {
+                return super.skip(n);
+            }
+            byte[] buffer = new byte[(int) Math.min(bufferSize, Math.max(n, 1))];
+            long skipped = 0;
+            while (skipped < n && copy != null) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read == -1) {
+                    complete = true;
+                    break;
+                }
+                copy(buffer, 0, read);
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        private void copy(byte[] b, int off, int len) {
+            try {
+                if (copied + len > maxEntryBytes) {
+                    logger.debug("PDF larger than {} bytes, not caching it", maxEntryBytes);
+                    tooLarge = true;
+                    abandon();
+                    return;
+                }
+                copy.write(b, off, len);
+                copied += len;
+            } catch (IOException e) {
+                // e.g. disk full: the client download must not fail because the cache copy did
+                logger.warn("Failed to write PDF cache temp file {}: {}", temp, e.getMessage());
+                abandon();
+            }
+        }
+
+        /**
+         * @return true if the copy was complete and published to the cache
+         */
+        boolean finish(String key, long expectedLength) {
+            bytesServedFromUpstream.increment(streamed);
+            if (copy == null) {
+                return false;
+            }
+            try {
+                copy.close();
+            } catch (IOException e) {
+                abandon();
+                return false;
+            }
+            copy = null;
+            if (complete && copied > 0 && (expectedLength < 0 || copied == expectedLength)) {
+                commit(key, temp, copied);
+                return true;
+            }
+            deleteQuietly(temp);
+            return false;
+        }
+
+        private void abandon() {
+            if (copy != null) {
+                try {
+                    copy.close();
+                } catch (IOException ignored) {
+                    // the file is deleted below anyway
+                }
+                copy = null;
+            }
+            deleteQuietly(temp);
+        }
+    }
+}
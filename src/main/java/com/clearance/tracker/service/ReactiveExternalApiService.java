@@ -0,0 +1,222 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.dto.CaseDetailsAndHistoryResponse;
+import com.clearance.tracker.dto.CaseDetailsDto;
+import com.clearance.tracker.dto.CaseDto;
+import com.clearance.tracker.dto.CaseHistoryResponseDto;
+import com.clearance.tracker.dto.CaseListResponseDto;
+import com.clearance.tracker.dto.CombinedCaseResponse;
+import com.clearance.tracker.exception.ApplicationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * WebClient-based implementation of the ExternalApiService contract. The *Reactive methods never block;
+ * the inherited blocking methods subscribe to them and wait, so existing callers keep working unchanged.
+ * Every WebClient call goes through the same per-endpoint circuit breaker and bulkhead as the blocking path, and
+ * case list, details and history lookups go through the same CaseDataCache. Conditional GETs (UpstreamValidatorCache),
+ * prefetching of further In Progress cases, call coalescing and the per-stage timers are blocking-path only.
+ * The streamed latest-PDF download (openLatestPdf, behind /pdf-download) is not reimplemented: it still uses the
+ * inherited blocking RestTemplate path with its latest-pdf bulkhead and disk cache, so the RestTemplate bean stays
+ * active under this profile. Only getLatestPdfReactive goes through the WebClient, buffering the whole PDF.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveExternalApiService extends ExternalApiService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExternalApiService.class);
+    private static final String IN_PROGRESS_STATUS = "In Progress";
+
+    @Autowired
+    private WebClient upstreamWebClient;
+
+    /**
+     * Serves the subject's case list from the case data cache, or reads page 1, then the remaining pages with at most
+     * max-parallel-pages requests in flight, and merges them in page order
+     */
+    public Mono<CaseListResponseDto> getAllCasesReactive(String subjectPersonaObjectId) {
+        return caseDataCache.getAllCasesReactive(subjectPersonaObjectId, fetchAllCasePagesReactive(subjectPersonaObjectId));
+    }
+
+    private Mono<CaseListResponseDto> fetchAllCasePagesReactive(String subjectPersonaObjectId) {
+        return getCasesPageReactive(subjectPersonaObjectId, 1, null)
+            .flatMap(firstPage -> {
+                int totalPages = Math.min(CaseListPages.totalPages(firstPage), casesListMaxPages);
+                if (totalPages <= 1) {
+                    return Mono.just(firstPage);
+                }
+                int pageSize = CaseListPages.pageSize(firstPage);
+                return Flux.range(2, totalPages - 1)
+                    .flatMapSequential(page -> getCasesPageReactive(subjectPersonaObjectId, page, pageSize), casesListMaxParallelPages)
+                    .startWith(firstPage)
+                    .collectList()
+                    .map(CaseListPages::merge);
+            })
+            .doOnNext(caseList -> logger.info("Successfully retrieved {} cases for Subject Persona Object ID {} from external API",
+                caseList.getCases() != null ? caseList.getCases().size() : 0, subjectPersonaObjectId));
+    }
+
+    private Mono<CaseListResponseDto> getCasesPageReactive(String subjectPersonaObjectId, int page, Integer pageSize) {
+        return upstreamWebClient.get()
+            .uri(uriBuilder -> {
+                uriBuilder.path("/api/v1/cases").queryParam("subjectPersonaObjectId", subjectPersonaObjectId);
+                if (pageSize != null) {
+                    uriBuilder.queryParam("page", page).queryParam("pageSize", pageSize);
+                }
+                return uriBuilder.build();
+            })
+            .retrieve()
+            .bodyToMono(CaseListResponseDto.class)
+            .transform(call -> upstreamGuard.guard("cases-list", call))
+            .onErrorMap(WebClientException.class, e -> upstreamFailure("cases list", subjectPersonaObjectId, e));
+    }
+
+    public Mono<CaseDetailsDto> getCaseDetailsReactive(String nbisId) {
+        return caseDataCache.getCaseDetailsReactive(nbisId, fetchCaseDetailsReactive(nbisId));
+    }
+
+    private Mono<CaseDetailsDto> fetchCaseDetailsReactive(String nbisId) {
+        return upstreamWebClient.get()
+            .uri("/api/v1/cases/{nbisId}", nbisId)
+            .retrieve()
+            .bodyToMono(CaseDetailsDto.class)
+            .doOnNext(caseDetails -> logger.info("Successfully retrieved case details for NBIS ID {}", nbisId))
+            .transform(call -> upstreamGuard.guard("case-details", call))
+            .onErrorMap(WebClientException.class, e -> upstreamFailure("case details", nbisId, e));
+    }
+
+    public Mono<CaseHistoryResponseDto> getCaseHistoryFromV1ApiReactive(String nbisId) {
+        return caseDataCache.getCaseHistoryReactive(nbisId, fetchCaseHistoryFromV1ApiReactive(nbisId));
+    }
+
+    private Mono<CaseHistoryResponseDto> fetchCaseHistoryFromV1ApiReactive(String nbisId) {
+        return upstreamWebClient.get()
+            .uri("/api/v1/cases/{nbisId}/history", nbisId)
+            .retrieve()
+            .bodyToMono(CaseHistoryResponseDto.class)
+            .doOnNext(caseHistory -> logger.info("Successfully retrieved {} history items for NBIS ID {}",
+                caseHistory.getHistory() != null ? caseHistory.getHistory().size() : 0, nbisId))
+            .transform(call -> upstreamGuard.guard("case-history", call))
+            .onErrorMap(WebClientException.class, e -> upstreamFailure("case history", nbisId, e));
+    }
+
+    public Mono<byte[]> getLatestPdfReactive(String caseId) {
+        return upstreamWebClient.get()
+            .uri("/api/latest-pdf?caseId={caseId}", caseId)
+            .retrieve()
+            .bodyToMono(byte[].class)
+            .doOnNext(pdfBytes -> logger.info("Successfully retrieved latest PDF bytes for case {}: {} bytes", caseId, pdfBytes.length))
+            .transform(call -> upstreamGuard.guard("latest-pdf", call))
+            .onErrorMap(WebClientException.class, e -> upstreamFailure("latest PDF", caseId, e));
+    }
+
+    /**
+     * Non-blocking list -> select -> zip(details, history) pipeline; no thread is held while upstream calls are in flight
+     * @param subjectPersonaObjectId The subject to look up
+     * @return Mono emitting the combined response, or an ApplicationException error signal
+     */
+    public Mono<CombinedCaseResponse> getCaseHistoryReactive(String subjectPersonaObjectId) {
+        return getAllCasesReactive(subjectPersonaObjectId)
+            .flatMap(caseList -> selectFirstInProgressCase(caseList.getCases())
+                .flatMap(selectedCaseId -> Mono.zip(getCaseDetailsReactive(selectedCaseId), getCaseHistoryFromV1ApiReactive(selectedCaseId))
+                    .map(detailsAndHistory -> new CombinedCaseResponse(caseList, detailsAndHistory.getT1(),
+                        detailsAndHistory.getT2(), selectedCaseId))))
+            .doOnNext(response -> logger.info("Successfully completed reactive case history retrieval for Subject Persona Object ID: {}. Selected case: {}",
+                subjectPersonaObjectId, response.getSelectedCaseId()));
+    }
+
+    public Mono<CaseDetailsAndHistoryResponse> getCaseDetailsAndHistoryReactive(String caseId) {
+        return Mono.zip(getCaseDetailsReactive(caseId), getCaseHistoryFromV1ApiReactive(caseId))
+            .map(detailsAndHistory -> new CaseDetailsAndHistoryResponse(caseId, detailsAndHistory.getT1(), detailsAndHistory.getT2()));
+    }
+
+    public CompletableFuture<CombinedCaseResponse> getCaseHistoryAsync(String subjectPersonaObjectId) {
+        return getCaseHistoryReactive(subjectPersonaObjectId).toFuture();
+    }
+
+    public CompletableFuture<CaseDetailsAndHistoryResponse> getCaseDetailsAndHistoryAsync(String caseId) {
+        return getCaseDetailsAndHistoryReactive(caseId).toFuture();
+    }
+
+    @Override
+    public CombinedCaseResponse getCaseHistory(String subjectPersonaObjectId) throws ApplicationException {
+        return await(getCaseHistoryReactive(subjectPersonaObjectId));
+    }
+
+    @Override
+    public CaseDetailsAndHistoryResponse getCaseDetailsAndHistory(String caseId) throws ApplicationException {
+        return await(getCaseDetailsAndHistoryReactive(caseId));
+    }
+
+    @Override
+    public CaseListResponseDto getAllCases(String subjectPersonaObjectId) throws ApplicationException {
+        return await(getAllCasesReactive(subjectPersonaObjectId));
+    }
+
+    @Override
+    public CaseDetailsDto getCaseDetails(String nbisId) throws ApplicationException {
+        return await(getCaseDetailsReactive(nbisId));
+    }
+
+    @Override
+    public CaseHistoryResponseDto getCaseHistoryFromV1Api(String nbisId) throws ApplicationException {
+        return await(getCaseHistoryFromV1ApiReactive(nbisId));
+    }
+
+    @Override
+    public byte[] getLatestPdf(String caseId) throws ApplicationException {
+        return await(getLatestPdfReactive(caseId));
+    }
+
+    private Mono<String> selectFirstInProgressCase(List<CaseDto> allCases) {
+        return Mono.justOrEmpty(allCases)
+            .flatMapIterable(cases -> cases)
+            .filter(caseItem -> IN_PROGRESS_STATUS.equalsIgnoreCase(caseItem.getDISAStatus()))
+            .next()
+            .map(CaseDto::getNBISCaseID)
+            .doOnNext(selectedCaseId -> logger.info("Selected first 'In Progress' v1 case: {}", selectedCaseId))
+            .switchIfEmpty(Mono.error(() -> new ApplicationException("No cases found with 'In Progress' status")));
+    }
+
+    private ApplicationException upstreamFailure(String resource, String id, WebClientException e) {
+        logger.error("Failed to call external API for {}. ID: {}, Error: {}", resource, id, e.getMessage(), e);
+        return new ApplicationException("External service call failed for " + resource + ": " + e.getMessage(), e);
+    }
+
+    /**
+     * Blocks on a Mono for callers of the synchronous contract, unwrapping ApplicationException error signals.
+     * When a request deadline is bound, the subscription is cancelled once the remaining budget is spent,
+     * which also cancels any in-flight upstream exchanges.
+     */
+    private <T> T await(Mono<T> mono) throws ApplicationException {
+        RequestDeadline deadline = RequestDeadline.current();
+        try {
+            if (deadline == null) {
+                return mono.block();
+            }
+            return mono.timeout(Duration.ofMillis(deadline.remainingMillis())).block();
+        } catch (RuntimeException e) {
+            Throwable cause = Exceptions.unwrap(e);
+            if (cause instanceof ApplicationException applicationException) {
+                throw applicationException;
+            }
+            if (cause instanceof TimeoutException && deadline != null) {
+                throw deadline.exceeded("reactive upstream pipeline");
+            }
+            throw new ApplicationException("Unexpected error during reactive upstream call: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.exception.ApplicationException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Absolute deadline for one inbound request. The deadline is bound to the current thread so the upstream
+ * HTTP client can cap each exchange at the remaining budget, and is re-bound explicitly on executor threads.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private final long deadlineNanos;
+    private final long budgetMillis;
+    private final double listStageShare;
+
+    private RequestDeadline(long startNanos, long budgetMillis, double listStageShare) {
+        this.startNanos = startNanos;
+        this.budgetMillis = budgetMillis;
+        this.deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.listStageShare = listStageShare;
+    }
+
+    public static RequestDeadline after(long budgetMillis, double listStageShare) {
+        return new RequestDeadline(System.nanoTime(), budgetMillis, listStageShare);
+    }
+
+    /**
+     * @return The deadline bound to this thread, or null when the caller runs without a budget
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a deadline to the current thread until the returned scope is closed; a null deadline clears the binding
+     */
+    public static Scope bind(RequestDeadline deadline) {
+        RequestDeadline previous = CURRENT.get();
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Deadline for the case list stage: at most listStageShare of the total budget, so the details/history
+     * fan-out is never starved by a slow list call
+     */
+    public RequestDeadline listStage() {
+        long stageBudget = Math.max(1, Math.round(budgetMillis * listStageShare));
+        RequestDeadline stage = new RequestDeadline(startNanos, stageBudget, listStageShare);
+        return stage.deadlineNanos < deadlineNanos ? stage : this;
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    public ApplicationException exceeded(String stage) {
+        return new ApplicationException(ApplicationException.DEADLINE_EXCEEDED,
+            "Request deadline of " + budgetMillis + "ms exceeded during " + stage + " after " + elapsedMillis() + "ms");
+    }
+
+    /**
+     * Restores the previous thread binding when closed
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,152 @@
+package com.clearance.tracker.service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request latency breakdown reported in the Server-Timing response header: pipeline stages, upstream calls,
+ * cache hits and misses, and response serialization. Like RequestDeadline it is bound to the request thread; the
+ * upstream executor carries it to fan-out threads through propagate(). Recording is a no-op when nothing is bound,
+ * so instrumented code pays nothing unless the header is enabled.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    // Entries with the same name and description are merged, keeping the first-seen order
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public static ServerTiming start() {
+        return new ServerTiming();
+    }
+
+    /**
+     * @return The collector bound to this thread, or null when Server-Timing is not being collected
+     */
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a collector to the current thread until the returned scope is closed; null clears the binding
+     */
+    public static Scope bind(ServerTiming timing) {
+        ServerTiming previous = CURRENT.get();
+        if (timing == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timing);
+        }
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Task decorator that runs the task with the submitting thread's collector bound
+     */
+    public static Runnable propagate(Runnable task) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = bind(timing)) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Adds a timed entry to the collector bound to this thread, if any
+     * @param name Metric name, e.g. list or upstream.case-details
+     * @param nanos Time spent
+     * @param description Optional detail such as an upstream status code; null for none
+     */
+    public static void record(String name, long nanos, String description) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.add(name, nanos, description);
+        }
+    }
+
+    /**
+     * Adds an untimed entry, e.g. a cache hit or miss, to the collector bound to this thread, if any
+     */
+    public static void mark(String name, String description) {
+        record(name, -1, description);
+    }
+
+    public synchronized void add(String name, long nanos, String description) {
+        entries.computeIfAbsent(name + ';' + description, key -> new Entry(name, description)).add(nanos);
+    }
+
+    /**
+     * @return The header value for everything recorded so far, followed by the total time since the request started,
+     *         e.g. list;dur=12.4, upstream.case-details;dur=30.1;desc="200", cache.case-history;desc="hit", total;dur=48.0
+     */
+    public synchronized String headerValue() {
+        StringBuilder header = new StringBuilder();
+        for (Entry entry : entries.values()) {
+            entry.appendTo(header);
+            header.append(", ");
+        }
+        return header.append("total;dur=").append(millis(System.nanoTime() - startNanos)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static final class Entry {
+
+        private final String name;
+        private final String description;
+        private long totalNanos = -1;
+        private int count;
+
+        private Entry(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+
+        private void add(long nanos) {
+            if (nanos >= 0) {
+                totalNanos = Math.max(0, totalNanos) + nanos;
+            }
+            count++;
+        }
+
+        private void appendTo(StringBuilder header) {
+            header.append(name);
+            if (totalNanos >= 0) {
+                header.append(";dur=").append(millis(totalNanos));
+            }
+            if (description != null || count > 1) {
+                String desc = description != null ? description : "";
+                if (count > 1) {
+                    desc = (desc + " x" + count).trim();
+                }
+                header.append(";desc=\"").append(desc.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+            }
+        }
+    }
+
+    /**
+     * Restores the previous thread binding when closed
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
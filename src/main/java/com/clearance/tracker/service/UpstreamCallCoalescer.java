@@ -0,0 +1,177 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.exception.ApplicationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight coalescing for upstream lookups: concurrent callers asking for the same resource and ID share
+ * one in-flight upstream call and receive its result or its error. Nothing is retained once the call completes.
+ * Failures that belong to the calling request rather than to upstream (its deadline passing, an interrupt or a
+ * cancellation) are not shared: callers that joined such a call run it again under their own deadline.
+ */
+@Component
+public class UpstreamCallCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamCallCoalescer.class);
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${external.api.coalescing.enabled:true}")
+    private boolean enabled = true;
+
+    public UpstreamCallCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("external.api.coalescing.in-flight", inFlight, Map::size)
+            .description("Distinct upstream lookups currently in flight")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs the upstream call, or joins an identical call already in flight
+     * @param resource Upstream resource name, used as the metrics tag and key namespace
+     * @param id The NBIS, subject or case ID being looked up
+     * @param call The upstream call, executed by the first caller for the key, or again by a joined caller when the
+     *             first one aborted on its own deadline, interrupt or cancellation
+     * @return The shared result
+     * @throws ApplicationException The shared upstream error, or DEADLINE_EXCEEDED if this caller's deadline passes while waiting
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String resource, String id, UpstreamCall<T> call) throws ApplicationException {
+        if (!enabled) {
+            return call.call();
+        }
+
+        String key = resource + ":" + id;
+        while (true) {
+            CompletableFuture<Object> flight = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                return lead(key, flight, resource, call);
+            }
+
+            counter("external.api.coalescing.deduplicated", resource, "Callers served by joining an identical upstream call already in flight").increment();
+            logger.debug("Joining in-flight upstream {} call for {}", resource, id);
+            try {
+                return (T) awaitShared(existing, resource, id);
+            } catch (CallerAbortedException e) {
+                counter("external.api.coalescing.retried", resource, "Joined upstream calls re-run because the issuing caller aborted").increment();
+                logger.debug("Shared upstream {} call for {} was aborted by its caller ({}); retrying under this caller's deadline",
+                            resource, id, e.getCause().getMessage());
+            }
+        }
+    }
+
+    private <T> T lead(String key, CompletableFuture<Object> flight, String resource, UpstreamCall<T> call) throws ApplicationException {
+        counter("external.api.coalescing.executed", resource, "Upstream calls actually issued after coalescing").increment();
+        // The flight leaves the map before it completes, so a caller retrying after an abort never rejoins it
+        T result;
+        try {
+            result = call.call();
+        } catch (Throwable t) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(isCallerSpecific(t) ? new CallerAbortedException(t) : t);
+            throw t;
+        }
+        inFlight.remove(key, flight);
+        flight.complete(result);
+        return result;
+    }
+
+    /**
+     * Whether a failure comes from the issuing caller (its deadline, an interrupt or a cancellation) rather than from
+     * upstream, so it says nothing about what other callers would get
+     */
+    private static boolean isCallerSpecific(Throwable failure) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null && deadline.isExpired()) {
+            return true;
+        }
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof ApplicationException applicationException
+                    && applicationException.getErrorCode() == ApplicationException.DEADLINE_EXCEEDED) {
+                return true;
+            }
+            if (current instanceof InterruptedException || current instanceof CancellationException
+                    || current instanceof ClosedByInterruptException
+                    || (current instanceof InterruptedIOException && !(current instanceof SocketTimeoutException))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Waits on another caller's upstream call, bounded by this caller's own request deadline
+     */
+    private Object awaitShared(CompletableFuture<Object> flight, String resource, String id) throws ApplicationException {
+        RequestDeadline deadline = RequestDeadline.current();
+        try {
+            return deadline == null ? flight.get() : flight.get(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw deadline.exceeded("shared " + resource + " call for " + id);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApplicationException("Interrupted while waiting for shared " + resource + " call for " + id, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CallerAbortedException callerAborted) {
+                throw callerAborted;
+            }
+            if (cause instanceof ApplicationException applicationException) {
+                throw applicationException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new ApplicationException("Shared " + resource + " call failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private Counter counter(String name, String resource, String description) {
+        return Counter.builder(name)
+            .description(description)
+            .tag("resource", resource)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Marks a shared call's failure as specific to the caller that issued it; never escapes this class
+     */
+    private static final class CallerAbortedException extends RuntimeException {
+        private CallerAbortedException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Upstream lookup that may fail with an ApplicationException
+     */
+    @FunctionalInterface
+    public interface UpstreamCall<T> {
+        T call() throws ApplicationException;
+    }
+}
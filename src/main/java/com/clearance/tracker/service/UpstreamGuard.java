@@ -0,0 +1,158 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.exception.ApplicationException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-endpoint circuit breaker and concurrency bulkhead around upstream calls. A degraded endpoint trips its own
+ * breaker and is rejected immediately, and a slow endpoint (typically latest PDF) can only hold its own bulkhead
+ * permits, so it cannot starve threads and connections needed by the other endpoints.
+ */
+public class UpstreamGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamGuard.class);
+
+    private final boolean enabled;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public UpstreamGuard(boolean enabled, CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+        this.enabled = enabled;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    /**
+     * @param endpoint Upstream endpoint name (cases-list, case-details, case-history, latest-pdf)
+     * @param call The upstream call
+     * @return The call's result
+     * @throws ApplicationException UPSTREAM_CIRCUIT_OPEN when the endpoint's breaker is open, UPSTREAM_SATURATED when
+     *         its bulkhead is full, otherwise whatever the call throws
+     */
+    public <T> T execute(String endpoint, UpstreamCallCoalescer.UpstreamCall<T> call) throws ApplicationException {
+        Permit permit = acquire(endpoint);
+        try {
+            T result = call.call();
+            permit.onSuccess();
+            return result;
+        } catch (Throwable t) {
+            permit.onError(t);
+            throw t;
+        } finally {
+            permit.close();
+        }
+    }
+
+    /**
+     * Acquires a breaker and bulkhead permit that stays held until closed, for calls whose upstream connection
+     * outlives the method that opened it (e.g. a streamed PDF download)
+     * @param endpoint Upstream endpoint name
+     * @return Permit; report the outcome with onSuccess/onError and always close it
+     * @throws ApplicationException UPSTREAM_CIRCUIT_OPEN or UPSTREAM_SATURATED when no permit is available
+     */
+    public Permit acquire(String endpoint) throws ApplicationException {
+        if (!enabled) {
+            return new Permit(null, null);
+        }
+
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(endpoint);
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw circuitOpen(endpoint, circuitBreaker);
+        }
+
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(endpoint);
+        if (!bulkhead.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            throw saturated(endpoint, bulkhead);
+        }
+        return new Permit(circuitBreaker, bulkhead);
+    }
+
+    /**
+     * Reactive counterpart of execute: permits are taken when the Mono is subscribed and released when it
+     * completes, fails or is cancelled, so the WebClient pipeline shares the blocking path's breakers and bulkheads
+     * @param endpoint Upstream endpoint name
+     * @param call The upstream call, not yet subscribed
+     * @return The guarded call, signalling UPSTREAM_CIRCUIT_OPEN or UPSTREAM_SATURATED instead of subscribing
+     *         upstream when no permit is available
+     */
+    public <T> Mono<T> guard(String endpoint, Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(endpoint);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(endpoint);
+        // The breaker wraps the bulkhead, as in acquire; a full bulkhead is ignored by the breaker config
+        return call.transformDeferred(BulkheadOperator.of(bulkhead))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+            .onErrorMap(CallNotPermittedException.class, e -> circuitOpen(endpoint, circuitBreaker))
+            .onErrorMap(BulkheadFullException.class, e -> saturated(endpoint, bulkhead));
+    }
+
+    private static ApplicationException circuitOpen(String endpoint, CircuitBreaker circuitBreaker) {
+        logger.warn("Circuit breaker for upstream {} is {}, failing fast", endpoint, circuitBreaker.getState());
+        return new ApplicationException(ApplicationException.UPSTREAM_CIRCUIT_OPEN,
+            "Upstream " + endpoint + " is unavailable (circuit " + circuitBreaker.getState() + "), retry later");
+    }
+
+    private static ApplicationException saturated(String endpoint, Bulkhead bulkhead) {
+        logger.warn("Bulkhead for upstream {} full ({} concurrent calls), failing fast",
+                   endpoint, bulkhead.getBulkheadConfig().getMaxConcurrentCalls());
+        return new ApplicationException(ApplicationException.UPSTREAM_SATURATED,
+            "Upstream " + endpoint + " concurrency limit reached, retry later");
+    }
+
+    /**
+     * Held breaker/bulkhead permit. The outcome is recorded at most once; close() releases the bulkhead slot once.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private final CircuitBreaker circuitBreaker;
+        private final Bulkhead bulkhead;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Permit(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+            this.circuitBreaker = circuitBreaker;
+            this.bulkhead = bulkhead;
+        }
+
+        public void onSuccess() {
+            if (circuitBreaker != null && recorded.compareAndSet(false, true)) {
+                circuitBreaker.onSuccess(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        public void onError(Throwable error) {
+            if (circuitBreaker != null && recorded.compareAndSet(false, true)) {
+                circuitBreaker.onError(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS, error);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (bulkhead != null && closed.compareAndSet(false, true)) {
+                if (!recorded.get()) {
+                    // Abandoned without an outcome: give the breaker permission back instead of counting a call
+                    circuitBreaker.releasePermission();
+                }
+                bulkhead.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.clearance.tracker.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and size metrics for the upstream case API and the case history pipeline, published with percentile
+ * histograms so they can be aggregated into percentiles on the Prometheus scrape endpoint:
+ * <ul>
+ *   <li>external.api.upstream.requests: one timer per upstream exchange, tagged endpoint (cases-list, case-details,
+ *       case-history, latest-pdf), outcome (SUCCESS, REDIRECTION, CLIENT_ERROR, SERVER_ERROR, UNKNOWN) and status
+ *       (HTTP status code, or IO_ERROR when no response arrived); measured until the response headers arrive</li>
+ *   <li>external.api.upstream.response.size: response body bytes per endpoint</li>
+ *   <li>external.api.stage: one timer per pipeline stage, tagged pipeline, stage and outcome (success, error)</li>
+ * </ul>
+ * Exchanges and stages are also added to the request's ServerTiming, when one is being collected, and each stage
+ * runs in its own tracing span so upstream calls made during it (on any thread) are traced as its children.
+ */
+@Component
+public class UpstreamMetrics {
+
+    public static final String CASES_LIST = "cases-list";
+    public static final String CASE_DETAILS = "case-details";
+    public static final String CASE_HISTORY = "case-history";
+    public static final String LATEST_PDF = "latest-pdf";
+    public static final String OTHER = "other";
+
+    private static final String CASES_PATH = "/api/v1/cases";
+    private static final String HISTORY_SUFFIX = "/history";
+    private static final String LATEST_PDF_PATH = "/api/latest-pdf";
+    private static final String CASE_ID_PARAMETER = "caseId=";
+
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+
+    public UpstreamMetrics(MeterRegistry meterRegistry, ObjectProvider<Tracer> tracer) {
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+    }
+
+    /**
+     * Maps an upstream request path to its endpoint name, using the same names as the circuit breakers and bulkheads
+     */
+    public static String endpointOf(String path) {
+        if (path == null) {
+            return OTHER;
+        }
+        if (path.endsWith(CASES_PATH) || path.endsWith(CASES_PATH + "/")) {
+            return CASES_LIST;
+        }
+        int cases = path.indexOf(CASES_PATH + "/");
+        if (cases >= 0) {
+            String rest = path.substring(cases + CASES_PATH.length() + 1);
+            if (rest.endsWith(HISTORY_SUFFIX)) {
+                return rest.indexOf('/') == rest.length() - HISTORY_SUFFIX.length() ? CASE_HISTORY : OTHER;
+            }
+            return rest.indexOf('/') < 0 ? CASE_DETAILS : OTHER;
+        }
+        return path.endsWith(LATEST_PDF_PATH) ? LATEST_PDF : OTHER;
+    }
+
+    /**
+     * Extracts the case ID an upstream request addresses, from the path for case details and history or from the
+     * caseId query parameter otherwise
+     * @return The case ID, or null for requests not about a single case such as the case list
+     */
+    public static String caseIdOf(URI uri) {
+        String endpoint = endpointOf(uri.getPath());
+        if (CASE_DETAILS.equals(endpoint) || CASE_HISTORY.equals(endpoint)) {
+            String rest = uri.getPath().substring(uri.getPath().indexOf(CASES_PATH + "/") + CASES_PATH.length() + 1);
+            return CASE_HISTORY.equals(endpoint) ? rest.substring(0, rest.length() - HISTORY_SUFFIX.length()) : rest;
+        }
+        String query = uri.getQuery();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith(CASE_ID_PARAMETER)) {
+                    return parameter.substring(CASE_ID_PARAMETER.length());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records an upstream exchange that received a response
+     */
+    public void recordExchange(String endpoint, long startNanos, int statusCode) {
+        long nanos = System.nanoTime() - startNanos;
+        exchangeTimer(endpoint, Outcome.forStatus(statusCode).name(), String.valueOf(statusCode))
+            .record(nanos, TimeUnit.NANOSECONDS);
+        ServerTiming.record("upstream." + endpoint, nanos, String.valueOf(statusCode));
+    }
+
+    /**
+     * Records an upstream exchange that failed before a response arrived (connect or read timeout, reset, ...)
+     */
+    public void recordExchangeFailure(String endpoint, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        exchangeTimer(endpoint, Outcome.UNKNOWN.name(), "IO_ERROR")
+            .record(nanos, TimeUnit.NANOSECONDS);
+        ServerTiming.record("upstream." + endpoint, nanos, "IO_ERROR");
+    }
+
+    public void recordResponseSize(String endpoint, long bytes) {
+        DistributionSummary.builder("external.api.upstream.response.size")
+            .description("Upstream response body size")
+            .baseUnit("bytes")
+            .tag("endpoint", endpoint)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(64.0)
+            .maximumExpectedValue(128.0 * 1024 * 1024)
+            .register(meterRegistry)
+            .record(bytes);
+    }
+
+    /**
+     * Starts timing a pipeline at its first stage; each stage runs until the next one starts or the pipeline finishes
+     * @param pipeline Pipeline name, e.g. case-history
+     * @param firstStage Name of the stage starting now
+     * @return Stage timer; call finish() on success and always close it, which records an unfinished stage as an error
+     */
+    public Stages stages(String pipeline, String firstStage) {
+        return new Stages(pipeline, firstStage);
+    }
+
+    private Timer exchangeTimer(String endpoint, String outcome, String status) {
+        return Timer.builder("external.api.upstream.requests")
+            .description("Upstream case API exchanges, until the response headers arrive")
+            .tag("endpoint", endpoint)
+            .tag("outcome", outcome)
+            .tag("status", status)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .register(meterRegistry);
+    }
+
+    private Timer stageTimer(String pipeline, String stage, String outcome) {
+        return Timer.builder("external.api.stage")
+            .description("Time spent in each stage of a request pipeline")
+            .tag("pipeline", pipeline)
+            .tag("stage", stage)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(1000))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .register(meterRegistry);
+    }
+
+    /**
+     * Sequential stage timer for one pipeline run; not thread-safe, used by the thread running the pipeline
+     */
+    public final class Stages implements AutoCloseable {
+
+        private final String pipeline;
+        private String stage;
+        private long stageStartNanos;
+        private Span span;
+        private Tracer.SpanInScope spanScope;
+
+        private Stages(String pipeline, String firstStage) {
+            this.pipeline = pipeline;
+            this.stage = firstStage;
+            this.stageStartNanos = System.nanoTime();
+            startSpan();
+        }
+
+        /**
+         * Ends the current stage successfully and starts the next one
+         */
+        public void next(String nextStage) {
+            long now = record("success");
+            stage = nextStage;
+            stageStartNanos = now;
+            startSpan();
+        }
+
+        /**
+         * Ends the current (last) stage successfully
+         */
+        public void finish() {
+            record("success");
+            stage = null;
+        }
+
+        @Override
+        public void close() {
+            if (stage != null) {
+                record("error");
+                stage = null;
+            }
+        }
+
+        private long record(String outcome) {
+            long now = System.nanoTime();
+            stageTimer(pipeline, stage, outcome).record(now - stageStartNanos, TimeUnit.NANOSECONDS);
+            ServerTiming.record(stage, now - stageStartNanos, "error".equals(outcome) ? outcome : null);
+            spanScope.close();
+            span.tag("outcome", outcome).end();
+            return now;
+        }
+
+        private void startSpan() {
+            span = tracer.nextSpan()
+                .name(pipeline + " " + stage)
+                .tag("pipeline", pipeline)
+                .tag("stage", stage)
+                .start();
+            spanScope = tracer.withSpan(span);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.clearance.tracker.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * An open upstream PDF body. The bytes are copied to the client through one fixed-size buffer, so memory per
+ * download stays constant regardless of document size. Closing releases the upstream connection.
+ */
+public class UpstreamPdfStream implements Closeable {
+
+    private final InputStream body;
+    private final long contentLength;
+    protected final int bufferSize;
+    private final Closeable onClose;
+    private long position;
+    private String eTag;
+
+    public UpstreamPdfStream(InputStream body, long contentLength, int bufferSize, Closeable onClose) {
+        this.body = body;
+        this.contentLength = contentLength;
+        this.bufferSize = bufferSize;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Wraps an in-memory PDF, e.g. from the mock service or a local cache
+     */
+    public static UpstreamPdfStream of(byte[] pdfBytes, int bufferSize) {
+        return new UpstreamPdfStream(new ByteArrayInputStream(pdfBytes), pdfBytes.length, bufferSize, () -> { });
+    }
+
+    /**
+     * @return The unread body, for wrappers that observe the bytes as they are transferred
+     */
+    public InputStream getInputStream() {
+        return body;
+    }
+
+    /**
+     * @return Upstream Content-Length, or -1 when upstream did not send one (chunked transfer)
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    /**
+     * @return Strong quoted entity tag identifying this version of the PDF, or null when none is known
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    public UpstreamPdfStream withETag(String eTag) {
+        this.eTag = eTag;
+        return this;
+    }
+
+    /**
+     * @return true if transferRange can serve ranges in any order; otherwise ranges must be requested in ascending,
+     *         non-overlapping order because the body can only be read forward
+     */
+    public boolean isSeekable() {
+        return false;
+    }
+
+    /**
+     * Copies the remaining body to the output stream
+     * @return Number of bytes written
+     */
+    public long transferTo(OutputStream out) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        long total = 0;
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        position += total;
+        out.flush();
+        return total;
+    }
+
+    /**
+     * Copies one byte range of the body to the output stream, skipping forward to its start without writing the
+     * skipped bytes anywhere
+     * @param start Offset of the first byte
+     * @param length Number of bytes to copy
+     * @return Number of bytes written
+     * @throws IOException if the range starts before the current read position or the body ends early
+     */
+    public long transferRange(OutputStream out, long start, long length) throws IOException {
+        if (start < position) {
+            throw new IOException("Range starting at " + start + " already passed, body is at " + position);
+        }
+        body.skipNBytes(start - position);
+        position = start;
+        byte[] buffer = new byte[(int) Math.min(bufferSize, Math.max(length, 1))];
+        long remaining = length;
+        while (remaining > 0) {
+            int read = body.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read == -1) {
+                throw new IOException("PDF body ended " + remaining + " bytes before the end of the requested range");
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+            position += read;
+        }
+        return length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            body.close();
+        } finally {
+            onClose.close();
+        }
+    }
+}
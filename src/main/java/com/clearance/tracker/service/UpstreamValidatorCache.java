@@ -0,0 +1,120 @@
+package com.clearance.tracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the ETag/Last-Modified validators and body of upstream responses by URL so that later fetches can be
+ * sent as conditional GETs; a 304 from upstream is answered with the remembered body. Entries outlive the
+ * CaseDataCache TTLs on purpose: an expired cache entry is revalidated instead of downloaded again.
+ */
+public class UpstreamValidatorCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamValidatorCache.class);
+
+    private final boolean enabled;
+    private final Cache<String, ValidatedBody> entries;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param maxWeight Bound on the remembered bodies, weighed like CaseDataCache entries (one unit per body plus one
+     *                  per case or history item)
+     */
+    public UpstreamValidatorCache(boolean enabled, long maxWeight, Duration expireAfterAccess, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.entries = Caffeine.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher((String url, ValidatedBody known) -> CaseDataCache.weightOf(known.body()))
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param url The upstream URL about to be fetched
+     * @return Request entity carrying If-None-Match/If-Modified-Since, or null when nothing is known about the URL
+     */
+    public HttpEntity<Void> conditionalRequest(String url) {
+        if (!enabled) {
+            return null;
+        }
+        ValidatedBody known = entries.getIfPresent(url);
+        if (known == null) {
+            return null;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (known.eTag() != null) {
+            headers.setIfNoneMatch(known.eTag());
+        }
+        if (known.lastModified() > 0) {
+            headers.setIfModifiedSince(known.lastModified());
+        }
+        return new HttpEntity<>(headers);
+    }
+
+    /**
+     * Returns the response body, or the remembered body when upstream answered 304 Not Modified. Validators of
+     * 200 responses are remembered for the next conditional request.
+     * @param resource Upstream resource name, used as the metrics tag
+     * @param url The fetched URL
+     * @param response The upstream response
+     * @param type The expected body type
+     * @param unconditionalFetch Fetches the URL again without validators, for a 304 whose remembered body was
+     *                           evicted after the conditional request was built
+     */
+    public <T> T resolve(String resource, String url, ResponseEntity<T> response, Class<T> type,
+                         Supplier<ResponseEntity<T>> unconditionalFetch) {
+        if (!enabled) {
+            return response.getBody();
+        }
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            ValidatedBody known = entries.getIfPresent(url);
+            if (known != null && type.isInstance(known.body())) {
+                counter(resource, "not-modified").increment();
+                logger.debug("Upstream {} not modified for {}, reusing remembered body", resource, url);
+                return type.cast(known.body());
+            }
+            logger.debug("Upstream answered 304 for {} but its remembered body was evicted, fetching it again", url);
+            counter(resource, "refetched").increment();
+            response = unconditionalFetch.get();
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                // Not valid without validators, but never hand back an empty body silently
+                logger.warn("Upstream answered 304 for {} to an unconditional request", url);
+                return response.getBody();
+            }
+        }
+
+        T body = response.getBody();
+        String eTag = response.getHeaders().getETag();
+        long lastModified = response.getHeaders().getLastModified();
+        if (body != null && (eTag != null || lastModified > 0)) {
+            entries.put(url, new ValidatedBody(eTag, lastModified, body));
+            counter(resource, "modified").increment();
+        } else {
+            entries.invalidate(url);
+        }
+        return body;
+    }
+
+    private Counter counter(String resource, String result) {
+        return Counter.builder("external.api.conditional.requests")
+            .description("Upstream conditional GETs, by whether upstream returned a new body, 304, or 304 for an evicted body")
+            .tag("resource", resource)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record ValidatedBody(String eTag, long lastModified, Object body) {
+    }
+}
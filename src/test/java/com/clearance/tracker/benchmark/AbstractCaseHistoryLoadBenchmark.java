@@ -0,0 +1,113 @@
+package com.clearance.tracker.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires concurrent /clearance/case-history requests against the mock profile with simulated upstream latency.
+ * Not part of the default test run (class names do not match surefire includes); run explicitly with
+ * mvn test -Dtest='*CaseHistoryBenchmark' and compare the platform and virtual thread reports.
+ */
+abstract class AbstractCaseHistoryLoadBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractCaseHistoryLoadBenchmark.class);
+
+    static final int CONCURRENT_REQUESTS = Integer.getInteger("benchmark.requests", 1000);
+    static final String SIMULATED_LATENCY_MS = "50";
+    private static final String SUBJECT_PERSONA_OBJECT_ID = "272ad768-ea92-4972-a8a5-2c270fdddd33";
+
+    @LocalServerPort
+    private int port;
+
+    abstract String mode();
+
+    @Test
+    void concurrentCaseHistoryRequests() {
+        // Warm up the servlet container, Jackson and the executor before measuring
+        runRound(50);
+
+        RoundResult result = runRound(CONCURRENT_REQUESTS);
+
+        logger.info("[{}] {} concurrent requests in {} ms -> {} req/s, p50={} ms, p99={} ms, max={} ms, status codes={}",
+                   mode(), CONCURRENT_REQUESTS, result.wallTimeMs(),
+                   String.format("%.1f", CONCURRENT_REQUESTS * 1000.0 / Math.max(1, result.wallTimeMs())),
+                   result.percentile(50), result.percentile(99), result.percentile(100), result.statusCounts());
+
+        assertEquals(CONCURRENT_REQUESTS, result.statusCounts().values().stream().mapToInt(Integer::intValue).sum());
+        // Only success or load-shedding 503s are acceptable outcomes; anything else is a correctness failure
+        assertTrue(result.statusCounts().keySet().stream().allMatch(status -> status == 200 || status == 503),
+                   "Unexpected status codes: " + result.statusCounts());
+    }
+
+    private RoundResult runRound(int requests) {
+        // The client's threads would otherwise outlive the round; HttpClient has no close() before Java 21
+        ExecutorService clientExecutor = Executors.newCachedThreadPool();
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clientExecutor)
+                .build();
+            return runRound(client, requests);
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private RoundResult runRound(HttpClient client, int requests) {
+        URI uri = URI.create("http://localhost:" + port + "/api/clearance/case-history?subjectPersonaObjectId=" + SUBJECT_PERSONA_OBJECT_ID);
+
+        long[] latenciesMs = new long[requests];
+        Map<Integer, AtomicInteger> statusCounts = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            long requestStart = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    latenciesMs[index] = (System.nanoTime() - requestStart) / 1_000_000;
+                    int status = error != null ? -1 : response.statusCode();
+                    statusCounts.computeIfAbsent(status, key -> new AtomicInteger()).incrementAndGet();
+                    return null;
+                }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+        long wallTimeMs = (System.nanoTime() - start) / 1_000_000;
+
+        Map<Integer, Integer> counts = new TreeMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.get()));
+        Arrays.sort(latenciesMs);
+        return new RoundResult(wallTimeMs, latenciesMs, counts);
+    }
+
+    private record RoundResult(long wallTimeMs, long[] sortedLatenciesMs, Map<Integer, Integer> statusCounts) {
+
+        long percentile(int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatenciesMs.length) - 1;
+            return sortedLatenciesMs[Math.max(0, Math.min(index, sortedLatenciesMs.length - 1))];
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.clearance.tracker.benchmark;
+
+import com.clearance.tracker.dto.CaseDetailsDto;
+import com.clearance.tracker.dto.CaseDto;
+import com.clearance.tracker.dto.CaseHistoryDto;
+import com.clearance.tracker.dto.CaseHistoryResponseDto;
+import com.clearance.tracker.dto.CaseListResponseDto;
+import com.clearance.tracker.dto.CombinedCaseResponse;
+import com.clearance.tracker.dto.CurrentStatusDto;
+import com.clearance.tracker.dto.EAppAccountInfoDto;
+import com.clearance.tracker.dto.MetadataDto;
+import com.clearance.tracker.dto.PIPSStatusCheckResponseDto;
+import com.clearance.tracker.dto.PyWorkPageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JMH baseline for Jackson parse and write of the DTOs on the cache-hit path: case lists of 1, 25, 250 and 2,500
+ * cases, case details (PyWorkPage with nested PIPSStatusCheckResponse), histories of 3, 50, 500 and 5,000 entries,
+ * and the combined case-history response at the corners of both ranges. Payloads are the DTOs as written by a
+ * Jackson2ObjectMapperBuilder mapper, the configuration the RestTemplate converters and Spring MVC use.
+ * Not part of the default test run; run explicitly with mvn test -Dtest=DtoSerializationBenchmark.
+ * The JMH score is operations per second; the summary logged at the end adds JSON MB/s and, from the GC profiler,
+ * bytes allocated per operation and the allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(DtoSerializationBenchmark.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private static final ObjectReader CASE_LIST_READER = OBJECT_MAPPER.readerFor(CaseListResponseDto.class);
+    private static final ObjectReader CASE_DETAILS_READER = OBJECT_MAPPER.readerFor(CaseDetailsDto.class);
+    private static final ObjectReader CASE_HISTORY_READER = OBJECT_MAPPER.readerFor(CaseHistoryResponseDto.class);
+    private static final ObjectReader COMBINED_READER = OBJECT_MAPPER.readerFor(CombinedCaseResponse.class);
+    private static final ObjectWriter WRITER = OBJECT_MAPPER.writer();
+
+    private static final String[] STATUSES = {"In Progress", "Pending Investigation", "Review - eApp Received", "Completed"};
+    private static final String[] HISTORY_EVENTS = {
+        "Agency Initiated Investigation Request.",
+        "e-QIP data received.",
+        "Fingerprint results received from FBI.",
+        "Case status updated to 'Review - eApp Received'.",
+        "Reference interview scheduled with investigator."
+    };
+    private static final Instant BASE_TIME = Instant.parse("2025-04-02T17:20:19.943Z");
+
+    @State(Scope.Benchmark)
+    public static class CaseListPayload {
+
+        @Param({"1", "25", "250", "2500"})
+        public int cases;
+
+        CaseListResponseDto value;
+        byte[] json;
+
+        @Setup
+        public void setUp() throws IOException {
+            value = caseList(cases);
+            json = WRITER.writeValueAsBytes(value);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CaseDetailsPayload {
+
+        CaseDetailsDto value;
+        byte[] json;
+
+        @Setup
+        public void setUp() throws IOException {
+            value = caseDetails(caseId(0));
+            json = WRITER.writeValueAsBytes(value);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CaseHistoryPayload {
+
+        @Param({"3", "50", "500", "5000"})
+        public int historyEntries;
+
+        CaseHistoryResponseDto value;
+        byte[] json;
+
+        @Setup
+        public void setUp() throws IOException {
+            value = caseHistory(caseId(0), historyEntries);
+            json = WRITER.writeValueAsBytes(value);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CombinedPayload {
+
+        @Param({"1", "2500"})
+        public int combinedCases;
+
+        @Param({"3", "5000"})
+        public int combinedHistoryEntries;
+
+        CombinedCaseResponse value;
+        byte[] json;
+
+        @Setup
+        public void setUp() throws IOException {
+            value = combined(combinedCases, combinedHistoryEntries);
+            json = WRITER.writeValueAsBytes(value);
+        }
+    }
+
+    @Benchmark
+    public CaseListResponseDto parseCaseList(CaseListPayload payload) throws IOException {
+        return CASE_LIST_READER.readValue(payload.json);
+    }
+
+    @Benchmark
+    public byte[] writeCaseList(CaseListPayload payload) throws IOException {
+        return WRITER.writeValueAsBytes(payload.value);
+    }
+
+    @Benchmark
+    public CaseDetailsDto parseCaseDetails(CaseDetailsPayload payload) throws IOException {
+        return CASE_DETAILS_READER.readValue(payload.json);
+    }
+
+    @Benchmark
+    public byte[] writeCaseDetails(CaseDetailsPayload payload) throws IOException {
+        return WRITER.writeValueAsBytes(payload.value);
+    }
+
+    @Benchmark
+    public CaseHistoryResponseDto parseCaseHistory(CaseHistoryPayload payload) throws IOException {
+        return CASE_HISTORY_READER.readValue(payload.json);
+    }
+
+    @Benchmark
+    public byte[] writeCaseHistory(CaseHistoryPayload payload) throws IOException {
+        return WRITER.writeValueAsBytes(payload.value);
+    }
+
+    @Benchmark
+    public CombinedCaseResponse parseCombined(CombinedPayload payload) throws IOException {
+        return COMBINED_READER.readValue(payload.json);
+    }
+
+    @Benchmark
+    public byte[] writeCombined(CombinedPayload payload) throws IOException {
+        return WRITER.writeValueAsBytes(payload.value);
+    }
+
+    @Test
+    void parseAndWriteThroughputAndAllocation() throws RunnerException, IOException {
+        // A lossy mapping (e.g. an uppercase property silently dropped) would make the numbers meaningless
+        CombinedCaseResponse sample = combined(25, 50);
+        assertEquals(sample, COMBINED_READER.readValue(WRITER.writeValueAsBytes(sample)));
+
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+            .include(DtoSerializationBenchmark.class.getName() + "\\.")
+            .addProfiler(GCProfiler.class)
+            .build())
+            .run();
+
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            String benchmark = params.getBenchmark().substring(params.getBenchmark().lastIndexOf('.') + 1);
+            double opsPerSecond = result.getPrimaryResult().getScore();
+            int jsonBytes = payloadBytes(benchmark, params);
+            logger.info("[{}] {}: {} ops/s, {} KB JSON -> {} MB/s, {} B/op allocated ({} MB/s)",
+                       benchmark,
+                       params.getParamsKeys().stream().map(key -> key + "=" + params.getParam(key)).collect(Collectors.joining(", ")),
+                       String.format("%.1f", opsPerSecond),
+                       String.format("%.1f", jsonBytes / 1024.0),
+                       String.format("%.1f", opsPerSecond * jsonBytes / (1024 * 1024)),
+                       String.format("%.0f", secondaryScore(result, "gc.alloc.rate.norm")),
+                       String.format("%.1f", secondaryScore(result, "gc.alloc.rate")));
+        }
+    }
+
+    private static double secondaryScore(RunResult result, String name) {
+        for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+            // Older JMH versions prefix profiler results with a middle dot
+            if (secondary.getKey().endsWith(name) && secondary.getKey().length() <= name.length() + 1) {
+                return secondary.getValue().getScore();
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static int payloadBytes(String benchmark, BenchmarkParams params) throws IOException {
+        Object payload;
+        if (benchmark.endsWith("CaseList")) {
+            payload = caseList(Integer.parseInt(params.getParam("cases")));
+        } else if (benchmark.endsWith("CaseDetails")) {
+            payload = caseDetails(caseId(0));
+        } else if (benchmark.endsWith("CaseHistory")) {
+            payload = caseHistory(caseId(0), Integer.parseInt(params.getParam("historyEntries")));
+        } else {
+            payload = combined(Integer.parseInt(params.getParam("combinedCases")),
+                               Integer.parseInt(params.getParam("combinedHistoryEntries")));
+        }
+        return WRITER.writeValueAsBytes(payload).length;
+    }
+
+    private static String caseId(int i) {
+        return "25092CASE" + (1329752 + i);
+    }
+
+    private static CaseListResponseDto caseList(int cases) {
+        List<CaseDto> list = new ArrayList<>(cases);
+        for (int i = 0; i < cases; i++) {
+            Instant created = BASE_TIME.plus(i, ChronoUnit.HOURS);
+            list.add(new CaseDto(caseId(i), STATUSES[i % STATUSES.length],
+                                 String.format("272ad768-ea92-4972-a8a5-%012x", 0x2c270fdddd33L + i),
+                                 created.toString(), created.plus(107, ChronoUnit.DAYS).toString(),
+                                 i % 3 == 2 ? "No" : "Yes"));
+        }
+        return new CaseListResponseDto(list, new MetadataDto(cases, 1, cases, 1));
+    }
+
+    private static CaseDetailsDto caseDetails(String nbisId) {
+        PIPSStatusCheckResponseDto pipsResponse = new PIPSStatusCheckResponseDto("N", "Y",
+            new CurrentStatusDto("RLTP", "Released to Parent Agency"));
+        return new CaseDetailsDto(new PyWorkPageDto(
+            "dcas884617ORG1121PVQABC", "Review - eApp Received", "272ad768-ea92-4972-a8a5-2c270fdddd33", nbisId,
+            "2025-04-02T17:20:19.943Z", "System", "2025-07-18T17:06:45.517Z", "System",
+            "Example Org", "/Example/Org/Path", "High", "PVQ-A-B-C", "2023",
+            new EAppAccountInfoDto("Initiated/Untouched by Applicant", "Released to Agency"),
+            pipsResponse, "Completed", "2025-07-20", "Yes"));
+    }
+
+    private static CaseHistoryResponseDto caseHistory(String nbisId, int entries) {
+        List<CaseHistoryDto> history = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            history.add(new CaseHistoryDto(BASE_TIME.plus(i * 7L, ChronoUnit.HOURS).toString(),
+                                           HISTORY_EVENTS[i % HISTORY_EVENTS.length],
+                                           i % 2 == 0 ? "System" : "e-QIP Integration"));
+        }
+        return new CaseHistoryResponseDto(nbisId, history);
+    }
+
+    private static CombinedCaseResponse combined(int cases, int historyEntries) {
+        String selectedCaseId = caseId(0);
+        return new CombinedCaseResponse(caseList(cases), caseDetails(selectedCaseId),
+                                        caseHistory(selectedCaseId, historyEntries), selectedCaseId);
+    }
+}
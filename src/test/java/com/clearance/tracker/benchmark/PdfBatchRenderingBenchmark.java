@@ -0,0 +1,92 @@
+package com.clearance.tracker.benchmark;
+
+import com.clearance.tracker.dto.PdfContent;
+import com.clearance.tracker.dto.PdfRenderResult;
+import com.clearance.tracker.service.MockPdfGeneratorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares documents per second of the single-document path (generatePdf in a loop on one thread) with the batch
+ * API on a pool sized to the available processors. Not part of the default test run; run explicitly with
+ * mvn test -Dtest=PdfBatchRenderingBenchmark -Dbenchmark.documents=2000
+ */
+class PdfBatchRenderingBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfBatchRenderingBenchmark.class);
+
+    private static final int DOCUMENTS = Integer.getInteger("benchmark.documents", 1000);
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+    private MockPdfGeneratorService pdfGeneratorService;
+    private ExecutorService pdfRenderExecutor;
+
+    @BeforeEach
+    void setUp() {
+        pdfRenderExecutor = Executors.newFixedThreadPool(THREADS);
+        pdfGeneratorService = new MockPdfGeneratorService();
+        ReflectionTestUtils.setField(pdfGeneratorService, "pdfRenderExecutor", pdfRenderExecutor);
+        ReflectionTestUtils.setField(pdfGeneratorService, "maxInFlight", THREADS * 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pdfRenderExecutor.shutdownNow();
+    }
+
+    @Test
+    void batchVersusSingleDocumentThroughput() {
+        List<PdfContent> documents = IntStream.range(0, DOCUMENTS).mapToObj(PdfBatchRenderingBenchmark::document).toList();
+
+        // Warm up iText class loading, fonts and the JIT before measuring either path
+        documents.subList(0, Math.min(100, DOCUMENTS)).forEach(pdfGeneratorService::generatePdf);
+        pdfGeneratorService.generatePdfs(documents.subList(0, Math.min(100, DOCUMENTS)));
+
+        long singleStart = System.nanoTime();
+        long singleBytes = 0;
+        for (PdfContent document : documents) {
+            singleBytes += pdfGeneratorService.generatePdf(document).length;
+        }
+        long singleMs = Math.max(1, (System.nanoTime() - singleStart) / 1_000_000);
+
+        long batchStart = System.nanoTime();
+        List<PdfRenderResult> results = pdfGeneratorService.generatePdfs(documents);
+        long batchMs = Math.max(1, (System.nanoTime() - batchStart) / 1_000_000);
+        long batchBytes = results.stream().mapToLong(result -> result.getPdf().length).sum();
+
+        logger.info("[single-document] {} documents in {} ms -> {} docs/s ({} bytes)",
+                   DOCUMENTS, singleMs, String.format("%.1f", DOCUMENTS * 1000.0 / singleMs), singleBytes);
+        logger.info("[batch x{} threads] {} documents in {} ms -> {} docs/s ({} bytes), speedup {}x",
+                   THREADS, DOCUMENTS, batchMs, String.format("%.1f", DOCUMENTS * 1000.0 / batchMs), batchBytes,
+                   String.format("%.2f", (double) singleMs / batchMs));
+
+        assertEquals(DOCUMENTS, results.size());
+        assertTrue(results.stream().allMatch(PdfRenderResult::isSuccess));
+    }
+
+    private static PdfContent document(int i) {
+        StringBuilder content = new StringBuilder("INVESTIGATION REPORT\n\n");
+        for (int section = 1; section <= 5; section++) {
+            content.append("SECTION ").append(section).append(": FINDINGS\n");
+            for (int line = 0; line < 10; line++) {
+                content.append("Interview ").append(line).append(" confirmed the subject's employment history.\n");
+            }
+            content.append('\n');
+        }
+        content.append("CONCLUSION\nNo adverse information found.");
+        return new PdfContent((long) i, "CASE" + i, "Investigation Report " + i, "Report", "REPORT_" + i + ".pdf",
+                              content.toString(), LocalDateTime.now(), "Benchmark", "submitted");
+    }
+}
@@ -0,0 +1,175 @@
+package com.clearance.tracker.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.clearance.tracker.dto.PdfContent;
+import com.clearance.tracker.service.MockPdfGeneratorService;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.properties.TextAlignment;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the precompiled PdfContent template (MockPdfGeneratorService.generatePdf) with the previous
+ * per-line implementation (regex per line, styles and date format rebuilt per use), on 1, 10 and 100-page reports.
+ * Not part of the default test run; run explicitly with mvn test -Dtest=PdfTemplateRenderingBenchmark.
+ * The JMH score is documents per second; the summary logged at the end converts it to pages per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfTemplateRenderingBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfTemplateRenderingBenchmark.class);
+
+    // Roughly one A4 page of report content at the template's font sizes
+    private static final int LINES_PER_PAGE = 34;
+
+    @Param({"1", "10", "100"})
+    public int pages;
+
+    private PdfContent report;
+    private MockPdfGeneratorService pdfGeneratorService;
+
+    @Setup
+    public void setUp() {
+        // Per-document INFO logging would otherwise dominate the measurement
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(MockPdfGeneratorService.class)).setLevel(Level.WARN);
+        report = report(pages);
+        pdfGeneratorService = new MockPdfGeneratorService();
+    }
+
+    @Benchmark
+    public byte[] precompiledTemplate() {
+        return pdfGeneratorService.generatePdf(report);
+    }
+
+    @Benchmark
+    public byte[] perLineRegex() {
+        return renderWithPerLineRegex(report);
+    }
+
+    @Test
+    void precompiledTemplateVersusPerLineRegex() throws RunnerException, IOException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+            .include(PdfTemplateRenderingBenchmark.class.getName() + "\\.")
+            .build())
+            .run();
+
+        Map<Integer, Integer> actualPages = new HashMap<>();
+        for (RunResult result : results) {
+            int requestedPages = Integer.parseInt(result.getParams().getParam("pages"));
+            int renderedPages = actualPages.computeIfAbsent(requestedPages, PdfTemplateRenderingBenchmark::countRenderedPages);
+            double documentsPerSecond = result.getPrimaryResult().getScore();
+            logger.info("[{}] {} page report ({} rendered pages): {} docs/s -> {} pages/s",
+                       result.getParams().getBenchmark().substring(result.getParams().getBenchmark().lastIndexOf('.') + 1),
+                       requestedPages, renderedPages,
+                       String.format("%.1f", documentsPerSecond),
+                       String.format("%.1f", documentsPerSecond * renderedPages));
+        }
+    }
+
+    private static int countRenderedPages(int pages) {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(MockPdfGeneratorService.class)).setLevel(Level.WARN);
+        byte[] pdf = new MockPdfGeneratorService().generatePdf(report(pages));
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            return document.getNumberOfPages();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static PdfContent report(int pages) {
+        StringBuilder content = new StringBuilder();
+        for (int page = 1; page <= pages; page++) {
+            content.append("INVESTIGATION SUMMARY:\n");
+            for (int section = 1; section <= 4; section++) {
+                content.append("SECTION ").append(page).append('.').append(section).append(": REFERENCE INTERVIEWS\n");
+                for (int line = 0; line < LINES_PER_PAGE / 4 - 2; line++) {
+                    content.append("Reference ").append(line)
+                        .append(" confirmed the subject's residence and employment between 2015 and 2020.\n");
+                }
+                content.append('\n');
+            }
+        }
+        content.append("CONCLUSION\nNo disqualifying information was developed.");
+        return new PdfContent(1L, "25092CASE1329752", "Report of Investigation", "Investigation", "ROI.pdf",
+                              content.toString(), LocalDateTime.of(2025, 7, 29, 12, 0), "Investigator", "completed");
+    }
+
+    /**
+     * The rendering loop as it was before the precompiled template, kept verbatim as the baseline
+     */
+    private static byte[] renderWithPerLineRegex(PdfContent pdfContent) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Document document = new Document(new PdfDocument(new PdfWriter(baos)));
+
+        document.add(new Paragraph(pdfContent.getDocumentName())
+            .setFontSize(18)
+            .setBold()
+            .setTextAlignment(TextAlignment.CENTER));
+        document.add(new Paragraph("\n"));
+        document.add(new Paragraph("Document Type: " + pdfContent.getDocumentType()).setFontSize(12));
+        document.add(new Paragraph("Case ID: " + pdfContent.getCaseId()).setFontSize(12));
+        document.add(new Paragraph("File Name: " + pdfContent.getFileName()).setFontSize(12));
+        if (pdfContent.getUploadDate() != null) {
+            document.add(new Paragraph("Upload Date: " +
+                pdfContent.getUploadDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
+                .setFontSize(12));
+        }
+        if (pdfContent.getUploadedBy() != null) {
+            document.add(new Paragraph("Uploaded By: " + pdfContent.getUploadedBy()).setFontSize(12));
+        }
+        document.add(new Paragraph("Status: " + pdfContent.getStatus()).setFontSize(12));
+        document.add(new Paragraph("\n" + "─".repeat(80) + "\n").setFontSize(10));
+
+        String[] lines = pdfContent.getContent().split("\n");
+        for (String line : lines) {
+            if (line.trim().isEmpty()) {
+                document.add(new Paragraph(" ").setFontSize(8));
+            } else if (line.trim().matches("^[A-Z\\s]+:?$")) {
+                document.add(new Paragraph(line).setFontSize(14).setBold());
+            } else if (line.startsWith("SECTION ") || line.startsWith("CONCLUSION") ||
+                      line.startsWith("FINDINGS") || line.startsWith("RECOMMENDATA")) {
+                document.add(new Paragraph(line).setFontSize(12).setBold());
+            } else {
+                document.add(new Paragraph(line).setFontSize(10));
+            }
+        }
+
+        document.close();
+        return baos.toByteArray();
+    }
+}
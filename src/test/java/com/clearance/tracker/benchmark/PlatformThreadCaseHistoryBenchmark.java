@@ -0,0 +1,24 @@
+package com.clearance.tracker.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.threads.virtual.enabled=false",
+    "mock.service.latency-ms=" + AbstractCaseHistoryLoadBenchmark.SIMULATED_LATENCY_MS,
+    // Measure the upstream fan-out itself, not cache and coalescing hits
+    "external.api.cache.enabled=false",
+    "external.api.coalescing.enabled=false",
+    "logging.level.com.clearance.tracker=WARN",
+    "logging.level.com.clearance.tracker.service.MockExternalApiService=WARN",
+    "logging.level.com.clearance.tracker.benchmark=INFO",
+    "logging.level.org.springframework.web=WARN"
+})
+@ActiveProfiles("mock")
+class PlatformThreadCaseHistoryBenchmark extends AbstractCaseHistoryLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "platform-threads";
+    }
+}
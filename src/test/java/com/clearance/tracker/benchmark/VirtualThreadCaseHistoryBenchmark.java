@@ -0,0 +1,27 @@
+package com.clearance.tracker.benchmark;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.threads.virtual.enabled=true",
+    "mock.service.latency-ms=" + AbstractCaseHistoryLoadBenchmark.SIMULATED_LATENCY_MS,
+    // Measure the upstream fan-out itself, not cache and coalescing hits
+    "external.api.cache.enabled=false",
+    "external.api.coalescing.enabled=false",
+    "logging.level.com.clearance.tracker=WARN",
+    "logging.level.com.clearance.tracker.service.MockExternalApiService=WARN",
+    "logging.level.com.clearance.tracker.benchmark=INFO",
+    "logging.level.org.springframework.web=WARN"
+})
+@ActiveProfiles("mock")
+class VirtualThreadCaseHistoryBenchmark extends AbstractCaseHistoryLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual-threads";
+    }
+}
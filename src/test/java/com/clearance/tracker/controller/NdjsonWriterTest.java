@@ -0,0 +1,55 @@
+package com.clearance.tracker.controller;
+
+import com.clearance.tracker.dto.MetadataDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonWriterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void testWritesOneRecordPerLine() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        try (NdjsonWriter ndjson = new NdjsonWriter(objectMapper, out)) {
+            ndjson.write(new MetadataDto(1));
+            ndjson.write(new MetadataDto(2));
+        }
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        assertEquals(1, objectMapper.readValue(lines[0], MetadataDto.class).getTotalCases());
+        assertEquals(2, objectMapper.readValue(lines[1], MetadataDto.class).getTotalCases());
+    }
+
+    @Test
+    void testRecordsReachTheStreamOnlyOnFlush() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (NdjsonWriter ndjson = new NdjsonWriter(objectMapper, out)) {
+            // Act
+            ndjson.write(new MetadataDto(1));
+            int beforeFlush = out.size();
+            ndjson.flush();
+
+            // Assert
+            assertEquals(0, beforeFlush);
+            assertEquals(List.of(objectMapper.writeValueAsString(new MetadataDto(1))),
+                out.toString(StandardCharsets.UTF_8).lines().toList());
+        }
+    }
+}
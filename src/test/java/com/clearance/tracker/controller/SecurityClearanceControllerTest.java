@@ -0,0 +1,266 @@
+package com.clearance.tracker.controller;
+
+import com.clearance.tracker.config.PdfByteRangesHttpMessageConverter;
+import com.clearance.tracker.config.UpstreamPdfStreamHttpMessageConverter;
+import com.clearance.tracker.dto.CaseDto;
+import com.clearance.tracker.dto.CaseHistoryBatchItem;
+import com.clearance.tracker.dto.CaseHistoryBatchRequest;
+import com.clearance.tracker.dto.CaseListResponseDto;
+import com.clearance.tracker.dto.ErrorResponse;
+import com.clearance.tracker.dto.MetadataDto;
+import com.clearance.tracker.exception.ApplicationException;
+import com.clearance.tracker.service.CasePageIterator;
+import com.clearance.tracker.service.DeadlinePolicy;
+import com.clearance.tracker.service.ExternalApiService;
+import com.clearance.tracker.service.PdfDiskCache;
+import com.clearance.tracker.service.UpstreamPdfStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityClearanceControllerTest {
+
+    private static final String CASE_ID = "25092CASE1329752";
+    private static final String SUBJECT_PERSONA_OBJECT_ID = "272ad768-ea92-4972-a8a5-2c270fdddd33";
+    private static final byte[] PDF = "%PDF-1.7 0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private ExternalApiService externalApiService;
+
+    @Mock
+    private CasePageIterator pages;
+
+    @TempDir
+    Path pdfCacheDirectory;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private SecurityClearanceController controller;
+    private PdfDiskCache pdfDiskCache;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DeadlinePolicy deadlinePolicy = new DeadlinePolicy();
+        ReflectionTestUtils.setField(deadlinePolicy, "defaultBudgetMs", 8_000L);
+        ReflectionTestUtils.setField(deadlinePolicy, "maxBudgetMs", 30_000L);
+        ReflectionTestUtils.setField(deadlinePolicy, "listStageShare", 0.4);
+        ReflectionTestUtils.setField(deadlinePolicy, "batchDefaultBudgetMs", 60_000L);
+        ReflectionTestUtils.setField(deadlinePolicy, "batchMaxBudgetMs", 120_000L);
+        controller = new SecurityClearanceController();
+        ReflectionTestUtils.setField(controller, "externalApiService", externalApiService);
+        ReflectionTestUtils.setField(controller, "deadlinePolicy", deadlinePolicy);
+        ReflectionTestUtils.setField(controller, "objectMapper", objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+            .setMessageConverters(new PdfByteRangesHttpMessageConverter(), new UpstreamPdfStreamHttpMessageConverter(),
+                                  new MappingJackson2HttpMessageConverter())
+            .build();
+
+        // Cache the PDF so downloads are served from a seekable file, as on a disk cache hit
+        pdfDiskCache = new PdfDiskCache(true, pdfCacheDirectory, 1_000_000, 1_000_000, 16, new SimpleMeterRegistry());
+        try (UpstreamPdfStream filling = pdfDiskCache.populateWhileStreaming("key", UpstreamPdfStream.of(PDF, 16))) {
+            filling.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Test
+    void testDownloadPdf_DisjointRangesServedAsPartialContent() throws Exception {
+        // Arrange
+        when(externalApiService.openLatestPdf(CASE_ID)).thenReturn(pdfDiskCache.open("key"));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/clearance/pdf-download/" + CASE_ID).header(HttpHeaders.RANGE, "bytes=9-18"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 9-18/" + PDF.length))
+            .andReturn();
+
+        // Assert
+        assertEquals("0123456789", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void testDownloadPdf_OverlappingRangesServeWholePdfOnce() throws Exception {
+        // Arrange
+        when(externalApiService.openLatestPdf(CASE_ID)).thenReturn(pdfDiskCache.open("key"));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/clearance/pdf-download/" + CASE_ID)
+                .header(HttpHeaders.RANGE, "bytes=0-,0-,0-,0-,0-"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        // Assert
+        assertNull(result.getResponse().getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(PDF, result.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void testStreamCases_FlushesOneLinePerCaseAfterEachPage() throws Exception {
+        // Arrange
+        when(externalApiService.openCasePages(SUBJECT_PERSONA_OBJECT_ID)).thenReturn(pages);
+        when(pages.next()).thenReturn(casePage("CASE1", "CASE2"), casePage("CASE3"));
+        when(pages.hasNext()).thenReturn(true, false);
+        FlushRecordingOutputStream out = new FlushRecordingOutputStream();
+
+        // Act
+        streamCases().writeTo(out);
+
+        // Assert: page 1's cases reached the client before page 2 was read
+        assertEquals(List.of("CASE1", "CASE2"), caseIds(out.flushed.get(0)));
+        assertEquals(List.of("CASE1", "CASE2", "CASE3"), caseIds(out.toString(StandardCharsets.UTF_8)));
+        verify(pages, times(2)).next();
+    }
+
+    @Test
+    void testStreamCases_LaterPageFailureEndsWithErrorLine() throws Exception {
+        // Arrange
+        when(externalApiService.openCasePages(SUBJECT_PERSONA_OBJECT_ID)).thenReturn(pages);
+        when(pages.next()).thenReturn(casePage("CASE1"))
+            .thenThrow(new ApplicationException(ApplicationException.UPSTREAM_CIRCUIT_OPEN, "Upstream cases-list is unavailable"));
+        when(pages.hasNext()).thenReturn(true);
+        FlushRecordingOutputStream out = new FlushRecordingOutputStream();
+
+        // Act
+        streamCases().writeTo(out);
+
+        // Assert
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals("CASE1", objectMapper.readValue(lines.get(0), CaseDto.class).getNBISCaseID());
+        ErrorResponse error = objectMapper.readValue(lines.get(1), ErrorResponse.class);
+        assertEquals(ApplicationException.UPSTREAM_CIRCUIT_OPEN, error.getErrorCode());
+    }
+
+    @Test
+    void testStreamCases_MissingLaterPageEndsWithErrorLine() throws Exception {
+        // Arrange - upstream returned no body for page 2 of 3
+        when(externalApiService.openCasePages(SUBJECT_PERSONA_OBJECT_ID)).thenReturn(pages);
+        when(pages.next()).thenReturn(casePage("CASE1"), (CaseListResponseDto) null);
+        when(pages.hasNext()).thenReturn(true);
+        when(pages.getPagesRead()).thenReturn(2);
+        when(pages.getTotalPages()).thenReturn(3);
+        FlushRecordingOutputStream out = new FlushRecordingOutputStream();
+
+        // Act
+        streamCases().writeTo(out);
+
+        // Assert
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        ErrorResponse error = objectMapper.readValue(lines.get(1), ErrorResponse.class);
+        assertEquals(ApplicationException.DEFAULT_ERROR_CODE, error.getErrorCode());
+        assertTrue(error.getErrorMessage().contains("no page 2 of 3"));
+    }
+
+    @Test
+    void testStreamCases_ClientDisconnectStopsReadingPages() throws Exception {
+        // Arrange
+        when(externalApiService.openCasePages(SUBJECT_PERSONA_OBJECT_ID)).thenReturn(pages);
+        when(pages.next()).thenReturn(casePage("CASE1"));
+        FlushRecordingOutputStream out = new FlushRecordingOutputStream();
+        out.disconnected = true;
+        StreamingResponseBody body = streamCases();
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> body.writeTo(out));
+        verify(pages, times(1)).next();
+    }
+
+    @Test
+    void testStreamCaseHistoryBatch_ClientDisconnectStopsBatch() throws Exception {
+        // Arrange
+        List<String> subjectIds = List.of("subject-1", "subject-2");
+        when(externalApiService.normalizeBatchSubjectIds(subjectIds)).thenReturn(subjectIds);
+        List<Object> delivered = new ArrayList<>();
+        doAnswer(invocation -> {
+            Consumer<Object> onItem = invocation.getArgument(1);
+            for (int index = 0; index < subjectIds.size(); index++) {
+                CaseHistoryBatchItem item = CaseHistoryBatchItem.failure(index, subjectIds.get(index), 9001, "saturated", 1);
+                onItem.accept(item);
+                delivered.add(item);
+            }
+            return null;
+        }).when(externalApiService).streamCaseHistoryBatch(eq(subjectIds), any());
+        FlushRecordingOutputStream out = new FlushRecordingOutputStream();
+        out.disconnected = true;
+        ResponseEntity<StreamingResponseBody> response = controller.streamCaseHistoryBatch(
+            new CaseHistoryBatchRequest(subjectIds), null, new MockHttpServletRequest("POST", "/clearance/case-history:batch"));
+
+        // Act & Assert: the failed write surfaces as an IOException and no further item is produced
+        assertThrows(IOException.class, () -> response.getBody().writeTo(out));
+        assertTrue(delivered.isEmpty());
+    }
+
+    private StreamingResponseBody streamCases() {
+        ResponseEntity<StreamingResponseBody> response = controller.streamCases(SUBJECT_PERSONA_OBJECT_ID, null,
+            new MockHttpServletRequest("GET", "/clearance/cases"));
+        assertEquals(200, response.getStatusCode().value());
+        return response.getBody();
+    }
+
+    private static CaseListResponseDto casePage(String... caseIds) {
+        List<CaseDto> cases = new ArrayList<>();
+        for (String caseId : caseIds) {
+            cases.add(new CaseDto(caseId, "In Progress", SUBJECT_PERSONA_OBJECT_ID,
+                "2025-04-02T17:20:19.943Z", "2025-07-18T17:06:45.517Z", "Yes"));
+        }
+        return new CaseListResponseDto(cases, new MetadataDto(cases.size()));
+    }
+
+    private List<String> caseIds(String ndjson) throws IOException {
+        List<String> caseIds = new ArrayList<>();
+        for (String line : ndjson.lines().toList()) {
+            caseIds.add(objectMapper.readValue(line, CaseDto.class).getNBISCaseID());
+        }
+        return caseIds;
+    }
+
+    /**
+     * Keeps what had been written at each flush; when disconnected, fails like a client that went away
+     */
+    private static final class FlushRecordingOutputStream extends ByteArrayOutputStream {
+
+        private final List<String> flushed = new ArrayList<>();
+        private boolean disconnected;
+
+        @Override
+        public void flush() throws IOException {
+            if (disconnected) {
+                throw new IOException("Broken pipe");
+            }
+            flushed.add(toString(StandardCharsets.UTF_8));
+        }
+    }
+}
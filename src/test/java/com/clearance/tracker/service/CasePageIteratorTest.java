@@ -0,0 +1,96 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.dto.CaseListResponseDto;
+import com.clearance.tracker.dto.MetadataDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CasePageIteratorTest {
+
+    private final List<String> loads = new ArrayList<>();
+
+    @Test
+    void testNext_LoadsEachPageOnDemandWithFirstPageSize() throws Exception {
+        // Arrange
+        CasePageIterator pages = new CasePageIterator(this::load, 10);
+
+        // Act & Assert: nothing is loaded until the caller asks for a page
+        assertTrue(pages.hasNext());
+        assertEquals(-1, pages.getTotalPages());
+        assertTrue(loads.isEmpty());
+
+        assertEquals(1, pages.next().getMetadata().getPage());
+        assertEquals(3, pages.getTotalPages());
+        assertEquals(List.of("1:null"), loads);
+
+        assertEquals(2, pages.next().getMetadata().getPage());
+        assertTrue(pages.hasNext());
+        assertEquals(3, pages.next().getMetadata().getPage());
+
+        assertFalse(pages.hasNext());
+        assertNull(pages.next());
+        assertEquals(3, pages.getPagesRead());
+        assertEquals(List.of("1:null", "2:25", "3:25"), loads);
+    }
+
+    @Test
+    void testNext_StopsAtMaxPages() throws Exception {
+        // Arrange
+        CasePageIterator pages = new CasePageIterator(this::load, 2);
+
+        // Act
+        pages.next();
+        pages.next();
+
+        // Assert
+        assertEquals(2, pages.getTotalPages());
+        assertFalse(pages.hasNext());
+        assertNull(pages.next());
+        assertEquals(List.of("1:null", "2:25"), loads);
+    }
+
+    @Test
+    void testOf_ReturnsCachedListAsSinglePageWithoutLoading() throws Exception {
+        // Arrange
+        CaseListResponseDto cached = page(1);
+
+        // Act
+        CasePageIterator pages = CasePageIterator.of(cached);
+
+        // Assert
+        assertEquals(1, pages.getTotalPages());
+        assertTrue(pages.hasNext());
+        assertSame(cached, pages.next());
+        assertFalse(pages.hasNext());
+        assertNull(pages.next());
+        assertEquals(1, pages.getPagesRead());
+    }
+
+    @Test
+    void testNext_NullFirstPageEndsIteration() throws Exception {
+        // Arrange
+        CasePageIterator pages = new CasePageIterator((page, pageSize) -> null, 10);
+
+        // Act
+        CaseListResponseDto first = pages.next();
+
+        // Assert
+        assertNull(first);
+        assertEquals(1, pages.getTotalPages());
+        assertEquals(1, pages.getPagesRead());
+        assertFalse(pages.hasNext());
+    }
+
+    private CaseListResponseDto load(int page, Integer pageSize) {
+        loads.add(page + ":" + pageSize);
+        return page(page);
+    }
+
+    private static CaseListResponseDto page(int page) {
+        return new CaseListResponseDto(new ArrayList<>(), new MetadataDto(60, page, 25, 3));
+    }
+}
@@ -0,0 +1,115 @@
+package com.clearance.tracker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CasePrefetcherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<String> warmed;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        warmed = new ArrayList<>();
+    }
+
+    @Test
+    void testLookupOfPrefetchedCaseIsHitAndOthersAreMisses() {
+        // Arrange
+        CasePrefetcher prefetcher = newPrefetcher(2, 2);
+        prefetcher.prefetch(List.of("CASE1", "CASE2", "CASE3"), Runnable::run, warmed::add);
+
+        // Act
+        prefetcher.recordLookup("CASE1", true);
+        prefetcher.recordLookup("CASE3", false);
+
+        // Assert
+        assertEquals(List.of("CASE1", "CASE2"), warmed);
+        assertEquals(1.0, count("external.api.prefetch.lookups", "hit"));
+        assertEquals(1.0, count("external.api.prefetch.lookups", "miss"));
+        assertEquals(1.0, count("external.api.prefetch.outcomes", "used"));
+    }
+
+    @Test
+    void testPrefetchedCaseEvictedBeforeLookupCountsAsUnused() {
+        // Arrange
+        CasePrefetcher prefetcher = newPrefetcher(1, 1);
+        prefetcher.prefetch(List.of("CASE1"), Runnable::run, warmed::add);
+
+        // Act - the case data cache no longer holds it
+        prefetcher.recordLookup("CASE1", false);
+
+        // Assert
+        assertEquals(1.0, count("external.api.prefetch.lookups", "miss"));
+        assertEquals(1.0, count("external.api.prefetch.outcomes", "unused"));
+        assertEquals(0.0, count("external.api.prefetch.outcomes", "used"));
+    }
+
+    @Test
+    void testCandidatesBeyondInFlightBudgetAreSkippedNotQueued() {
+        // Arrange - tasks are held, so every permit stays taken
+        List<Runnable> held = new ArrayList<>();
+        CasePrefetcher prefetcher = newPrefetcher(3, 1);
+
+        // Act
+        prefetcher.prefetch(List.of("CASE1", "CASE2", "CASE3"), held::add, warmed::add);
+        held.forEach(Runnable::run);
+        prefetcher.prefetch(List.of("CASE4"), Runnable::run, warmed::add);
+
+        // Assert
+        assertEquals(List.of("CASE1", "CASE4"), warmed);
+        assertEquals(2.0, count("external.api.prefetch.tasks", "skipped"));
+        assertEquals(2.0, count("external.api.prefetch.tasks", "completed"));
+    }
+
+    @Test
+    void testFailedAndRejectedPrefetchesAreCountedAndReleasePermits() {
+        // Arrange
+        CasePrefetcher prefetcher = newPrefetcher(1, 1);
+        Executor rejecting = task -> { throw new RejectedExecutionException("queue full"); };
+
+        // Act
+        prefetcher.prefetch(List.of("CASE1"), rejecting, warmed::add);
+        prefetcher.prefetch(List.of("CASE2"), Runnable::run, caseId -> { throw new IllegalStateException("upstream down"); });
+        prefetcher.prefetch(List.of("CASE3"), Runnable::run, warmed::add);
+        prefetcher.recordLookup("CASE2", false);
+
+        // Assert
+        assertEquals(List.of("CASE3"), warmed);
+        assertEquals(1.0, count("external.api.prefetch.tasks", "skipped"));
+        assertEquals(1.0, count("external.api.prefetch.tasks", "failed"));
+        assertEquals(1.0, count("external.api.prefetch.lookups", "miss"));
+    }
+
+    @Test
+    void testDisabledPrefetcherDoesNothing() {
+        // Arrange
+        CasePrefetcher prefetcher = CasePrefetcher.disabled();
+
+        // Act
+        prefetcher.prefetch(List.of("CASE1"), Runnable::run, warmed::add);
+        prefetcher.recordLookup("CASE1", true);
+
+        // Assert
+        assertFalse(prefetcher.isEnabled());
+        assertTrue(warmed.isEmpty());
+    }
+
+    private CasePrefetcher newPrefetcher(int maxCandidates, int maxInFlight) {
+        return new CasePrefetcher(true, maxCandidates, maxInFlight, 1000, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    private double count(String name, String result) {
+        return meterRegistry.get(name).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,65 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.dto.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaseResponseETagsTest {
+
+    private static final String CASE_ID = "25092CASE1329752";
+
+    private final CaseResponseETags caseResponseETags = new CaseResponseETags();
+
+    @Test
+    void testForCaseDetailsAndHistory_StableForSameVersion() {
+        // Act
+        String first = caseResponseETags.forCaseDetailsAndHistory(response("2025-07-18T17:06:45.517Z", 2));
+        String second = caseResponseETags.forCaseDetailsAndHistory(response("2025-07-18T17:06:45.517Z", 2));
+
+        // Assert
+        assertEquals(first, second);
+        assertTrue(first.startsWith("\"") && first.endsWith("\""), "ETag must be a quoted strong validator");
+    }
+
+    @Test
+    void testForCaseDetailsAndHistory_ChangesWithUpdateTimeOrHistorySize() {
+        // Act
+        String original = caseResponseETags.forCaseDetailsAndHistory(response("2025-07-18T17:06:45.517Z", 2));
+        String updated = caseResponseETags.forCaseDetailsAndHistory(response("2025-07-21T08:00:00.000Z", 2));
+        String newHistoryItem = caseResponseETags.forCaseDetailsAndHistory(response("2025-07-18T17:06:45.517Z", 3));
+
+        // Assert
+        assertNotEquals(original, updated);
+        assertNotEquals(original, newHistoryItem);
+    }
+
+    @Test
+    void testMatches_IfNoneMatchVariants() {
+        // Arrange
+        String eTag = caseResponseETags.forCaseDetailsAndHistory(response("2025-07-18T17:06:45.517Z", 2));
+
+        // Act & Assert
+        assertTrue(caseResponseETags.matches(eTag, eTag));
+        assertTrue(caseResponseETags.matches("\"other\", " + eTag, eTag));
+        assertTrue(caseResponseETags.matches("W/" + eTag, eTag));
+        assertTrue(caseResponseETags.matches("*", eTag));
+        assertFalse(caseResponseETags.matches("\"other\"", eTag));
+        assertFalse(caseResponseETags.matches(null, eTag));
+    }
+
+    private static CaseDetailsAndHistoryResponse response(String pxUpdateDateTime, int historySize) {
+        PyWorkPageDto pyWorkPage = new PyWorkPageDto();
+        pyWorkPage.setNBISCaseID(CASE_ID);
+        pyWorkPage.setDISAStatus("In Progress");
+        pyWorkPage.setPxUpdateDateTime(pxUpdateDateTime);
+        List<CaseHistoryDto> history = new ArrayList<>();
+        for (int i = 0; i < historySize; i++) {
+            history.add(new CaseHistoryDto("2025-06-0" + (i + 1) + "T10:00:00Z", "Event " + i, "System"));
+        }
+        return new CaseDetailsAndHistoryResponse(CASE_ID, new CaseDetailsDto(pyWorkPage), new CaseHistoryResponseDto(CASE_ID, history));
+    }
+}
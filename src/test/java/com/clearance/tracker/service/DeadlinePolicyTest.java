@@ -0,0 +1,39 @@
+package com.clearance.tracker.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlinePolicyTest {
+
+    private DeadlinePolicy deadlinePolicy;
+
+    @BeforeEach
+    void setUp() {
+        deadlinePolicy = new DeadlinePolicy();
+        ReflectionTestUtils.setField(deadlinePolicy, "defaultBudgetMs", 8_000L);
+        ReflectionTestUtils.setField(deadlinePolicy, "maxBudgetMs", 30_000L);
+        ReflectionTestUtils.setField(deadlinePolicy, "listStageShare", 0.4);
+        ReflectionTestUtils.setField(deadlinePolicy, "batchDefaultBudgetMs", 60_000L);
+        ReflectionTestUtils.setField(deadlinePolicy, "batchMaxBudgetMs", 120_000L);
+    }
+
+    @Test
+    void testResolve_ClientBudgetCappedAtMaximum() {
+        // Act & Assert
+        assertEquals(8_000, deadlinePolicy.resolve(null).getBudgetMillis());
+        assertEquals(2_000, deadlinePolicy.resolve("2000").getBudgetMillis());
+        assertEquals(30_000, deadlinePolicy.resolve("90000").getBudgetMillis());
+        assertEquals(8_000, deadlinePolicy.resolve("soon").getBudgetMillis());
+    }
+
+    @Test
+    void testResolveBatch_UsesBatchBudget() {
+        // Act & Assert
+        assertEquals(60_000, deadlinePolicy.resolveBatch(null).getBudgetMillis());
+        assertEquals(90_000, deadlinePolicy.resolveBatch("90000").getBudgetMillis());
+        assertEquals(120_000, deadlinePolicy.resolveBatch("600000").getBudgetMillis());
+    }
+}
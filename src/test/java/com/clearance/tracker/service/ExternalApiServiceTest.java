@@ -2,23 +2,44 @@ package com.clearance.tracker.service;
 
 import com.clearance.tracker.dto.*;
 import com.clearance.tracker.exception.ApplicationException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -37,9 +58,29 @@ class ExternalApiServiceTest {
     private static final String CASE_ID = "25092CASE1329752";
     private static final String SUBJECT_PERSONA_OBJECT_ID = "272ad768-ea92-4972-a8a5-2c270fdddd33";
 
+    private ExecutorService upstreamExecutor;
+
     @BeforeEach
     void setUp() {
+        upstreamExecutor = Executors.newFixedThreadPool(2);
         ReflectionTestUtils.setField(externalApiService, "baseUrl", BASE_URL);
+        ReflectionTestUtils.setField(externalApiService, "upstreamExecutor", upstreamExecutor);
+        ReflectionTestUtils.setField(externalApiService, "callCoalescer", new UpstreamCallCoalescer(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(externalApiService, "upstreamGuard",
+            new UpstreamGuard(true, CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults()));
+        ReflectionTestUtils.setField(externalApiService, "caseDataCache", newCaseDataCache(true));
+        ReflectionTestUtils.setField(externalApiService, "upstreamValidatorCache",
+            new UpstreamValidatorCache(true, 100, Duration.ofMinutes(1), new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(externalApiService, "pdfDiskCache",
+            new PdfDiskCache(false, Path.of("unused"), 0, 0, 16384, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(externalApiService, "casePrefetcher", CasePrefetcher.disabled());
+        ReflectionTestUtils.setField(externalApiService, "upstreamMetrics",
+            new UpstreamMetrics(new SimpleMeterRegistry(), new StaticListableBeanFactory().getBeanProvider(Tracer.class)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstreamExecutor.shutdownNow();
     }
 
     @Test
@@ -97,6 +138,58 @@ class ExternalApiServiceTest {
         assertTrue(exception.getCause() instanceof RestClientException);
     }
 
+    @Test
+    void testGetAllCases_ReadsRemainingPagesAndMergesInOrder() throws ApplicationException {
+        // Arrange - 60 cases, 25 per page
+        stubCasesPage(null, casesPage(0, 25, new MetadataDto(60, 1, 25, 3)));
+        stubCasesPage(2, casesPage(25, 25, new MetadataDto(60, 2, 25, 3)));
+        stubCasesPage(3, casesPage(50, 10, new MetadataDto(60, 3, 25, 3)));
+
+        // Act
+        CaseListResponseDto result = externalApiService.getAllCases(SUBJECT_PERSONA_OBJECT_ID);
+
+        // Assert
+        assertEquals(60, result.getCases().size());
+        for (int i = 0; i < 60; i++) {
+            assertEquals("CASE" + i, result.getCases().get(i).getNBISCaseID());
+        }
+        assertEquals(60, result.getMetadata().getTotalCases());
+        assertEquals(3, result.getMetadata().getTotalPages());
+        assertNull(result.getMetadata().getPage());
+    }
+
+    @Test
+    void testGetAllCases_TotalCasesWithoutPageMetadataUsesDefaultPageSize() throws ApplicationException {
+        // Arrange - upstream reports only totalCases
+        stubCasesPage(null, casesPage(0, 25, new MetadataDto(30)));
+        stubCasesPage(2, casesPage(25, 5, new MetadataDto(30)));
+
+        // Act
+        CaseListResponseDto result = externalApiService.getAllCases(SUBJECT_PERSONA_OBJECT_ID);
+
+        // Assert
+        assertEquals(30, result.getCases().size());
+        assertEquals("CASE29", result.getCases().get(29).getNBISCaseID());
+    }
+
+    @Test
+    void testGetAllCases_PageFailureFailsWholeList() {
+        // Arrange
+        stubCasesPage(null, casesPage(0, 25, new MetadataDto(50, 1, 25, 2)));
+        when(restTemplate.exchange(
+            eq(casesPageUrl(2)),
+            eq(HttpMethod.GET),
+            eq(null),
+            eq(CaseListResponseDto.class)
+        )).thenThrow(new RestClientException("Connection reset"));
+
+        // Act & Assert
+        ApplicationException exception = assertThrows(ApplicationException.class,
+            () -> externalApiService.getAllCases(SUBJECT_PERSONA_OBJECT_ID));
+
+        assertTrue(exception.getMessage().contains("External service call failed for cases list"));
+    }
+
     @Test
     void testGetCaseDetails_Success() throws ApplicationException {
         // Arrange
@@ -283,6 +376,10 @@ class ExternalApiServiceTest {
             eq(CaseHistoryResponseDto.class)
         )).thenReturn(new ResponseEntity<>(caseHistoryResponse, HttpStatus.OK));
 
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(externalApiService, "upstreamMetrics",
+            new UpstreamMetrics(meterRegistry, new StaticListableBeanFactory().getBeanProvider(Tracer.class)));
+
         // Act
         CombinedCaseResponse result = externalApiService.getCaseHistory(SUBJECT_PERSONA_OBJECT_ID);
 
@@ -295,6 +392,45 @@ class ExternalApiServiceTest {
         assertEquals(CASE_ID, result.getSelectedCaseDetails().getPyWorkPage().getNBISCaseID());
         assertNotNull(result.getCaseHistory());
         assertEquals(1, result.getCaseHistory().getHistory().size());
+        for (String stage : List.of("list", "select", "fan-out", "combine")) {
+            assertEquals(1, meterRegistry.get("external.api.stage")
+                .tags("pipeline", "case-history", "stage", stage, "outcome", "success").timer().count());
+        }
+    }
+
+    @Test
+    void testGetCaseHistory_PrefetchesNextInProgressCasesIntoCache() throws ApplicationException {
+        // Arrange - three In Progress cases, prefetch limited to one candidate, tasks run inline
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(externalApiService, "upstreamExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(externalApiService, "casePrefetcher",
+            new CasePrefetcher(true, 1, 2, 1000, Duration.ofMinutes(1), meterRegistry));
+        List<CaseDto> cases = new ArrayList<>();
+        for (String caseId : List.of(CASE_ID, "CASE2", "CASE3")) {
+            cases.add(new CaseDto(caseId, "In Progress", SUBJECT_PERSONA_OBJECT_ID,
+                                  "2025-04-02T17:20:19.943Z", "2025-07-18T17:06:45.517Z", "Yes"));
+        }
+        cases.add(1, new CaseDto("CASE4", "Completed", SUBJECT_PERSONA_OBJECT_ID,
+                                 "2025-04-02T17:20:19.943Z", "2025-07-18T17:06:45.517Z", "No"));
+        stubCasesPage(null, new CaseListResponseDto(cases, new MetadataDto(cases.size())));
+        when(restTemplate.exchange(startsWith(BASE_URL + "/api/v1/cases/"), eq(HttpMethod.GET), eq(null), eq(CaseDetailsDto.class)))
+            .thenReturn(new ResponseEntity<>(caseDetailsUpdatedAt("2025-07-18T17:06:45.517Z"), HttpStatus.OK));
+        when(restTemplate.exchange(endsWith("/history"), eq(HttpMethod.GET), eq(null), eq(CaseHistoryResponseDto.class)))
+            .thenReturn(new ResponseEntity<>(new CaseHistoryResponseDto(CASE_ID, List.of()), HttpStatus.OK));
+
+        // Act
+        externalApiService.getCaseHistory(SUBJECT_PERSONA_OBJECT_ID);
+        externalApiService.getCaseDetailsAndHistory("CASE2");
+        externalApiService.getCaseDetailsAndHistory("CASE3");
+
+        // Assert - CASE2 was prefetched and served from cache, CASE3 was beyond the candidate limit
+        verify(restTemplate, times(1)).exchange(eq(BASE_URL + "/api/v1/cases/CASE2"), eq(HttpMethod.GET), eq(null), eq(CaseDetailsDto.class));
+        verify(restTemplate, times(1)).exchange(eq(BASE_URL + "/api/v1/cases/CASE2/history"), eq(HttpMethod.GET), eq(null), eq(CaseHistoryResponseDto.class));
+        verify(restTemplate, never()).exchange(eq(BASE_URL + "/api/v1/cases/CASE4"), eq(HttpMethod.GET), eq(null), eq(CaseDetailsDto.class));
+        assertEquals(1.0, meterRegistry.get("external.api.prefetch.tasks").tag("result", "completed").counter().count());
+        assertEquals(1.0, meterRegistry.get("external.api.prefetch.lookups").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("external.api.prefetch.lookups").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("external.api.prefetch.outcomes").tag("result", "used").counter().count());
     }
 
     @Test
@@ -314,11 +450,16 @@ class ExternalApiServiceTest {
             eq(CaseListResponseDto.class)
         )).thenReturn(new ResponseEntity<>(caseListResponse, HttpStatus.OK));
 
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(externalApiService, "upstreamMetrics",
+            new UpstreamMetrics(meterRegistry, new StaticListableBeanFactory().getBeanProvider(Tracer.class)));
+
         // Act & Assert
         ApplicationException exception = assertThrows(ApplicationException.class, 
             () -> externalApiService.getCaseHistory(SUBJECT_PERSONA_OBJECT_ID));
         
         assertTrue(exception.getMessage().contains("No cases found with 'In Progress' status"));
+        assertEquals(1, meterRegistry.get("external.api.stage").tags("stage", "select", "outcome", "error").timer().count());
     }
 
     @Test
@@ -396,4 +537,497 @@ class ExternalApiServiceTest {
         
         assertTrue(exception.getMessage().contains("Unexpected error during async case details and history retrieval"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetCaseDetailsAndHistory_ExecutorSaturated() {
+        // Arrange - executor that rejects every task, as a full bounded queue would
+        ReflectionTestUtils.setField(externalApiService, "upstreamExecutor",
+            (Executor) task -> { throw new RejectedExecutionException("queue full"); });
+
+        // Act & Assert
+        ApplicationException exception = assertThrows(ApplicationException.class, 
+            () -> externalApiService.getCaseDetailsAndHistory(CASE_ID));
+        
+        assertEquals(ApplicationException.UPSTREAM_SATURATED, exception.getErrorCode());
+        assertTrue(exception.getCause() instanceof RejectedExecutionException);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testGetCaseDetailsAndHistory_DeadlineExceeded() {
+        // Arrange - history call is slower than the whole request budget
+        when(restTemplate.exchange(
+            eq(BASE_URL + "/api/v1/cases/" + CASE_ID),
+            eq(HttpMethod.GET),
+            eq(null),
+            eq(CaseDetailsDto.class)
+        )).thenReturn(new ResponseEntity<>(new CaseDetailsDto(), HttpStatus.OK));
+        when(restTemplate.exchange(
+            eq(BASE_URL + "/api/v1/cases/" + CASE_ID + "/history"),
+            eq(HttpMethod.GET),
+            eq(null),
+            eq(CaseHistoryResponseDto.class)
+        )).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return new ResponseEntity<>(new CaseHistoryResponseDto(), HttpStatus.OK);
+        });
+
+        // Act & Assert
+        long startTime = System.currentTimeMillis();
+        ApplicationException exception;
+        try (RequestDeadline.Scope ignored = RequestDeadline.bind(RequestDeadline.after(200, 0.4))) {
+            exception = assertThrows(ApplicationException.class, 
+                () -> externalApiService.getCaseDetailsAndHistory(CASE_ID));
+        }
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        assertEquals(ApplicationException.DEADLINE_EXCEEDED, exception.getErrorCode());
+        assertTrue(executionTime < 1500, "Deadline should cut the wait short, took " + executionTime + "ms");
+        assertNull(RequestDeadline.current(), "Deadline binding must be cleared after the scope closes");
+    }
+
+    @Test
+    void testGetCaseDetailsAndHistory_FailsFastAndCancelsSibling() {
+        // Arrange - details fails immediately while history is still in flight
+        when(restTemplate.exchange(
+            eq(BASE_URL + "/api/v1/cases/" + CASE_ID),
+            eq(HttpMethod.GET),
+            eq(null),
+            eq(CaseDetailsDto.class)
+        )).thenThrow(new RestClientException("Service unavailable"));
+        lenient().when(restTemplate.exchange(
+            eq(BASE_URL + "/api/v1/cases/" + CASE_ID + "/history"),
+            eq(HttpMethod.GET),
+            eq(null),
+            eq(CaseHistoryResponseDto.class)
+        )).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return new ResponseEntity<>(new CaseHistoryResponseDto(), HttpStatus.OK);
+        });
+
+        // Act & Assert
+        long startTime = System.currentTimeMillis();
+        ApplicationException exception = assertThrows(ApplicationException.class, 
+            () -> externalApiService.getCaseDetailsAndHistory(CASE_ID));
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        assertTrue(exception.getMessage().contains("Unexpected error during async case details and history retrieval"));
+        assertTrue(executionTime < 1500, "First failure should not wait for the sibling call, took " + executionTime + "ms");
+    }
+
+    @Test
+    void testGetCaseDetailsAndHistoryBatch_ReportsPerCaseFailures() throws ApplicationException {
+        // Arrange - the second case's details call fails, the first case succeeds; CASE_ID is listed twice
+        String failingCaseId = "25092CASE1329753";
+        when(restTemplate.exchange(
+            eq(BASE_URL + "/api/v1/cases/" + CASE_ID),
+            eq(HttpMethod.GET),
+            eq(null),
+            eq(CaseDetailsDto.class)
+        )).thenReturn(new ResponseEntity<>(caseDetailsUpdatedAt("2025-07-18T17:06:45.517Z"), HttpStatus.OK));
+        when(restTemplate.exchange(
+            eq(BASE_URL + "/api/v1/cases/" + failingCaseId),
+            eq(HttpMethod.GET),
+            eq(null),
+            eq(CaseDetailsDto.class)
+        )).thenThrow(new RestClientException("Service unavailable"));
+        when(restTemplate.exchange(
+            anyString(),
+            eq(HttpMethod.GET),
+            eq(null),
+            eq(CaseHistoryResponseDto.class)
+        )).thenReturn(new ResponseEntity<>(new CaseHistoryResponseDto(CASE_ID, List.of()), HttpStatus.OK));
+
+        // Act
+        CaseDetailsHistoryBatchResponse result = externalApiService.getCaseDetailsAndHistoryBatch(
+            List.of(CASE_ID, failingCaseId, CASE_ID));
+
+        // Assert
+        assertEquals(2, result.getRequested());
+        assertEquals(1, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertEquals(CASE_ID, result.getResults().get(0).getCaseId());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertEquals(CASE_ID, result.getResults().get(0).getResult().getCaseDetails().getPyWorkPage().getNBISCaseID());
+        assertEquals(failingCaseId, result.getResults().get(1).getCaseId());
+        assertFalse(result.getResults().get(1).isSuccess());
+        assertEquals(ApplicationException.DEFAULT_ERROR_CODE, result.getResults().get(1).getErrorCode());
+        assertNull(result.getResults().get(1).getResult());
+    }
+
+    @Test
+    void testGetCaseDetailsAndHistoryBatch_BoundsUpstreamConcurrency() throws ApplicationException {
+        // Arrange - plenty of executor threads, but only one case may be in flight at a time
+        upstreamExecutor.shutdownNow();
+        upstreamExecutor = Executors.newFixedThreadPool(8);
+        ReflectionTestUtils.setField(externalApiService, "upstreamExecutor", upstreamExecutor);
+        ReflectionTestUtils.setField(externalApiService, "batchMaxConcurrency", 1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), eq(null), eq(CaseDetailsDto.class)))
+            .thenAnswer(invocation -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                inFlight.decrementAndGet();
+                return new ResponseEntity<>(new CaseDetailsDto(), HttpStatus.OK);
+            });
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), eq(null), eq(CaseHistoryResponseDto.class)))
+            .thenAnswer(invocation -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                inFlight.decrementAndGet();
+                return new ResponseEntity<>(new CaseHistoryResponseDto(), HttpStatus.OK);
+            });
+        List<String> caseIds = List.of("CASE1", "CASE2", "CASE3", "CASE4", "CASE5");
+        List<String> completionOrder = new CopyOnWriteArrayList<>();
+
+        // Act
+        externalApiService.streamCaseDetailsAndHistoryBatch(caseIds, item -> completionOrder.add(item.getCaseId()));
+
+        // Assert
+        assertEquals(caseIds, completionOrder);
+        assertTrue(maxInFlight.get() <= 2, "At most one case (two upstream calls) may be in flight, saw " + maxInFlight.get());
+    }
+
+    @Test
+    void testGetCaseDetailsAndHistoryBatch_DeadlineReportsPendingCases() throws ApplicationException {
+        // Arrange - history calls are slower than the whole request budget
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), eq(null), eq(CaseDetailsDto.class)))
+            .thenReturn(new ResponseEntity<>(new CaseDetailsDto(), HttpStatus.OK));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), eq(null), eq(CaseHistoryResponseDto.class)))
+            .thenAnswer(invocation -> {
+                Thread.sleep(2000);
+                return new ResponseEntity<>(new CaseHistoryResponseDto(), HttpStatus.OK);
+            });
+
+        // Act
+        long startTime = System.currentTimeMillis();
+        CaseDetailsHistoryBatchResponse result;
+        try (RequestDeadline.Scope ignored = RequestDeadline.bind(RequestDeadline.after(200, 0.4))) {
+            result = externalApiService.getCaseDetailsAndHistoryBatch(List.of("CASE1", "CASE2", "CASE3"));
+        }
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        // Assert
+        assertEquals(3, result.getFailed());
+        assertTrue(result.getResults().stream().allMatch(item -> item.getErrorCode() == ApplicationException.DEADLINE_EXCEEDED));
+        assertTrue(executionTime < 1500, "Deadline should cut the batch short, took " + executionTime + "ms");
+    }
+
+    @Test
+    void testStreamCaseHistoryBatch_SharesSelectedCaseAndIsolatesFailures() throws ApplicationException {
+        // Arrange - two subjects select the same In Progress case, the third has none; one subject at a time and
+        // no cache, so only the batch itself can share the details/history lookup
+        ReflectionTestUtils.setField(externalApiService, "caseDataCache", newCaseDataCache(false));
+        ReflectionTestUtils.setField(externalApiService, "batchMaxConcurrency", 1);
+        CaseDto inProgress = new CaseDto(CASE_ID, "In Progress", SUBJECT_PERSONA_OBJECT_ID,
+                                         "2025-04-02T17:20:19.943Z", "2025-07-18T17:06:45.517Z", "Yes");
+        CaseDto completed = new CaseDto("25092CASE1329753", "Completed", "subject-3",
+                                        "2025-04-03T09:15:00.123Z", "2025-07-19T12:30:00.456Z", "No");
+        when(restTemplate.exchange(eq(BASE_URL + "/api/v1/cases?subjectPersonaObjectId=subject-1"), eq(HttpMethod.GET), eq(null), eq(CaseListResponseDto.class)))
+            .thenReturn(new ResponseEntity<>(new CaseListResponseDto(List.of(inProgress), new MetadataDto(1)), HttpStatus.OK));
+        when(restTemplate.exchange(eq(BASE_URL + "/api/v1/cases?subjectPersonaObjectId=subject-2"), eq(HttpMethod.GET), eq(null), eq(CaseListResponseDto.class)))
+            .thenReturn(new ResponseEntity<>(new CaseListResponseDto(List.of(completed, inProgress), new MetadataDto(2)), HttpStatus.OK));
+        when(restTemplate.exchange(eq(BASE_URL + "/api/v1/cases?subjectPersonaObjectId=subject-3"), eq(HttpMethod.GET), eq(null), eq(CaseListResponseDto.class)))
+            .thenReturn(new ResponseEntity<>(new CaseListResponseDto(List.of(completed), new MetadataDto(1)), HttpStatus.OK));
+        when(restTemplate.exchange(eq(BASE_URL + "/api/v1/cases/" + CASE_ID), eq(HttpMethod.GET), eq(null), eq(CaseDetailsDto.class)))
+            .thenReturn(new ResponseEntity<>(caseDetailsUpdatedAt("2025-07-18T17:06:45.517Z"), HttpStatus.OK));
+        when(restTemplate.exchange(eq(BASE_URL + "/api/v1/cases/" + CASE_ID + "/history"), eq(HttpMethod.GET), eq(null), eq(CaseHistoryResponseDto.class)))
+            .thenReturn(new ResponseEntity<>(new CaseHistoryResponseDto(CASE_ID, List.of()), HttpStatus.OK));
+        List<CaseHistoryBatchItem> streamed = new CopyOnWriteArrayList<>();
+
+        // Act
+        externalApiService.streamCaseHistoryBatch(List.of("subject-1", "subject-2", "subject-3", "subject-1"), streamed::add);
+
+        // Assert
+        assertEquals(3, streamed.size());
+        CaseHistoryBatchItem first = streamed.get(0);
+        assertEquals("subject-1", first.getSubjectPersonaObjectId());
+        assertEquals(CASE_ID, first.getResult().getSelectedCaseId());
+        assertEquals(1, first.getResult().getCasesList().getCases().size());
+        assertEquals(2, streamed.get(1).getResult().getCasesList().getCases().size());
+        assertEquals(CASE_ID, streamed.get(1).getResult().getSelectedCaseId());
+        assertFalse(streamed.get(2).isSuccess());
+        assertTrue(streamed.get(2).getErrorMessage().contains("No cases found with 'In Progress' status"));
+        verify(restTemplate, times(1)).exchange(eq(BASE_URL + "/api/v1/cases/" + CASE_ID), eq(HttpMethod.GET), eq(null), eq(CaseDetailsDto.class));
+        verify(restTemplate, times(1)).exchange(eq(BASE_URL + "/api/v1/cases/" + CASE_ID + "/history"), eq(HttpMethod.GET), eq(null), eq(CaseHistoryResponseDto.class));
+    }
+
+    @Test
+    void testGetCaseHistoryBatch_ExecutorSaturatedReportedPerSubject() throws ApplicationException {
+        // Arrange - executor that rejects every task, as a full bounded queue would
+        ReflectionTestUtils.setField(externalApiService, "upstreamExecutor",
+            (Executor) task -> { throw new RejectedExecutionException("queue full"); });
+
+        // Act
+        CaseHistoryBatchResponse result = externalApiService.getCaseHistoryBatch(List.of("subject-1", "subject-2"));
+
+        // Assert
+        assertEquals(2, result.getFailed());
+        assertTrue(result.getResults().stream().allMatch(item -> item.getErrorCode() == ApplicationException.UPSTREAM_SATURATED));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testNormalizeBatchCaseIds_RejectsInvalidBatches() throws ApplicationException {
+        // Arrange
+        ReflectionTestUtils.setField(externalApiService, "batchMaxCases", 2);
+
+        // Act & Assert
+        assertEquals(List.of(CASE_ID, "CASE2"), externalApiService.normalizeBatchCaseIds(List.of(CASE_ID, " CASE2 ", CASE_ID)));
+        assertEquals(ApplicationException.INVALID_REQUEST, assertThrows(ApplicationException.class,
+            () -> externalApiService.normalizeBatchCaseIds(List.of())).getErrorCode());
+        assertEquals(ApplicationException.INVALID_REQUEST, assertThrows(ApplicationException.class,
+            () -> externalApiService.normalizeBatchCaseIds(Arrays.asList(CASE_ID, " "))).getErrorCode());
+        assertEquals(ApplicationException.INVALID_REQUEST, assertThrows(ApplicationException.class,
+            () -> externalApiService.normalizeBatchCaseIds(List.of("CASE1", "CASE2", "CASE3"))).getErrorCode());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testGetCaseHistory_ListStageDeadlineAlreadyExpired() throws InterruptedException {
+        // Arrange
+        RequestDeadline deadline = RequestDeadline.after(1, 0.4);
+        Thread.sleep(5);
+
+        // Act & Assert
+        ApplicationException exception;
+        try (RequestDeadline.Scope ignored = RequestDeadline.bind(deadline)) {
+            exception = assertThrows(ApplicationException.class, 
+                () -> externalApiService.getCaseHistory(SUBJECT_PERSONA_OBJECT_ID));
+        }
+
+        assertEquals(ApplicationException.DEADLINE_EXCEEDED, exception.getErrorCode());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testGetCaseDetails_RepeatedLookupServedFromCache() throws ApplicationException {
+        // Arrange
+        when(restTemplate.exchange(
+            eq(BASE_URL + "/api/v1/cases/" + CASE_ID),
+            eq(HttpMethod.GET),
+            eq(null),
+            eq(CaseDetailsDto.class)
+        )).thenReturn(new ResponseEntity<>(caseDetailsUpdatedAt("2025-07-18T17:06:45.517Z"), HttpStatus.OK));
+
+        // Act
+        CaseDetailsDto first = externalApiService.getCaseDetails(CASE_ID);
+        CaseDetailsDto second = externalApiService.getCaseDetails(CASE_ID);
+
+        // Assert
+        assertSame(first, second);
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), eq(null), eq(CaseDetailsDto.class));
+    }
+
+    @Test
+    void testGetAllCases_NewerUpdateTimeInvalidatesCachedCaseDetails() throws ApplicationException {
+        // Arrange
+        when(restTemplate.exchange(
+            eq(BASE_URL + "/api/v1/cases/" + CASE_ID),
+            eq(HttpMethod.GET),
+            eq(null),
+            eq(CaseDetailsDto.class)
+        )).thenReturn(new ResponseEntity<>(caseDetailsUpdatedAt("2025-07-18T17:06:45.517Z"), HttpStatus.OK),
+                      new ResponseEntity<>(caseDetailsUpdatedAt("2025-07-21T08:00:00.000Z"), HttpStatus.OK));
+        CaseListResponseDto updatedList = new CaseListResponseDto(List.of(
+            new CaseDto(CASE_ID, "In Progress", SUBJECT_PERSONA_OBJECT_ID,
+                       "2025-04-02T17:20:19.943Z", "2025-07-21T08:00:00.000Z", "Yes")), new MetadataDto(1));
+        when(restTemplate.exchange(
+            eq(BASE_URL + "/api/v1/cases?subjectPersonaObjectId=" + SUBJECT_PERSONA_OBJECT_ID),
+            eq(HttpMethod.GET),
+            eq(null),
+            eq(CaseListResponseDto.class)
+        )).thenReturn(new ResponseEntity<>(updatedList, HttpStatus.OK));
+
+        // Act
+        externalApiService.getCaseDetails(CASE_ID);
+        externalApiService.getAllCases(SUBJECT_PERSONA_OBJECT_ID);
+        CaseDetailsDto refreshed = externalApiService.getCaseDetails(CASE_ID);
+
+        // Assert
+        assertEquals("2025-07-21T08:00:00.000Z", refreshed.getPyWorkPage().getPxUpdateDateTime());
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), eq(null), eq(CaseDetailsDto.class));
+    }
+
+    @Test
+    void testGetCaseDetails_LoadOverlappingNewerUpdateTimeIsNotCached() throws ApplicationException {
+        // Arrange - the case list reporting the update arrives while the details load is still in flight
+        String url = BASE_URL + "/api/v1/cases/" + CASE_ID;
+        stubCasesPage(null, caseListUpdatedAt("2025-07-21T08:00:00.000Z"));
+        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(null), eq(CaseDetailsDto.class)))
+            .thenAnswer(invocation -> {
+                externalApiService.getAllCases(SUBJECT_PERSONA_OBJECT_ID);
+                return new ResponseEntity<>(caseDetailsUpdatedAt("2025-07-18T17:06:45.517Z"), HttpStatus.OK);
+            })
+            .thenReturn(new ResponseEntity<>(caseDetailsUpdatedAt("2025-07-21T08:00:00.000Z"), HttpStatus.OK));
+
+        // Act
+        CaseDetailsDto overlapping = externalApiService.getCaseDetails(CASE_ID);
+        CaseDetailsDto next = externalApiService.getCaseDetails(CASE_ID);
+
+        // Assert
+        assertEquals("2025-07-18T17:06:45.517Z", overlapping.getPyWorkPage().getPxUpdateDateTime());
+        assertEquals("2025-07-21T08:00:00.000Z", next.getPyWorkPage().getPxUpdateDateTime());
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), eq(null), eq(CaseDetailsDto.class));
+    }
+
+    @Test
+    void testGetCaseHistory_LoadOverlappingNewerUpdateTimeIsNotCached() throws ApplicationException {
+        // Arrange - details cached at the old version, then the update is seen while the history load is in flight
+        when(restTemplate.exchange(eq(BASE_URL + "/api/v1/cases/" + CASE_ID), eq(HttpMethod.GET), eq(null), eq(CaseDetailsDto.class)))
+            .thenReturn(new ResponseEntity<>(caseDetailsUpdatedAt("2025-07-18T17:06:45.517Z"), HttpStatus.OK));
+        stubCasesPage(null, caseListUpdatedAt("2025-07-21T08:00:00.000Z"));
+        when(restTemplate.exchange(eq(BASE_URL + "/api/v1/cases/" + CASE_ID + "/history"), eq(HttpMethod.GET), eq(null),
+                eq(CaseHistoryResponseDto.class)))
+            .thenAnswer(invocation -> {
+                externalApiService.getAllCases(SUBJECT_PERSONA_OBJECT_ID);
+                return new ResponseEntity<>(new CaseHistoryResponseDto(CASE_ID, List.of()), HttpStatus.OK);
+            })
+            .thenReturn(new ResponseEntity<>(new CaseHistoryResponseDto(CASE_ID, List.of()), HttpStatus.OK));
+        externalApiService.getCaseDetails(CASE_ID);
+
+        // Act
+        externalApiService.getCaseHistoryFromV1Api(CASE_ID);
+        externalApiService.getCaseHistoryFromV1Api(CASE_ID);
+        externalApiService.getCaseHistoryFromV1Api(CASE_ID);
+
+        // Assert - the overlapping load was not cached, the one after it was
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), eq(null), eq(CaseHistoryResponseDto.class));
+    }
+
+    @Test
+    void testGetCaseHistoryFromV1Api_CacheDisabled() throws ApplicationException {
+        // Arrange
+        ReflectionTestUtils.setField(externalApiService, "caseDataCache", newCaseDataCache(false));
+        when(restTemplate.exchange(
+            eq(BASE_URL + "/api/v1/cases/" + CASE_ID + "/history"),
+            eq(HttpMethod.GET),
+            eq(null),
+            eq(CaseHistoryResponseDto.class)
+        )).thenReturn(new ResponseEntity<>(new CaseHistoryResponseDto(CASE_ID, List.of()), HttpStatus.OK));
+
+        // Act
+        externalApiService.getCaseHistoryFromV1Api(CASE_ID);
+        externalApiService.getCaseHistoryFromV1Api(CASE_ID);
+
+        // Assert
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), eq(null), eq(CaseHistoryResponseDto.class));
+    }
+
+    @Test
+    void testGetCaseDetails_UpstreamNotModifiedReusesRememberedBody() throws ApplicationException {
+        // Arrange - cache disabled so the second lookup goes upstream as a conditional GET
+        ReflectionTestUtils.setField(externalApiService, "caseDataCache", newCaseDataCache(false));
+        String url = BASE_URL + "/api/v1/cases/" + CASE_ID;
+        CaseDetailsDto original = caseDetailsUpdatedAt("2025-07-18T17:06:45.517Z");
+        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), eq(null), eq(CaseDetailsDto.class)))
+            .thenReturn(ResponseEntity.ok().eTag("\"details-v1\"").body(original));
+        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET),
+                argThat((HttpEntity<?> entity) -> entity != null && entity.getHeaders().getIfNoneMatch().contains("\"details-v1\"")),
+                eq(CaseDetailsDto.class)))
+            .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).<CaseDetailsDto>build());
+
+        // Act
+        externalApiService.getCaseDetails(CASE_ID);
+        CaseDetailsDto revalidated = externalApiService.getCaseDetails(CASE_ID);
+
+        // Assert
+        assertSame(original, revalidated);
+        verify(restTemplate, times(2)).exchange(eq(url), eq(HttpMethod.GET), any(), eq(CaseDetailsDto.class));
+    }
+
+    @Test
+    void testOpenLatestPdf_StreamsBodyWithContentLength() throws Exception {
+        // Arrange
+        byte[] pdfBytes = "%PDF-1.4 streamed archival document".getBytes();
+        MockClientHttpResponse upstreamResponse = new MockClientHttpResponse(pdfBytes, HttpStatus.OK);
+        upstreamResponse.getHeaders().setContentLength(pdfBytes.length);
+        stubLatestPdfUpstream(upstreamResponse);
+
+        // Act
+        ByteArrayOutputStream client = new ByteArrayOutputStream();
+        long bytesWritten;
+        try (UpstreamPdfStream pdf = externalApiService.openLatestPdf(CASE_ID)) {
+            assertNotNull(pdf);
+            assertEquals(pdfBytes.length, pdf.getContentLength());
+            bytesWritten = pdf.transferTo(client);
+        }
+
+        // Assert
+        assertEquals(pdfBytes.length, bytesWritten);
+        assertArrayEquals(pdfBytes, client.toByteArray());
+    }
+
+    @Test
+    void testOpenLatestPdf_NotFoundOrEmptyReturnsNull() throws Exception {
+        // Arrange
+        stubLatestPdfUpstream(new MockClientHttpResponse(new byte[0], HttpStatus.NOT_FOUND));
+
+        // Act & Assert
+        assertNull(externalApiService.openLatestPdf(CASE_ID));
+
+        stubLatestPdfUpstream(new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+        assertNull(externalApiService.openLatestPdf(CASE_ID));
+    }
+
+    @Test
+    void testOpenLatestPdf_UpstreamServerError() throws Exception {
+        // Arrange
+        stubLatestPdfUpstream(new MockClientHttpResponse(new byte[0], HttpStatus.BAD_GATEWAY));
+
+        // Act & Assert
+        ApplicationException exception = assertThrows(ApplicationException.class,
+            () -> externalApiService.openLatestPdf(CASE_ID));
+
+        assertTrue(exception.getMessage().contains("External service call failed for latest PDF"));
+    }
+
+    private void stubLatestPdfUpstream(MockClientHttpResponse upstreamResponse) throws Exception {
+        URI uri = URI.create(BASE_URL + "/api/latest-pdf?caseId=" + CASE_ID);
+        MockClientHttpRequest upstreamRequest = new MockClientHttpRequest(HttpMethod.GET, uri);
+        upstreamRequest.setResponse(upstreamResponse);
+        ClientHttpRequestFactory requestFactory = mock(ClientHttpRequestFactory.class);
+        when(requestFactory.createRequest(uri, HttpMethod.GET)).thenReturn(upstreamRequest);
+        when(restTemplate.getRequestFactory()).thenReturn(requestFactory);
+    }
+
+    private void stubCasesPage(Integer page, CaseListResponseDto body) {
+        when(restTemplate.exchange(
+            eq(page == null ? BASE_URL + "/api/v1/cases?subjectPersonaObjectId=" + SUBJECT_PERSONA_OBJECT_ID : casesPageUrl(page)),
+            eq(HttpMethod.GET),
+            eq(null),
+            eq(CaseListResponseDto.class)
+        )).thenReturn(new ResponseEntity<>(body, HttpStatus.OK));
+    }
+
+    private static String casesPageUrl(int page) {
+        return BASE_URL + "/api/v1/cases?subjectPersonaObjectId=" + SUBJECT_PERSONA_OBJECT_ID + "&page=" + page + "&pageSize=25";
+    }
+
+    private static CaseListResponseDto casesPage(int firstCase, int count, MetadataDto metadata) {
+        List<CaseDto> cases = new ArrayList<>();
+        for (int i = firstCase; i < firstCase + count; i++) {
+            cases.add(new CaseDto("CASE" + i, "Completed", SUBJECT_PERSONA_OBJECT_ID,
+                                  "2025-04-02T17:20:19.943Z", "2025-07-18T17:06:45.517Z", "No"));
+        }
+        return new CaseListResponseDto(cases, metadata);
+    }
+
+    private static CaseListResponseDto caseListUpdatedAt(String pxUpdateDateTime) {
+        return new CaseListResponseDto(List.of(
+            new CaseDto(CASE_ID, "In Progress", SUBJECT_PERSONA_OBJECT_ID,
+                       "2025-04-02T17:20:19.943Z", pxUpdateDateTime, "Yes")), new MetadataDto(1));
+    }
+
+    private static CaseDetailsDto caseDetailsUpdatedAt(String pxUpdateDateTime) {
+        PyWorkPageDto pyWorkPage = new PyWorkPageDto();
+        pyWorkPage.setNBISCaseID(CASE_ID);
+        pyWorkPage.setPxUpdateDateTime(pxUpdateDateTime);
+        return new CaseDetailsDto(pyWorkPage);
+    }
+
+    private static CaseDataCache newCaseDataCache(boolean enabled) {
+        return new CaseDataCache(enabled, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMinutes(1), 1000, new SimpleMeterRegistry());
+    }
+}
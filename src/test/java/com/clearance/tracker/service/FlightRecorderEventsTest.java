@@ -0,0 +1,177 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.config.FlightRecorderEndpoint;
+import com.clearance.tracker.config.UpstreamMetricsInterceptor;
+import com.clearance.tracker.dto.PdfContent;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+    private static final String CASE_ID = "25092CASE1329752";
+
+    @TempDir
+    Path tempDir;
+
+    private FlightRecorderEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new FlightRecorderEndpoint();
+        ReflectionTestUtils.setField(endpoint, "defaultDurationSeconds", 60L);
+        ReflectionTestUtils.setField(endpoint, "maxDurationSeconds", 600L);
+        ReflectionTestUtils.setField(endpoint, "maxSizeMb", 100L);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        endpoint.discard();
+    }
+
+    @Test
+    void testUpstreamExchangeEventCoversBodyAndHashesCaseId() throws Exception {
+        // Arrange
+        UpstreamMetrics upstreamMetrics = new UpstreamMetrics(new SimpleMeterRegistry(),
+            new StaticListableBeanFactory().getBeanProvider(Tracer.class));
+        UpstreamMetricsInterceptor interceptor = new UpstreamMetricsInterceptor(upstreamMetrics);
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+            URI.create("http://localhost:8080/api/v1/cases/" + CASE_ID + "/history"));
+
+        // Act
+        List<RecordedEvent> events = record(FlightRecorderEvents.UpstreamExchange.class, () -> {
+            try (ClientHttpResponse response = interceptor.intercept(request, new byte[0],
+                    (req, body) -> new MockClientHttpResponse(new byte[1234], HttpStatus.OK));
+                 InputStream body = response.getBody()) {
+                body.readAllBytes();
+            }
+        });
+
+        // Assert
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals(UpstreamMetrics.CASE_HISTORY, event.getString("endpoint"));
+        assertEquals(FlightRecorderEvents.hashId(CASE_ID), event.getString("caseIdHash"));
+        assertNotEquals(CASE_ID, event.getString("caseIdHash"));
+        assertEquals(200, event.getInt("status"));
+        assertEquals("SUCCESS", event.getString("outcome"));
+        assertEquals(1234, event.getLong("bytes"));
+    }
+
+    @Test
+    void testFanOutJoinEventRecordsTasksAndOutcome() throws Exception {
+        // Arrange
+        ExternalApiService externalApiService = new ExternalApiService();
+
+        // Act
+        List<RecordedEvent> events = record(FlightRecorderEvents.FanOutJoin.class, () ->
+            externalApiService.awaitFanOut(null, CASE_ID, CompletableFuture.completedFuture("details"),
+                                           CompletableFuture.completedFuture("history")));
+
+        // Assert
+        assertEquals(1, events.size());
+        assertEquals(FlightRecorderEvents.hashId(CASE_ID), events.get(0).getString("lookupIdHash"));
+        assertEquals(2, events.get(0).getInt("tasks"));
+        assertEquals("completed", events.get(0).getString("outcome"));
+    }
+
+    @Test
+    void testPdfRenderEventReportsRenderedPagesAndBytes() throws Exception {
+        // Arrange
+        MockPdfGeneratorService pdfGeneratorService = new MockPdfGeneratorService();
+        ReflectionTestUtils.setField(pdfGeneratorService, "maxInFlight", 32);
+        PdfContent pdfContent = new PdfContent(1L, CASE_ID, "Report of Investigation", "Investigation", "ROI.pdf",
+            "INVESTIGATION SUMMARY:\n" + "Reference confirmed the subject's employment.\n".repeat(200),
+            LocalDateTime.of(2025, 7, 29, 12, 0), "Investigator", "completed");
+        byte[][] pdf = new byte[1][];
+
+        // Act
+        List<RecordedEvent> events = record(FlightRecorderEvents.PdfRender.class,
+            () -> pdf[0] = pdfGeneratorService.generatePdf(pdfContent));
+
+        // Assert
+        int renderedPages;
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf[0])))) {
+            renderedPages = document.getNumberOfPages();
+        }
+        assertTrue(renderedPages > 1);
+        assertEquals(1, events.size());
+        assertEquals(renderedPages, events.get(0).getInt("pages"));
+        assertEquals(pdf[0].length, events.get(0).getLong("bytes"));
+        assertTrue(events.get(0).getBoolean("succeeded"));
+    }
+
+    @Test
+    void testEndpointStartsBoundedRecordingAndDumpsIt() throws Exception {
+        // Act
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start(5_000L, null);
+        WebEndpointResponse<Map<String, Object>> second = endpoint.start(null, null);
+        new FlightRecorderEvents.FanOutJoin().commit();
+        WebEndpointResponse<Resource> dump = endpoint.dump();
+
+        // Assert - the duration is capped at external.api.jfr.max-duration-seconds
+        assertEquals(200, started.getStatus());
+        assertEquals("RUNNING", started.getBody().get("state"));
+        assertEquals(600L, started.getBody().get("durationSeconds"));
+        assertEquals(409, second.getStatus());
+        assertEquals(200, dump.getStatus());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump.getBody().getFile().toPath());
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.clearance.tracker.FanOutJoin")));
+    }
+
+    @Test
+    void testEndpointDumpWithoutRecordingIsNotFound() throws Exception {
+        // Act & Assert
+        assertEquals(404, endpoint.dump().getStatus());
+    }
+
+    private List<RecordedEvent> record(Class<? extends Event> eventType, ThrowingRunnable action) throws Exception {
+        Path file = tempDir.resolve(eventType.getSimpleName() + ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventType);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        // Only the action's own events; other tests' executor threads may still be finishing work
+        long threadId = Thread.currentThread().getId();
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getThread() != null && event.getThread().getJavaThreadId() == threadId)
+            .toList();
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -2,13 +2,26 @@ package com.clearance.tracker.service;
 
 import com.clearance.tracker.dto.*;
 import com.clearance.tracker.exception.ApplicationException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,9 +34,32 @@ class MockExternalApiServiceTest {
     private static final String CASE_ID = "25092CASE1329752";
     private static final String SUBJECT_PERSONA_OBJECT_ID = "272ad768-ea92-4972-a8a5-2c270fdddd33";
 
+    private ExecutorService upstreamExecutor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @TempDir
+    Path pdfCacheDirectory;
+
     @BeforeEach
     void setUp() {
+        upstreamExecutor = Executors.newFixedThreadPool(2);
+        meterRegistry = new SimpleMeterRegistry();
         mockExternalApiService = new MockExternalApiService();
+        ReflectionTestUtils.setField(mockExternalApiService, "upstreamExecutor", upstreamExecutor);
+        ReflectionTestUtils.setField(mockExternalApiService, "callCoalescer", new UpstreamCallCoalescer(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(mockExternalApiService, "upstreamGuard",
+            new UpstreamGuard(true, CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults()));
+        ReflectionTestUtils.setField(mockExternalApiService, "caseDataCache", new CaseDataCache(true, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMinutes(1), 1000, meterRegistry));
+        ReflectionTestUtils.setField(mockExternalApiService, "pdfDiskCache",
+            new PdfDiskCache(true, pdfCacheDirectory, 1_000_000, 1_000_000, 16384, meterRegistry));
+        ReflectionTestUtils.setField(mockExternalApiService, "casePrefetcher", CasePrefetcher.disabled());
+        ReflectionTestUtils.setField(mockExternalApiService, "upstreamMetrics",
+            new UpstreamMetrics(meterRegistry, new StaticListableBeanFactory().getBeanProvider(Tracer.class)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstreamExecutor.shutdownNow();
     }
 
     @Test
@@ -334,4 +370,54 @@ class MockExternalApiServiceTest {
         assertNotNull(matchingCase);
         assertEquals(expectedSubjectId, matchingCase.getSubjectID());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetCaseHistory_RepeatedRequestsServedFromCache() throws ApplicationException {
+        // Act
+        mockExternalApiService.getCaseHistory(SUBJECT_PERSONA_OBJECT_ID);
+        CombinedCaseResponse second = mockExternalApiService.getCaseHistory(SUBJECT_PERSONA_OBJECT_ID);
+
+        // Assert
+        assertEquals(CASE_ID, second.getSelectedCaseId());
+        for (String cache : List.of("external.api.cases-list", "external.api.case-details", "external.api.case-history")) {
+            assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", cache).tag("result", "miss").functionCounter().count(), cache);
+            assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", cache).tag("result", "hit").functionCounter().count(), cache);
+        }
+    }
+
+    @Test
+    void testOpenLatestPdf_StreamsMockPdf() throws Exception {
+        // Act
+        ByteArrayOutputStream client = new ByteArrayOutputStream();
+        long contentLength;
+        try (UpstreamPdfStream pdf = mockExternalApiService.openLatestPdf(CASE_ID)) {
+            contentLength = pdf.getContentLength();
+            pdf.transferTo(client);
+        }
+
+        // Assert
+        assertEquals(contentLength, client.size());
+        assertTrue(client.toString().startsWith("%PDF"));
+        assertTrue(client.toString().contains(CASE_ID));
+    }
+
+    @Test
+    void testOpenLatestPdf_SecondDownloadServedFromDiskCache() throws Exception {
+        // Act
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        try (UpstreamPdfStream pdf = mockExternalApiService.openLatestPdf(CASE_ID)) {
+            pdf.transferTo(first);
+        }
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        try (UpstreamPdfStream pdf = mockExternalApiService.openLatestPdf(CASE_ID)) {
+            assertEquals(first.size(), pdf.getContentLength());
+            pdf.transferTo(second);
+        }
+
+        // Assert
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+        assertEquals(1.0, meterRegistry.get("external.api.pdf-cache.requests").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("external.api.pdf-cache.requests").tag("result", "hit").counter().count());
+        assertEquals(first.size(), meterRegistry.get("external.api.pdf-cache.bytes.served").tag("source", "disk").counter().count());
+    }
+}
@@ -1,12 +1,22 @@
 package com.clearance.tracker.service;
 
 import com.clearance.tracker.dto.PdfContent;
+import com.clearance.tracker.dto.PdfRenderResult;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,9 +32,19 @@ class MockPdfGeneratorServiceTest {
     private static final String UPLOADED_BY = "John Smith";
     private static final String STATUS = "submitted";
 
+    private ExecutorService pdfRenderExecutor;
+
     @BeforeEach
     void setUp() {
+        pdfRenderExecutor = Executors.newFixedThreadPool(4);
         mockPdfGeneratorService = new MockPdfGeneratorService();
+        ReflectionTestUtils.setField(mockPdfGeneratorService, "pdfRenderExecutor", pdfRenderExecutor);
+        ReflectionTestUtils.setField(mockPdfGeneratorService, "maxInFlight", 32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pdfRenderExecutor.shutdownNow();
     }
 
     @Test
@@ -368,4 +388,77 @@ class MockPdfGeneratorServiceTest {
         String pdfHeader = new String(result, 0, Math.min(8, result.length));
         assertTrue(pdfHeader.startsWith("%PDF"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGeneratePdfs_ResultsInInputOrderWithFailureIsolated() {
+        // Arrange - the second document has no name, which fails on its own
+        List<PdfContent> documents = List.of(
+            new PdfContent(20L, CASE_ID, "Batch 1", DOCUMENT_TYPE, FILE_NAME, "FIRST\nBody", LocalDateTime.now(), UPLOADED_BY, STATUS),
+            new PdfContent(21L, CASE_ID, null, DOCUMENT_TYPE, FILE_NAME, "Body", LocalDateTime.now(), UPLOADED_BY, STATUS),
+            new PdfContent(22L, CASE_ID, "Batch 3", DOCUMENT_TYPE, FILE_NAME, "THIRD\nBody", LocalDateTime.now(), UPLOADED_BY, STATUS));
+
+        // Act
+        List<PdfRenderResult> results = mockPdfGeneratorService.generatePdfs(documents);
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(List.of(0, 1, 2), results.stream().map(PdfRenderResult::getIndex).toList());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(new String(results.get(0).getPdf(), 0, 4).startsWith("%PDF"));
+        assertFalse(results.get(1).isSuccess());
+        assertNull(results.get(1).getPdf());
+        assertNotNull(results.get(1).getErrorMessage());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals("Batch 3", results.get(2).getDocumentName());
+    }
+
+    @Test
+    void testGeneratePdfs_StreamIsReadNoFurtherAheadThanMaxInFlight() {
+        // Arrange
+        ReflectionTestUtils.setField(mockPdfGeneratorService, "maxInFlight", 3);
+        AtomicInteger pulled = new AtomicInteger();
+        List<Integer> readAhead = new ArrayList<>();
+        List<PdfRenderResult> results = new ArrayList<>();
+
+        // Act
+        mockPdfGeneratorService.generatePdfs(
+            IntStream.range(0, 20)
+                .mapToObj(i -> new PdfContent((long) i, CASE_ID, "Doc " + i, DOCUMENT_TYPE, FILE_NAME,
+                                              "SECTION " + i + "\nBody", LocalDateTime.now(), UPLOADED_BY, STATUS))
+                .peek(document -> pulled.incrementAndGet()),
+            MockPdfGeneratorService.BatchOrder.COMPLETION,
+            result -> {
+                readAhead.add(pulled.get() - results.size());
+                results.add(result);
+            });
+
+        // Assert
+        assertEquals(20, results.size());
+        assertTrue(results.stream().allMatch(PdfRenderResult::isSuccess));
+        assertEquals(20, results.stream().mapToInt(PdfRenderResult::getIndex).distinct().count());
+        assertTrue(readAhead.stream().allMatch(ahead -> ahead <= 3), "Read ahead of delivery: " + readAhead);
+    }
+
+    @Test
+    void testGeneratePdf_ToOutputStreamWritesPdfAndLeavesStreamOpen() {
+        // Arrange
+        PdfContent pdfContent = new PdfContent(30L, CASE_ID, DOCUMENT_NAME, DOCUMENT_TYPE, FILE_NAME,
+                                              "STREAMED REPORT\nSECTION 1: Body", LocalDateTime.of(2025, 7, 29, 12, 0), UPLOADED_BY, STATUS);
+        AtomicInteger closes = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closes.incrementAndGet();
+            }
+        };
+
+        // Act
+        long written = mockPdfGeneratorService.generatePdf(pdfContent, out);
+
+        // Assert
+        assertEquals(out.size(), written);
+        assertTrue(new String(out.toByteArray(), 0, 4).startsWith("%PDF"));
+        assertEquals(0, closes.get(), "Caller-supplied stream must stay open");
+        assertEquals(mockPdfGeneratorService.generatePdf(pdfContent).length, out.size());
+    }
+}
@@ -0,0 +1,85 @@
+package com.clearance.tracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfByteRangesTest {
+
+    private static final byte[] PDF = "%PDF-1.7 0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void testParse_ResolvesOpenEndedAndSuffixRanges() {
+        // Act
+        List<PdfByteRanges.Slice> slices = PdfByteRanges.parse("bytes=0-3, 40-, -5", PDF.length);
+
+        // Assert
+        assertEquals(List.of(
+            new PdfByteRanges.Slice(0, 3),
+            new PdfByteRanges.Slice(40, PDF.length - 1),
+            new PdfByteRanges.Slice(PDF.length - 5, PDF.length - 1)), slices);
+    }
+
+    @Test
+    void testParse_UnsatisfiableAndMalformedRanges() {
+        // Act & Assert
+        assertTrue(PdfByteRanges.parse("bytes=500-600", PDF.length).isEmpty());
+        assertNull(PdfByteRanges.parse("items=0-3", PDF.length));
+        assertNull(PdfByteRanges.parse("bytes=5-2", PDF.length));
+    }
+
+    @Test
+    void testWriteTo_SingleRangeFromForwardOnlyStream() throws IOException {
+        // Arrange
+        PdfByteRanges ranges = new PdfByteRanges(UpstreamPdfStream.of(PDF, 4), List.of(new PdfByteRanges.Slice(9, 18)));
+        ByteArrayOutputStream client = new ByteArrayOutputStream();
+
+        // Act
+        long written = ranges.writeTo(client);
+
+        // Assert
+        assertEquals(10, written);
+        assertEquals("0123456789", client.toString(StandardCharsets.US_ASCII));
+        assertEquals(10, ranges.getContentLength());
+        assertEquals("bytes 9-18/" + PDF.length, ranges.getContentRange());
+        assertFalse(ranges.isMultipart());
+    }
+
+    @Test
+    void testWriteTo_MultipartByteranges() throws IOException {
+        // Arrange
+        PdfByteRanges ranges = new PdfByteRanges(UpstreamPdfStream.of(PDF, 4),
+            List.of(new PdfByteRanges.Slice(0, 3), new PdfByteRanges.Slice(19, 21)));
+        ByteArrayOutputStream client = new ByteArrayOutputStream();
+
+        // Act
+        ranges.writeTo(client);
+
+        // Assert
+        String body = client.toString(StandardCharsets.US_ASCII);
+        String boundary = ranges.getContentType().getParameter("boundary");
+        assertEquals("multipart/byteranges", ranges.getContentType().getType() + "/" + ranges.getContentType().getSubtype());
+        assertEquals(ranges.getContentLength(), client.size());
+        assertTrue(body.contains("Content-Range: bytes 0-3/" + PDF.length + "\r\n\r\n%PDF\r\n"));
+        assertTrue(body.contains("Content-Range: bytes 19-21/" + PDF.length + "\r\n\r\nabc\r\n"));
+        assertTrue(body.endsWith("--" + boundary + "--\r\n"));
+    }
+
+    @Test
+    void testForwardOnlyStreamRejectsRangesOutOfOrder() {
+        // Arrange
+        List<PdfByteRanges.Slice> descending = List.of(new PdfByteRanges.Slice(20, 25), new PdfByteRanges.Slice(0, 3));
+        PdfByteRanges ranges = new PdfByteRanges(
+            new UpstreamPdfStream(new ByteArrayInputStream(PDF), PDF.length, 4, () -> { }), descending);
+
+        // Act & Assert
+        assertFalse(PdfByteRanges.isForwardOnly(descending));
+        assertThrows(IOException.class, () -> ranges.writeTo(new ByteArrayOutputStream()));
+    }
+}
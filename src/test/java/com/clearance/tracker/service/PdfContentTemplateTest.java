@@ -0,0 +1,36 @@
+package com.clearance.tracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfContentTemplateTest {
+
+    @Test
+    void testClassify_MatchesPreviousRegexChain() {
+        // Arrange
+        List<String> lines = List.of(
+            "", "   ", "\t", "SECURITY CLEARANCE APPLICATION FORM", "  FINDINGS:  ", "FINDINGS", ":", "A:", "A::",
+            "SECTION 1: PERSONAL INFORMATION", " SECTION 1: indented", "CONCLUSION of the review", "RECOMMENDATA",
+            "Full Name: John A. Smith", "ÄBC", "ABC\u0001DEF", "ABC\u000BDEF", "Case ID: 25092CASE1329752", "-");
+
+        // Act & Assert
+        for (String line : lines) {
+            assertEquals(previousClassification(line), PdfContentTemplate.classify(line), "Line: [" + line + "]");
+        }
+    }
+
+    private static PdfContentTemplate.LineKind previousClassification(String line) {
+        if (line.trim().isEmpty()) {
+            return PdfContentTemplate.LineKind.BLANK;
+        } else if (line.trim().matches("^[A-Z\\s]+:?$")) {
+            return PdfContentTemplate.LineKind.HEADER;
+        } else if (line.startsWith("SECTION ") || line.startsWith("CONCLUSION") ||
+                  line.startsWith("FINDINGS") || line.startsWith("RECOMMENDATA")) {
+            return PdfContentTemplate.LineKind.SECTION;
+        }
+        return PdfContentTemplate.LineKind.BODY;
+    }
+}
@@ -0,0 +1,255 @@
+package com.clearance.tracker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfDiskCacheTest {
+
+    private static final String CASE_ID = "25092CASE1329752";
+    private static final String UPDATED_AT = "2025-09-02T10:15:30Z";
+
+    @TempDir
+    Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testMissPopulatesCacheAndNextOpenIsHit() throws IOException {
+        // Arrange
+        PdfDiskCache cache = newCache(10_000);
+        String key = PdfDiskCache.key(CASE_ID, UPDATED_AT, "Yes");
+        byte[] pdf = pdfBytes(1000);
+
+        // Act
+        assertNull(cache.open(key));
+        byte[] firstDownload = download(cache.populateWhileStreaming(key, upstream(pdf)));
+        byte[] secondDownload = download(cache.open(key));
+
+        // Assert
+        assertArrayEquals(pdf, firstDownload);
+        assertArrayEquals(pdf, secondDownload);
+        assertEquals(1000, cache.totalBytes());
+        assertEquals(1.0, meterRegistry.get("external.api.pdf-cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("external.api.pdf-cache.requests").tag("result", "miss").counter().count());
+        assertEquals(1000.0, meterRegistry.get("external.api.pdf-cache.bytes.served").tag("source", "upstream").counter().count());
+        assertEquals(1000.0, meterRegistry.get("external.api.pdf-cache.bytes.served").tag("source", "disk").counter().count());
+    }
+
+    @Test
+    void testUpdatedCaseMetadataChangesKey() {
+        // Act & Assert
+        assertNotEquals(PdfDiskCache.key(CASE_ID, UPDATED_AT, "Yes"), PdfDiskCache.key(CASE_ID, "2025-09-03T08:00:00Z", "Yes"));
+        assertNotEquals(PdfDiskCache.key(CASE_ID, UPDATED_AT, "Yes"), PdfDiskCache.key(CASE_ID, UPDATED_AT, "No"));
+        assertEquals(PdfDiskCache.key(CASE_ID, UPDATED_AT, "Yes"), PdfDiskCache.key(CASE_ID, UPDATED_AT, "Yes"));
+    }
+
+    @Test
+    void testAbortedDownloadIsNotCached() throws IOException {
+        // Arrange
+        PdfDiskCache cache = newCache(10_000);
+        String key = PdfDiskCache.key(CASE_ID, UPDATED_AT, "Yes");
+
+        // Act: the client goes away after the first read
+        try (UpstreamPdfStream pdf = cache.populateWhileStreaming(key, upstream(pdfBytes(1000)))) {
+            pdf.getInputStream().read(new byte[100]);
+        }
+
+        // Assert
+        assertNull(cache.open(key));
+        assertEquals(0, cache.entryCount());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testLeastRecentlyServedEntryEvictedWhenOverMaxBytes() throws IOException {
+        // Arrange
+        PdfDiskCache cache = newCache(2500);
+        String first = PdfDiskCache.key("CASE1", UPDATED_AT, "Yes");
+        String second = PdfDiskCache.key("CASE2", UPDATED_AT, "Yes");
+        String third = PdfDiskCache.key("CASE3", UPDATED_AT, "Yes");
+        download(cache.populateWhileStreaming(first, upstream(pdfBytes(1000))));
+        download(cache.populateWhileStreaming(second, upstream(pdfBytes(1000))));
+        download(cache.open(first));
+
+        // Act
+        download(cache.populateWhileStreaming(third, upstream(pdfBytes(1000))));
+
+        // Assert
+        assertEquals(2000, cache.totalBytes());
+        assertNotNull(download(cache.open(first)));
+        assertNull(cache.open(second));
+        assertNotNull(download(cache.open(third)));
+        assertEquals(1.0, meterRegistry.get("external.api.pdf-cache.evictions").counter().count());
+    }
+
+    @Test
+    void testRangeOnMissReadsOnlyTheRangeAndFillsCacheInBackground() throws IOException {
+        // Arrange
+        PdfDiskCache cache = newCache(100_000);
+        String key = PdfDiskCache.key(CASE_ID, UPDATED_AT, "Yes");
+        byte[] pdf = pdfBytes(50_000);
+        pdf[30_000] = 'y';
+        ByteArrayInputStream firstBody = new ByteArrayInputStream(pdf);
+        List<Runnable> backgroundTasks = new ArrayList<>();
+
+        // Act: the first request only asks for a slice near the start, the second for one the first one skipped
+        ByteArrayOutputStream firstRange = new ByteArrayOutputStream();
+        try (UpstreamPdfStream upstream = cache.populateWhileStreaming(key,
+                new UpstreamPdfStream(firstBody, pdf.length, 256, () -> { }), () -> upstream(pdf), backgroundTasks::add)) {
+            new PdfByteRanges(upstream, List.of(new PdfByteRanges.Slice(100, 199))).writeTo(firstRange);
+        }
+        long unreadAfterRange = firstBody.available();
+        boolean cachedBeforeFill = cache.open(key) != null;
+        backgroundTasks.forEach(Runnable::run);
+        ByteArrayOutputStream secondRange = new ByteArrayOutputStream();
+        try (UpstreamPdfStream cached = cache.open(key)) {
+            assertTrue(cached.isSeekable());
+            new PdfByteRanges(cached, List.of(new PdfByteRanges.Slice(30_000, 30_000))).writeTo(secondRange);
+        }
+
+        // Assert: the request thread stopped at the range instead of draining the rest into the cache
+        assertEquals(100, firstRange.size());
+        assertTrue(unreadAfterRange > 40_000);
+        assertFalse(cachedBeforeFill);
+        assertEquals(1, backgroundTasks.size());
+        assertArrayEquals(new byte[]{'y'}, secondRange.toByteArray());
+        assertEquals(50_000, cache.totalBytes());
+        assertEquals(1.0, meterRegistry.get("external.api.pdf-cache.background-fills").counter().count());
+        assertEquals(1.0, meterRegistry.get("external.api.pdf-cache.bytes.served").tag("source", "disk").counter().count());
+    }
+
+    @Test
+    void testMidFileRangeOnMissDoesNotCopySkippedPrefix() throws IOException {
+        // Arrange
+        PdfDiskCache cache = newCache(100_000);
+        String key = PdfDiskCache.key(CASE_ID, UPDATED_AT, "Yes");
+        byte[] pdf = pdfBytes(50_000);
+        List<Runnable> backgroundTasks = new ArrayList<>();
+        long filesAfterRange;
+
+        // Act
+        ByteArrayOutputStream range = new ByteArrayOutputStream();
+        try (UpstreamPdfStream upstream = cache.populateWhileStreaming(key, upstream(pdf), () -> upstream(pdf), backgroundTasks::add)) {
+            new PdfByteRanges(upstream, List.of(new PdfByteRanges.Slice(40_000, 40_099))).writeTo(range);
+            try (var files = Files.list(directory)) {
+                filesAfterRange = files.count();
+            }
+        }
+        backgroundTasks.forEach(Runnable::run);
+
+        // Assert: the 40,000 skipped bytes never reached a temp file; the background fill cached the PDF instead
+        assertEquals(100, range.size());
+        assertEquals(0, filesAfterRange);
+        assertArrayEquals(pdf, download(cache.open(key)));
+    }
+
+    @Test
+    void testConcurrentPartialDownloadsFillCacheOnce() throws IOException {
+        // Arrange
+        PdfDiskCache cache = newCache(100_000);
+        String key = PdfDiskCache.key(CASE_ID, UPDATED_AT, "Yes");
+        byte[] pdf = pdfBytes(10_000);
+        List<Runnable> backgroundTasks = new ArrayList<>();
+        AtomicInteger sourceOpens = new AtomicInteger();
+        PdfDiskCache.PdfSource source = () -> {
+            sourceOpens.incrementAndGet();
+            return upstream(pdf);
+        };
+
+        // Act: two clients stop early before the first background fill has run
+        for (int i = 0; i < 2; i++) {
+            try (UpstreamPdfStream upstream = cache.populateWhileStreaming(key, upstream(pdf), source, backgroundTasks::add)) {
+                upstream.getInputStream().read(new byte[100]);
+            }
+        }
+        backgroundTasks.forEach(Runnable::run);
+        try (UpstreamPdfStream upstream = cache.populateWhileStreaming(key, upstream(pdf), source, backgroundTasks::add)) {
+            upstream.getInputStream().read(new byte[100]);
+        }
+
+        // Assert: the second partial download joined the pending fill and the third found the key cached
+        assertEquals(1, backgroundTasks.size());
+        assertEquals(1, sourceOpens.get());
+        assertArrayEquals(pdf, download(cache.open(key)));
+    }
+
+    @Test
+    void testRejectedBackgroundFillLeavesPdfUncached() throws IOException {
+        // Arrange
+        PdfDiskCache cache = newCache(100_000);
+        String key = PdfDiskCache.key(CASE_ID, UPDATED_AT, "Yes");
+        byte[] pdf = pdfBytes(10_000);
+
+        // Act
+        try (UpstreamPdfStream upstream = cache.populateWhileStreaming(key, upstream(pdf), () -> upstream(pdf),
+                task -> { throw new RejectedExecutionException("saturated"); })) {
+            upstream.getInputStream().read(new byte[100]);
+        }
+
+        // Assert
+        assertNull(cache.open(key));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testEntriesSurviveRestart() throws IOException {
+        // Arrange
+        String key = PdfDiskCache.key(CASE_ID, UPDATED_AT, "Yes");
+        byte[] pdf = pdfBytes(1000);
+        download(newCache(10_000).populateWhileStreaming(key, upstream(pdf)));
+
+        // Act
+        PdfDiskCache restarted = newCache(10_000);
+
+        // Assert
+        assertEquals(1000, restarted.totalBytes());
+        assertArrayEquals(pdf, download(restarted.open(key)));
+    }
+
+    private PdfDiskCache newCache(long maxBytes) {
+        return new PdfDiskCache(true, directory, maxBytes, maxBytes, 256, meterRegistry);
+    }
+
+    private static UpstreamPdfStream upstream(byte[] pdf) {
+        return new UpstreamPdfStream(new ByteArrayInputStream(pdf), pdf.length, 256, () -> { });
+    }
+
+    private static byte[] download(UpstreamPdfStream pdf) throws IOException {
+        ByteArrayOutputStream client = new ByteArrayOutputStream();
+        try (pdf) {
+            pdf.transferTo(client);
+        }
+        return client.toByteArray();
+    }
+
+    private static byte[] pdfBytes(int size) {
+        byte[] pdf = new byte[size];
+        Arrays.fill(pdf, (byte) 'x');
+        System.arraycopy("%PDF".getBytes(), 0, pdf, 0, 4);
+        return pdf;
+    }
+}
@@ -0,0 +1,234 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.dto.*;
+import com.clearance.tracker.exception.ApplicationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveExternalApiServiceTest {
+
+    private static final String CASE_ID = "25092CASE1329752";
+    private static final String SUBJECT_PERSONA_OBJECT_ID = "272ad768-ea92-4972-a8a5-2c270fdddd33";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final Map<String, ClientResponse> responsesByPath = new ConcurrentHashMap<>();
+    private final List<String> requestedPaths = new CopyOnWriteArrayList<>();
+
+    private ReactiveExternalApiService reactiveExternalApiService;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+            .baseUrl("http://localhost:8080")
+            .exchangeFunction(this::exchange)
+            .build();
+        reactiveExternalApiService = new ReactiveExternalApiService();
+        ReflectionTestUtils.setField(reactiveExternalApiService, "upstreamWebClient", webClient);
+        ReflectionTestUtils.setField(reactiveExternalApiService, "casePrefetcher", CasePrefetcher.disabled());
+        ReflectionTestUtils.setField(reactiveExternalApiService, "upstreamMetrics",
+            new UpstreamMetrics(new SimpleMeterRegistry(), new StaticListableBeanFactory().getBeanProvider(Tracer.class)));
+        ReflectionTestUtils.setField(reactiveExternalApiService, "caseDataCache",
+            new CaseDataCache(true, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMinutes(1), 1000, new SimpleMeterRegistry()));
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        ReflectionTestUtils.setField(reactiveExternalApiService, "upstreamGuard",
+            new UpstreamGuard(true, circuitBreakerRegistry, BulkheadRegistry.ofDefaults()));
+    }
+
+    @Test
+    void testGetCaseHistoryReactive_Success() {
+        // Arrange
+        respond("/api/v1/cases", HttpStatus.OK, caseList("Completed", "In Progress"));
+        respond("/api/v1/cases/" + CASE_ID, HttpStatus.OK, caseDetails());
+        respond("/api/v1/cases/" + CASE_ID + "/history", HttpStatus.OK, caseHistory());
+
+        // Act
+        CombinedCaseResponse result = reactiveExternalApiService.getCaseHistoryReactive(SUBJECT_PERSONA_OBJECT_ID).block();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(CASE_ID, result.getSelectedCaseId());
+        assertEquals(2, result.getCasesList().getCases().size());
+        assertEquals(CASE_ID, result.getSelectedCaseDetails().getPyWorkPage().getNBISCaseID());
+        assertEquals(1, result.getCaseHistory().getHistory().size());
+        assertEquals(3, requestedPaths.size());
+    }
+
+    @Test
+    void testGetCaseHistory_NoInProgressCases() {
+        // Arrange
+        respond("/api/v1/cases", HttpStatus.OK, caseList("Completed"));
+
+        // Act & Assert
+        ApplicationException exception = assertThrows(ApplicationException.class,
+            () -> reactiveExternalApiService.getCaseHistory(SUBJECT_PERSONA_OBJECT_ID));
+
+        assertTrue(exception.getMessage().contains("No cases found with 'In Progress' status"));
+        // Details and history must not be requested when no case is selected
+        assertEquals(List.of("/api/v1/cases"), requestedPaths);
+    }
+
+    @Test
+    void testGetAllCases_ReadsRemainingPages() throws ApplicationException {
+        // Arrange
+        CaseListResponseDto firstPage = caseList("Completed", "In Progress");
+        firstPage.setMetadata(new MetadataDto(3, 1, 2, 2));
+        CaseListResponseDto secondPage = caseList("Completed");
+        secondPage.setMetadata(new MetadataDto(3, 2, 2, 2));
+        respond("/api/v1/cases", HttpStatus.OK, firstPage);
+        respond("/api/v1/cases?subjectPersonaObjectId=" + SUBJECT_PERSONA_OBJECT_ID + "&page=2&pageSize=2", HttpStatus.OK, secondPage);
+
+        // Act
+        CaseListResponseDto result = reactiveExternalApiService.getAllCases(SUBJECT_PERSONA_OBJECT_ID);
+
+        // Assert
+        assertEquals(3, result.getCases().size());
+        assertEquals(CASE_ID, result.getCases().get(1).getNBISCaseID());
+        assertEquals(2, requestedPaths.size());
+    }
+
+    @Test
+    void testGetCaseDetails_UpstreamError() {
+        // Arrange
+        respond("/api/v1/cases/" + CASE_ID, HttpStatus.SERVICE_UNAVAILABLE, "{\"code\":\"SERVICE_UNAVAILABLE\"}");
+
+        // Act & Assert
+        ApplicationException exception = assertThrows(ApplicationException.class,
+            () -> reactiveExternalApiService.getCaseDetails(CASE_ID));
+
+        assertTrue(exception.getMessage().contains("External service call failed for case details"));
+    }
+
+    @Test
+    void testGetCaseDetailsAndHistory_RepeatServedFromCache() throws ApplicationException {
+        // Arrange
+        respond("/api/v1/cases/" + CASE_ID, HttpStatus.OK, caseDetails());
+        respond("/api/v1/cases/" + CASE_ID + "/history", HttpStatus.OK, caseHistory());
+        reactiveExternalApiService.getCaseDetailsAndHistory(CASE_ID);
+
+        // Act
+        CaseDetailsAndHistoryResponse result = reactiveExternalApiService.getCaseDetailsAndHistory(CASE_ID);
+
+        // Assert
+        assertEquals(CASE_ID, result.getCaseDetails().getPyWorkPage().getNBISCaseID());
+        assertEquals(1, result.getCaseHistory().getHistory().size());
+        assertEquals(2, requestedPaths.size());
+    }
+
+    @Test
+    void testGetCaseDetails_OpenCircuitFailsFastWithoutCallingUpstream() {
+        // Arrange
+        respond("/api/v1/cases/" + CASE_ID, HttpStatus.OK, caseDetails());
+        circuitBreakerRegistry.circuitBreaker("case-details").transitionToOpenState();
+
+        // Act & Assert
+        ApplicationException exception = assertThrows(ApplicationException.class,
+            () -> reactiveExternalApiService.getCaseDetails(CASE_ID));
+
+        assertEquals(ApplicationException.UPSTREAM_CIRCUIT_OPEN, exception.getErrorCode());
+        assertTrue(requestedPaths.isEmpty());
+    }
+
+    @Test
+    void testGetCaseDetailsAndHistoryAsync_Success() {
+        // Arrange
+        respond("/api/v1/cases/" + CASE_ID, HttpStatus.OK, caseDetails());
+        respond("/api/v1/cases/" + CASE_ID + "/history", HttpStatus.OK, caseHistory());
+
+        // Act
+        CaseDetailsAndHistoryResponse result = reactiveExternalApiService.getCaseDetailsAndHistoryAsync(CASE_ID).join();
+
+        // Assert
+        assertEquals(CASE_ID, result.getCaseId());
+        assertEquals(CASE_ID, result.getCaseDetails().getPyWorkPage().getNBISCaseID());
+        assertEquals(CASE_ID, result.getCaseHistory().getNBISCaseID());
+    }
+
+    @Test
+    void testGetLatestPdf_Success() throws ApplicationException {
+        // Arrange
+        responsesByPath.put("/api/latest-pdf", ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PDF_VALUE)
+            .body("%PDF-1.4 mock")
+            .build());
+
+        // Act
+        byte[] result = reactiveExternalApiService.getLatestPdf(CASE_ID);
+
+        // Assert
+        assertNotNull(result);
+        assertTrue(new String(result).startsWith("%PDF"));
+    }
+
+    private CaseListResponseDto caseList(String... statuses) {
+        // Statuses are assigned in order; the "In Progress" entry (if any) gets CASE_ID
+        List<CaseDto> cases = Arrays.stream(statuses)
+            .map(status -> new CaseDto("In Progress".equals(status) ? CASE_ID : "25092CASE1329753", status, SUBJECT_PERSONA_OBJECT_ID,
+                "2025-04-02T17:20:19.943Z", "2025-07-18T17:06:45.517Z", "Yes"))
+            .toList();
+        return new CaseListResponseDto(cases, new MetadataDto(cases.size()));
+    }
+
+    private CaseDetailsDto caseDetails() {
+        PyWorkPageDto pyWorkPage = new PyWorkPageDto();
+        pyWorkPage.setNBISCaseID(CASE_ID);
+        pyWorkPage.setDISAStatus("In Progress");
+        return new CaseDetailsDto(pyWorkPage);
+    }
+
+    private CaseHistoryResponseDto caseHistory() {
+        return new CaseHistoryResponseDto(CASE_ID, List.of(
+            new CaseHistoryDto("2025-06-06T10:00:00Z", "Agency Initiated Investigation Request.", "System")));
+    }
+
+    private void respond(String path, HttpStatus status, Object body) {
+        try {
+            respond(path, status, objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void respond(String path, HttpStatus status, String json) {
+        responsesByPath.put(path, ClientResponse.create(status)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(json)
+            .build());
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request) {
+        String path = request.url().getPath();
+        requestedPaths.add(path);
+        // Responses registered with a query string (e.g. a specific case list page) take precedence
+        ClientResponse response = request.url().getQuery() != null
+            ? responsesByPath.getOrDefault(path + "?" + request.url().getQuery(), responsesByPath.get(path))
+            : responsesByPath.get(path);
+        return response != null ? Mono.just(response) : Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+    }
+}
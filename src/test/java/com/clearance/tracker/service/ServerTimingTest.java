@@ -0,0 +1,62 @@
+package com.clearance.tracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingTest {
+
+    @Test
+    void testHeaderValue_MergesRepeatedEntriesAndEndsWithTotal() {
+        // Arrange
+        ServerTiming timing = ServerTiming.start();
+        timing.add("list", TimeUnit.MILLISECONDS.toNanos(12), null);
+        timing.add("upstream.cases-list", TimeUnit.MILLISECONDS.toNanos(10), "200");
+        timing.add("upstream.cases-list", TimeUnit.MILLISECONDS.toNanos(5), "200");
+        timing.add("cache.case-details", -1, "hit");
+
+        // Act
+        String header = timing.headerValue();
+
+        // Assert
+        assertTrue(header.startsWith("list;dur=12.0, upstream.cases-list;dur=15.0;desc=\"200 x2\", cache.case-details;desc=\"hit\", total;dur="),
+                   header);
+    }
+
+    @Test
+    void testRecordIsNoOpWithoutBoundCollector() {
+        // Act
+        ServerTiming.record("list", 1000, null);
+        ServerTiming.mark("cache.case-details", "hit");
+
+        // Assert
+        assertNull(ServerTiming.current());
+    }
+
+    @Test
+    void testPropagateCarriesCollectorToExecutorThreadAndRestoresBinding() throws Exception {
+        // Arrange
+        ServerTiming timing = ServerTiming.start();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Act
+            try (ServerTiming.Scope ignored = ServerTiming.bind(timing)) {
+                CompletableFuture.runAsync(ServerTiming.propagate(
+                    () -> ServerTiming.record("upstream.case-history", TimeUnit.MILLISECONDS.toNanos(3), "200")), executor).get();
+            }
+            ServerTiming leftOnWorker = CompletableFuture.supplyAsync(ServerTiming::current, executor).get();
+
+            // Assert
+            assertTrue(timing.headerValue().startsWith("upstream.case-history;dur=3.0;desc=\"200\""));
+            assertNull(leftOnWorker);
+            assertNull(ServerTiming.current());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.exception.ApplicationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamCallCoalescerTest {
+
+    private static final String CASE_ID = "25092CASE1329752";
+    private static final int CALLERS = 5;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamCallCoalescer coalescer;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new UpstreamCallCoalescer(meterRegistry);
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentIdenticalLookups_ShareOneUpstreamCall() throws Exception {
+        // Arrange
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        List<Future<String>> results = submitConcurrently(() -> coalescer.execute("case-details", CASE_ID, () -> {
+            upstreamCalls.incrementAndGet();
+            awaitQuietly(release);
+            return "details-" + CASE_ID;
+        }));
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertEquals("details-" + CASE_ID, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1.0, meterRegistry.get("external.api.coalescing.executed").tag("resource", "case-details").counter().count());
+        assertEquals(CALLERS - 1.0, meterRegistry.get("external.api.coalescing.deduplicated").tag("resource", "case-details").counter().count());
+    }
+
+    @Test
+    void testConcurrentIdenticalLookups_ShareUpstreamError() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        List<Future<String>> results = submitConcurrently(() -> coalescer.execute("case-history", CASE_ID, () -> {
+            awaitQuietly(release);
+            throw new ApplicationException("External service call failed for case history: 503");
+        }));
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ApplicationException.class, exception.getCause());
+            assertTrue(exception.getCause().getMessage().contains("External service call failed for case history"));
+        }
+    }
+
+    @Test
+    void testLeaderDeadlineExceeded_FollowerRetriesUnderItsOwnDeadline() throws Exception {
+        // Arrange - the first caller runs with a 100ms budget, the second joins with 5s
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        UpstreamCallCoalescer.UpstreamCall<String> lookup = () -> {
+            if (upstreamCalls.incrementAndGet() == 1) {
+                waitForDeduplicated(1);
+                RequestDeadline deadline = RequestDeadline.current();
+                while (!deadline.isExpired()) {
+                    sleepQuietly(5);
+                }
+                throw deadline.exceeded("case-details call");
+            }
+            return "details-" + CASE_ID;
+        };
+
+        // Act
+        Future<String> leader = callers.submit(() -> {
+            try (RequestDeadline.Scope ignored = RequestDeadline.bind(RequestDeadline.after(100, 1.0))) {
+                return coalescer.execute("case-details", CASE_ID, lookup);
+            }
+        });
+        waitForExecuted(1);
+        Future<String> follower = callers.submit(() -> {
+            try (RequestDeadline.Scope ignored = RequestDeadline.bind(RequestDeadline.after(5000, 1.0))) {
+                return coalescer.execute("case-details", CASE_ID, lookup);
+            }
+        });
+
+        // Assert
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertEquals(ApplicationException.DEADLINE_EXCEEDED, ((ApplicationException) leaderFailure.getCause()).getErrorCode());
+        assertEquals("details-" + CASE_ID, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(1.0, meterRegistry.get("external.api.coalescing.retried").tag("resource", "case-details").counter().count());
+    }
+
+    @Test
+    void testCompletedLookup_IsNotReused() throws ApplicationException {
+        // Arrange
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        // Act
+        coalescer.execute("cases-list", CASE_ID, upstreamCalls::incrementAndGet);
+        coalescer.execute("cases-list", CASE_ID, upstreamCalls::incrementAndGet);
+
+        // Assert
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0.0, meterRegistry.get("external.api.coalescing.in-flight").gauge().value());
+    }
+
+    @Test
+    void testDifferentResources_AreNotCoalesced() throws Exception {
+        // Arrange
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        // Act
+        Future<Integer> details = callers.submit(() -> coalescer.execute("case-details", CASE_ID, () -> {
+            bothStarted.countDown();
+            awaitQuietly(bothStarted);
+            return upstreamCalls.incrementAndGet();
+        }));
+        Future<Integer> history = callers.submit(() -> coalescer.execute("case-history", CASE_ID, () -> {
+            bothStarted.countDown();
+            awaitQuietly(bothStarted);
+            return upstreamCalls.incrementAndGet();
+        }));
+
+        // Assert
+        details.get(5, TimeUnit.SECONDS);
+        history.get(5, TimeUnit.SECONDS);
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private List<Future<String>> submitConcurrently(Callable<String> lookup) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(lookup));
+        }
+        // Give every caller time to join the in-flight call before the upstream response is released
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dedupedSoFar() < CALLERS - 1 && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+        return results;
+    }
+
+    private void waitForDeduplicated(int callers) {
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dedupedSoFar() < callers && System.nanoTime() < waitUntil) {
+            sleepQuietly(5);
+        }
+    }
+
+    private void waitForExecuted(int calls) {
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("external.api.coalescing.executed").counters().stream().mapToDouble(counter -> counter.count()).sum() < calls
+                && System.nanoTime() < waitUntil) {
+            sleepQuietly(5);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double dedupedSoFar() {
+        return meterRegistry.find("external.api.coalescing.deduplicated").counters().stream()
+            .mapToDouble(counter -> counter.count())
+            .sum();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
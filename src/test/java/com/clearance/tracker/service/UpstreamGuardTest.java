@@ -0,0 +1,165 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.config.UpstreamResilienceConfig;
+import com.clearance.tracker.exception.ApplicationException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamGuardTest {
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private UpstreamGuard upstreamGuard;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .recordException(e -> !(e.getCause() instanceof HttpClientErrorException))
+            .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+        upstreamGuard = new UpstreamGuard(true, circuitBreakerRegistry, bulkheadRegistry);
+        callers = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testExecute_OpenCircuitFailsFastWithoutCallingUpstream() {
+        // Arrange - trip the case-history breaker
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ApplicationException.class, () -> upstreamGuard.execute("case-history", () -> {
+                throw new ApplicationException("External service call failed for case history: 503 Service Unavailable");
+            }));
+        }
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        // Act & Assert
+        ApplicationException exception = assertThrows(ApplicationException.class,
+            () -> upstreamGuard.execute("case-history", upstreamCalls::incrementAndGet));
+
+        assertEquals(ApplicationException.UPSTREAM_CIRCUIT_OPEN, exception.getErrorCode());
+        assertEquals(0, upstreamCalls.get());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker("case-history").getState());
+    }
+
+    @Test
+    void testExecute_OpenCircuitDoesNotAffectOtherEndpoints() throws ApplicationException {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ApplicationException.class, () -> upstreamGuard.execute("latest-pdf", () -> {
+                throw new ApplicationException("External service call failed for latest PDF: Read timed out");
+            }));
+        }
+
+        // Act
+        String result = upstreamGuard.execute("case-details", () -> "details");
+
+        // Assert
+        assertEquals("details", result);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakerRegistry.circuitBreaker("case-details").getState());
+    }
+
+    @Test
+    void testExecute_ClientErrorsDoNotTripCircuit() {
+        // Arrange
+        HttpClientErrorException notFound = new HttpClientErrorException(HttpStatus.NOT_FOUND);
+
+        // Act
+        for (int i = 0; i < 6; i++) {
+            assertThrows(ApplicationException.class, () -> upstreamGuard.execute("case-details", () -> {
+                throw new ApplicationException("External service call failed for case details: 404", notFound);
+            }));
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakerRegistry.circuitBreaker("case-details").getState());
+    }
+
+    @Test
+    void testExecute_FullBulkheadFailsFast() throws Exception {
+        // Arrange - hold the only latest-pdf permit
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> slowPdf = callers.submit(() -> upstreamGuard.execute("latest-pdf", () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "pdf";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        ApplicationException exception = assertThrows(ApplicationException.class,
+            () -> upstreamGuard.execute("latest-pdf", () -> "second pdf"));
+        assertEquals(ApplicationException.UPSTREAM_SATURATED, exception.getErrorCode());
+        assertEquals("details", upstreamGuard.execute("case-details", () -> "details"));
+
+        release.countDown();
+        assertEquals("pdf", slowPdf.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testBulkheadRegistry_RejectsBatchThatCannotFitCasesListBulkhead() {
+        // Arrange - 8 subjects in flight x 4 parallel pages = 32 calls against 20 permits
+        UpstreamResilienceConfig config = resilienceConfig(20, 8, 4);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, config::upstreamBulkheadRegistry);
+        assertTrue(exception.getMessage().contains("external.api.bulkhead.cases-list.max-concurrent (20)"));
+    }
+
+    @Test
+    void testBulkheadRegistry_FullBatchFitsDefaultBulkheads() {
+        // Arrange
+        UpstreamResilienceConfig config = resilienceConfig(32, 8, 4);
+
+        // Act
+        BulkheadRegistry registry = config.upstreamBulkheadRegistry();
+
+        // Assert
+        assertEquals(32, registry.bulkhead("cases-list").getBulkheadConfig().getMaxConcurrentCalls());
+    }
+
+    private static UpstreamResilienceConfig resilienceConfig(int casesListMaxConcurrent, int batchMaxConcurrency, int maxParallelPages) {
+        UpstreamResilienceConfig config = new UpstreamResilienceConfig();
+        ReflectionTestUtils.setField(config, "casesListMaxConcurrent", casesListMaxConcurrent);
+        ReflectionTestUtils.setField(config, "caseDetailsMaxConcurrent", 20);
+        ReflectionTestUtils.setField(config, "caseHistoryMaxConcurrent", 20);
+        ReflectionTestUtils.setField(config, "latestPdfMaxConcurrent", 8);
+        ReflectionTestUtils.setField(config, "batchMaxConcurrency", batchMaxConcurrency);
+        ReflectionTestUtils.setField(config, "maxParallelPages", maxParallelPages);
+        return config;
+    }
+}
@@ -0,0 +1,236 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.config.RestTemplateConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.apache.hc.core5.util.TimeValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamHttpClientTest {
+
+    private static final int PDF_BYTES = 8 * 1024 * 1024;
+
+    private HttpServer server;
+    private RestTemplateConfig config;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/latest-pdf", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/pdf");
+            exchange.sendResponseHeaders(200, PDF_BYTES);
+            byte[] chunk = new byte[64 * 1024];
+            try (OutputStream body = exchange.getResponseBody()) {
+                for (int sent = 0; sent < PDF_BYTES; sent += chunk.length) {
+                    body.write(chunk);
+                }
+            } catch (IOException e) {
+                // The client aborted the download
+            }
+        });
+        server.createContext("/api/v1/cases", exchange -> {
+            // Slow enough for any response timeout in these tests to fire first
+            sleepQuietly(2_000);
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        config = new RestTemplateConfig();
+        ReflectionTestUtils.setField(config, "maxTotalConnections", 10);
+        ReflectionTestUtils.setField(config, "maxConnectionsPerRoute", 5);
+        ReflectionTestUtils.setField(config, "keepAliveMs", 30_000L);
+        ReflectionTestUtils.setField(config, "idleEvictionMs", 60_000L);
+        ReflectionTestUtils.setField(config, "validateAfterInactivityMs", 2_000L);
+        ReflectionTestUtils.setField(config, "poolAcquireTimeoutMs", 2_000L);
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 2_000L);
+        ReflectionTestUtils.setField(config, "readTimeoutMs", 10_000L);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void testConnectionManagerUsesConfiguredPoolLimits() {
+        // Act
+        buildClient();
+
+        // Assert
+        assertEquals(10, connectionManager.getMaxTotal());
+        assertEquals(5, connectionManager.getDefaultMaxPerRoute());
+    }
+
+    @Test
+    void testResponseTimeoutFromReadTimeout() {
+        // Arrange
+        ReflectionTestUtils.setField(config, "readTimeoutMs", 200L);
+        buildClient();
+        long start = System.nanoTime();
+
+        // Act & Assert
+        ResourceAccessException exception = assertThrows(ResourceAccessException.class,
+            () -> restTemplate.getForEntity(baseUrl() + "/api/v1/cases/25092CASE1329752", String.class));
+        assertInstanceOf(SocketTimeoutException.class, exception.getCause());
+        assertTrue(elapsedMillis(start) < 1_500);
+    }
+
+    @Test
+    void testBoundDeadlineCapsResponseTimeout() {
+        // Arrange - 10s read timeout, but only 200ms left of the request budget
+        buildClient();
+        long start = System.nanoTime();
+
+        // Act & Assert
+        try (RequestDeadline.Scope ignored = RequestDeadline.bind(RequestDeadline.after(200, 0.5))) {
+            ResourceAccessException exception = assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForEntity(baseUrl() + "/api/v1/cases/25092CASE1329752", String.class));
+            assertInstanceOf(SocketTimeoutException.class, exception.getCause());
+        }
+        assertTrue(elapsedMillis(start) < 1_500);
+    }
+
+    @Test
+    void testExhaustedPoolTimesOutAfterAcquireTimeout() throws IOException {
+        // Arrange - one connection in total, held by an unread PDF download
+        ReflectionTestUtils.setField(config, "maxTotalConnections", 1);
+        ReflectionTestUtils.setField(config, "poolAcquireTimeoutMs", 200L);
+        buildClient();
+
+        try (ClientHttpResponse held = latestPdfRequest().execute()) {
+            long start = System.nanoTime();
+
+            // Act & Assert
+            ResourceAccessException exception = assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForEntity(baseUrl() + "/api/latest-pdf?caseId=25092CASE1329753", String.class));
+            assertInstanceOf(ConnectionRequestTimeoutException.class, exception.getCause());
+            assertTrue(elapsedMillis(start) < 1_500);
+        }
+    }
+
+    @Test
+    void testKeepAliveHonoursShorterServerTimeout() {
+        // Arrange
+        ConnectionKeepAliveStrategy strategy = config.upstreamKeepAliveStrategy();
+        BasicClassicHttpResponse response = new BasicClassicHttpResponse(200);
+        response.addHeader("Keep-Alive", "timeout=5, max=100");
+
+        // Act
+        TimeValue keepAlive = strategy.getKeepAliveDuration(response, HttpClientContext.create());
+
+        // Assert
+        assertEquals(5_000, keepAlive.toMilliseconds());
+    }
+
+    @Test
+    void testKeepAliveCapsLongerOrMissingServerTimeout() {
+        // Arrange
+        ConnectionKeepAliveStrategy strategy = config.upstreamKeepAliveStrategy();
+        BasicClassicHttpResponse longer = new BasicClassicHttpResponse(200);
+        longer.addHeader("Keep-Alive", "timeout=300");
+
+        // Act
+        TimeValue capped = strategy.getKeepAliveDuration(longer, HttpClientContext.create());
+        TimeValue unspecified = strategy.getKeepAliveDuration(new BasicClassicHttpResponse(200), HttpClientContext.create());
+
+        // Assert
+        assertEquals(30_000, capped.toMilliseconds());
+        assertEquals(30_000, unspecified.toMilliseconds());
+    }
+
+    @Test
+    void testPartiallyReadPdfIsAbortedInsteadOfDrained() throws IOException {
+        // Arrange
+        buildClient();
+        ClientHttpRequest request = latestPdfRequest();
+
+        // Act: relay the first bytes only, as for a Range request near the start of the PDF
+        try (ClientHttpResponse response = request.execute(); InputStream body = response.getBody()) {
+            assertEquals(PDF_BYTES, response.getHeaders().getContentLength());
+            body.readNBytes(1024);
+        }
+
+        // Assert: the connection was discarded rather than read to the end and returned to the pool
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+        assertEquals(0, connectionManager.getTotalStats().getAvailable());
+    }
+
+    @Test
+    void testFullyReadPdfReturnsConnectionToPool() throws IOException {
+        // Arrange
+        buildClient();
+        ClientHttpRequest request = latestPdfRequest();
+
+        // Act
+        try (ClientHttpResponse response = request.execute(); InputStream body = response.getBody()) {
+            assertEquals(PDF_BYTES, body.transferTo(OutputStream.nullOutputStream()));
+        }
+
+        // Assert
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+        assertEquals(1, connectionManager.getTotalStats().getAvailable());
+    }
+
+    private void buildClient() {
+        connectionManager = config.upstreamConnectionManager();
+        httpClient = config.upstreamHttpClient(connectionManager);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        UpstreamMetrics upstreamMetrics = new UpstreamMetrics(new SimpleMeterRegistry(), beanFactory.getBeanProvider(Tracer.class));
+        restTemplate = config.restTemplate(httpClient, upstreamMetrics,
+            beanFactory.getBeanProvider(Tracer.class), beanFactory.getBeanProvider(Propagator.class));
+    }
+
+    private ClientHttpRequest latestPdfRequest() throws IOException {
+        URI uri = URI.create(baseUrl() + "/api/latest-pdf?caseId=25092CASE1329752");
+        return restTemplate.getRequestFactory().createRequest(uri, HttpMethod.GET);
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
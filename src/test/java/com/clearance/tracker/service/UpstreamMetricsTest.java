@@ -0,0 +1,104 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.config.UpstreamMetricsInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamMetrics upstreamMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamMetrics = new UpstreamMetrics(meterRegistry, new StaticListableBeanFactory().getBeanProvider(Tracer.class));
+    }
+
+    @Test
+    void testEndpointOf_MapsUpstreamPathsToEndpointNames() {
+        // Act & Assert
+        assertEquals(UpstreamMetrics.CASES_LIST, UpstreamMetrics.endpointOf("/api/v1/cases"));
+        assertEquals(UpstreamMetrics.CASE_DETAILS, UpstreamMetrics.endpointOf("/api/v1/cases/25092CASE1329752"));
+        assertEquals(UpstreamMetrics.CASE_HISTORY, UpstreamMetrics.endpointOf("/api/v1/cases/25092CASE1329752/history"));
+        assertEquals(UpstreamMetrics.LATEST_PDF, UpstreamMetrics.endpointOf("/api/latest-pdf"));
+        assertEquals(UpstreamMetrics.OTHER, UpstreamMetrics.endpointOf("/api/v1/cases/25092CASE1329752/documents/1"));
+        assertEquals(UpstreamMetrics.OTHER, UpstreamMetrics.endpointOf(null));
+    }
+
+    @Test
+    void testCaseIdOf_FromPathOrCaseIdParameter() {
+        // Act & Assert
+        assertEquals("25092CASE1329752", UpstreamMetrics.caseIdOf(URI.create("http://upstream/api/v1/cases/25092CASE1329752")));
+        assertEquals("25092CASE1329752", UpstreamMetrics.caseIdOf(URI.create("http://upstream/api/v1/cases/25092CASE1329752/history")));
+        assertEquals("25092CASE1329752", UpstreamMetrics.caseIdOf(URI.create("http://upstream/api/latest-pdf?caseId=25092CASE1329752")));
+        assertNull(UpstreamMetrics.caseIdOf(URI.create("http://upstream/api/v1/cases?subjectPersonaObjectId=abc")));
+    }
+
+    @Test
+    void testStages_RecordsEachStageAndUnfinishedStageAsError() {
+        // Act
+        try (UpstreamMetrics.Stages stages = upstreamMetrics.stages("case-history", "list")) {
+            stages.next("select");
+            stages.finish();
+        }
+        try (UpstreamMetrics.Stages stages = upstreamMetrics.stages("case-history", "list")) {
+            stages.next("select");
+        }
+
+        // Assert
+        assertEquals(2, meterRegistry.get("external.api.stage").tags("stage", "list", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("external.api.stage").tags("stage", "select", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("external.api.stage").tags("stage", "select", "outcome", "error").timer().count());
+    }
+
+    @Test
+    void testInterceptor_TimesExchangeByStatusAndRecordsBodySizeOnClose() throws IOException {
+        // Arrange
+        UpstreamMetricsInterceptor interceptor = new UpstreamMetricsInterceptor(upstreamMetrics);
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost:8080/api/v1/cases/CASE1/history"));
+
+        // Act
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0],
+            (req, body) -> new MockClientHttpResponse(new byte[1500], HttpStatus.OK));
+        try (InputStream body = response.getBody()) {
+            body.readAllBytes();
+        }
+        response.close();
+
+        // Assert
+        assertEquals(1, meterRegistry.get("external.api.upstream.requests")
+            .tags("endpoint", "case-history", "outcome", "SUCCESS", "status", "200").timer().count());
+        assertEquals(1500.0, meterRegistry.get("external.api.upstream.response.size").tag("endpoint", "case-history").summary().totalAmount());
+    }
+
+    @Test
+    void testInterceptor_RecordsIoErrorWhenNoResponseArrives() {
+        // Arrange
+        UpstreamMetricsInterceptor interceptor = new UpstreamMetricsInterceptor(upstreamMetrics);
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost:8080/api/v1/cases/CASE1"));
+
+        // Act
+        assertThrows(SocketTimeoutException.class, () -> interceptor.intercept(request, new byte[0],
+            (req, body) -> { throw new SocketTimeoutException("Read timed out"); }));
+
+        // Assert
+        assertEquals(1, meterRegistry.get("external.api.upstream.requests")
+            .tags("endpoint", "case-details", "outcome", "UNKNOWN", "status", "IO_ERROR").timer().count());
+    }
+}
@@ -0,0 +1,119 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.config.UpstreamTracingInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamTracingTest {
+
+    private InMemorySpanExporter exporter;
+    private SdkTracerProvider tracerProvider;
+    private OtelTracer tracer;
+    private OtelPropagator propagator;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        exporter = InMemorySpanExporter.create();
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build();
+        io.opentelemetry.api.trace.Tracer otelTracer = tracerProvider.get("test");
+        tracer = new OtelTracer(otelTracer, new OtelCurrentTraceContext(), event -> { });
+        propagator = new OtelPropagator(ContextPropagators.create(W3CTraceContextPropagator.getInstance()), otelTracer);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        tracerProvider.close();
+    }
+
+    @Test
+    void testUpstreamCallOnExecutorThreadIsChildOfStageSpanAndCarriesTraceparent() throws Exception {
+        // Arrange
+        UpstreamMetrics upstreamMetrics = new UpstreamMetrics(new SimpleMeterRegistry(), tracers());
+        UpstreamTracingInterceptor interceptor = new UpstreamTracingInterceptor(tracer, propagator);
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost:8080/api/v1/cases/CASE1"));
+
+        // Act - the fan-out stage submits the upstream call to an executor, wrapped as the upstream executor does
+        try (UpstreamMetrics.Stages stages = upstreamMetrics.stages("case-history", "list")) {
+            stages.next("fan-out");
+            CompletableFuture.runAsync(tracer.currentTraceContext().wrap(() -> {
+                try {
+                    interceptor.intercept(request, new byte[0], (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }), executor).get();
+            stages.finish();
+        }
+
+        // Assert
+        Map<String, SpanData> spans = exporter.getFinishedSpanItems().stream()
+            .collect(Collectors.toMap(SpanData::getName, Function.identity()));
+        SpanData fanOut = spans.get("case-history fan-out");
+        SpanData upstream = spans.get("upstream case-details");
+        assertNotNull(spans.get("case-history list"));
+        assertEquals(fanOut.getTraceId(), upstream.getTraceId());
+        assertEquals(fanOut.getSpanId(), upstream.getParentSpanId());
+        assertEquals("200", upstream.getAttributes().asMap().entrySet().stream()
+            .filter(attribute -> attribute.getKey().getKey().equals("http.status_code"))
+            .map(attribute -> attribute.getValue().toString()).findFirst().orElse(null));
+        List<String> traceparent = request.getHeaders().get("traceparent");
+        assertNotNull(traceparent);
+        assertTrue(traceparent.get(0).contains(upstream.getTraceId() + "-" + upstream.getSpanId()));
+    }
+
+    @Test
+    void testFailedStageSpanTaggedWithErrorOutcome() {
+        // Arrange
+        UpstreamMetrics upstreamMetrics = new UpstreamMetrics(new SimpleMeterRegistry(), tracers());
+
+        // Act - closed without finish(), as when the stage throws
+        try (UpstreamMetrics.Stages stages = upstreamMetrics.stages("case-history", "list")) {
+            stages.next("select");
+        }
+
+        // Assert
+        SpanData select = exporter.getFinishedSpanItems().stream()
+            .filter(span -> span.getName().equals("case-history select")).findFirst().orElseThrow();
+        assertTrue(select.getAttributes().asMap().entrySet().stream()
+            .anyMatch(attribute -> attribute.getKey().getKey().equals("outcome") && attribute.getValue().equals("error")));
+        assertNull(tracer.currentSpan());
+    }
+
+    private ObjectProvider<Tracer> tracers() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("tracer", tracer);
+        return beanFactory.getBeanProvider(Tracer.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.clearance.tracker.service;
+
+import com.clearance.tracker.dto.CaseDetailsDto;
+import com.clearance.tracker.dto.PyWorkPageDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamValidatorCacheTest {
+
+    private static final String URL = "http://localhost:8080/api/v1/cases/25092CASE1329752";
+
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamValidatorCache validatorCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        validatorCache = new UpstreamValidatorCache(true, 100, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void testNotModifiedReusesRememberedBody() {
+        // Arrange
+        CaseDetailsDto original = new CaseDetailsDto(new PyWorkPageDto());
+        validatorCache.resolve("case-details", URL, ResponseEntity.ok().eTag("\"details-v1\"").body(original), CaseDetailsDto.class,
+            () -> fail("unexpected refetch"));
+        AtomicInteger refetches = new AtomicInteger();
+
+        // Act
+        CaseDetailsDto revalidated = validatorCache.resolve("case-details", URL,
+            ResponseEntity.status(HttpStatus.NOT_MODIFIED).<CaseDetailsDto>build(), CaseDetailsDto.class,
+            () -> {
+                refetches.incrementAndGet();
+                return ResponseEntity.ok(new CaseDetailsDto());
+            });
+
+        // Assert
+        assertSame(original, revalidated);
+        assertEquals(0, refetches.get());
+        assertEquals("\"details-v1\"", validatorCache.conditionalRequest(URL).getHeaders().getIfNoneMatch().get(0));
+    }
+
+    @Test
+    void testNotModifiedForEvictedBodyFetchesAgainUnconditionally() {
+        // Arrange - upstream answered 304 to validators whose body is no longer remembered
+        CaseDetailsDto current = new CaseDetailsDto(new PyWorkPageDto());
+
+        // Act
+        CaseDetailsDto result = validatorCache.resolve("case-details", URL,
+            ResponseEntity.status(HttpStatus.NOT_MODIFIED).<CaseDetailsDto>build(), CaseDetailsDto.class,
+            () -> ResponseEntity.ok().eTag("\"details-v2\"").body(current));
+
+        // Assert
+        assertSame(current, result);
+        assertEquals("\"details-v2\"", validatorCache.conditionalRequest(URL).getHeaders().getIfNoneMatch().get(0));
+        assertEquals(1.0, meterRegistry.get("external.api.conditional.requests").tag("result", "refetched").counter().count());
+    }
+}